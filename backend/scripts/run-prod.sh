@@ -0,0 +1,10 @@
+#!/usr/bin/env bash
+#
+# Starts the backend built by scripts/build-aot-cache.sh with Spring AOT, the prod profile
+# and the JDK AOT cache. Extra arguments are passed to the application.
+#
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+exec java -XX:AOTCache=target/prod/app.aot -Dspring.aot.enabled=true -Dspring.profiles.active=prod \
+    -jar target/prod/rocklms-0.0.1-SNAPSHOT.jar "$@"
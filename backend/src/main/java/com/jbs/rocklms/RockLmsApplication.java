@@ -1,9 +1,12 @@
 package com.jbs.rocklms;
 
+import com.jbs.rocklms.config.NativeRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(NativeRuntimeHints.class)
 public class RockLmsApplication {
 
 	public static void main(String[] args) {
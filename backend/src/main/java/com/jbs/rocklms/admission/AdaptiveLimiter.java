@@ -0,0 +1,85 @@
+package com.jbs.rocklms.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that adapts to observed latency, AIMD style: each request that completes within
+ * the latency threshold while the limit is actually in use raises the limit by {@code 1 / limit}
+ * (about one per round of requests), and a slow or failed request cuts it by the backoff ratio.
+ * Only requests that started after the previous cut can cut again, so a burst of slow responses
+ * to the same congestion counts once.
+ * <p>
+ * Callers pass the share of the limit they may use, so low-priority traffic runs out of room
+ * before everything else does.
+ */
+public class AdaptiveLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private double limit;
+    private boolean backedOff;
+    private long lastBackoffNanos;
+
+    public AdaptiveLimiter(int initialLimit, int minLimit, int maxLimit, long latencyThresholdNanos, double backoffRatio) {
+        if (minLimit < 1 || initialLimit < minLimit || maxLimit < initialLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Backoff ratio must be between 0 and 1");
+        }
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.backoffRatio = backoffRatio;
+    }
+
+    /**
+     * Takes a slot if fewer than {@code share * limit} requests are in flight.
+     * Every successful call must be paired with {@link #release}.
+     */
+    public boolean tryAcquire(double share) {
+        int allowed = Math.max(1, (int) (getLimit() * share));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Frees the slot of a request that ran from {@code startNanos} to {@code endNanos}
+     * ({@link System#nanoTime()} readings) and adjusts the limit.
+     */
+    public void release(long startNanos, long endNanos, boolean failed) {
+        int current = inFlight.getAndDecrement();
+        synchronized (this) {
+            if (failed || endNanos - startNanos > latencyThresholdNanos) {
+                if (!backedOff || startNanos - lastBackoffNanos > 0) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    backedOff = true;
+                    lastBackoffNanos = endNanos;
+                }
+            } else if (current * 2 >= limit) {
+                // Only grow while the limit is actually what bounds concurrency.
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+        }
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,120 @@
+package com.jbs.rocklms.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Admits course API calls against separate adaptive limits for reads and writes and answers the rest
+ * with {@code 503 Service Unavailable} and {@code Retry-After}.
+ * <p>
+ * Requests are classified by the request mapping of the generated handler method: {@code GET}
+ * operations and the {@code :batchGet} lookup are reads, everything else is a write, so a new read
+ * endpoint never takes write capacity. The unfiltered list ({@code findAllCourses}) shares the read
+ * limit with the other reads but may only use part of it, so it is shed first.
+ */
+public class AdmissionControlInterceptor implements HandlerInterceptor {
+
+    enum Operation {
+        LIST, READ, WRITE
+    }
+
+    private static final String ADMITTED = AdmissionControlInterceptor.class.getName() + ".admitted";
+    private static final String STARTED = AdmissionControlInterceptor.class.getName() + ".started";
+    private static final String LIST_OPERATION = "findAllCourses";
+    private static final String BATCH_GET_SUFFIX = ":batchGet";
+
+    private final AdaptiveLimiter readLimiter;
+    private final AdaptiveLimiter writeLimiter;
+    private final double listShare;
+    private final String retryAfterSeconds;
+    private final Map<Operation, Counter> rejections = new EnumMap<>(Operation.class);
+    private final Map<Method, Operation> operations = new ConcurrentHashMap<>();
+
+    public AdmissionControlInterceptor(AdaptiveLimiter readLimiter, AdaptiveLimiter writeLimiter,
+                                       double listShare, Duration retryAfter, MeterRegistry meterRegistry) {
+        this.readLimiter = readLimiter;
+        this.writeLimiter = writeLimiter;
+        this.listShare = listShare;
+        this.retryAfterSeconds = Long.toString(Math.max(1, retryAfter.toSeconds()));
+
+        registerGauges(meterRegistry, "read", readLimiter);
+        registerGauges(meterRegistry, "write", writeLimiter);
+        for (Operation operation : Operation.values()) {
+            rejections.put(operation, Counter.builder("rocklms.admission.rejected")
+                    .description("Course API requests shed by admission control")
+                    .tag("operation", operation.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        Operation operation = operations.computeIfAbsent(handlerMethod.getMethod(), method -> classify(handlerMethod));
+        AdaptiveLimiter limiter = limiterFor(operation);
+        if (!limiter.tryAcquire(operation == Operation.LIST ? listShare : 1.0)) {
+            rejections.get(operation).increment();
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            return false;
+        }
+        request.setAttribute(ADMITTED, limiter);
+        request.setAttribute(STARTED, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (request.getAttribute(ADMITTED) instanceof AdaptiveLimiter limiter) {
+            request.removeAttribute(ADMITTED);
+            boolean failed = ex != null || response.getStatus() >= HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+            limiter.release((Long) request.getAttribute(STARTED), System.nanoTime(), failed);
+        }
+    }
+
+    static Operation classify(HandlerMethod handlerMethod) {
+        if (handlerMethod.getMethod().getName().equals(LIST_OPERATION)) {
+            return Operation.LIST;
+        }
+        RequestMapping mapping = handlerMethod.getMethodAnnotation(RequestMapping.class);
+        if (mapping == null) {
+            throw new IllegalStateException("No request mapping on " + handlerMethod);
+        }
+        boolean read = Arrays.equals(mapping.method(), new RequestMethod[]{RequestMethod.GET})
+                || Arrays.stream(mapping.value()).anyMatch(path -> path.endsWith(BATCH_GET_SUFFIX));
+        return read ? Operation.READ : Operation.WRITE;
+    }
+
+    private AdaptiveLimiter limiterFor(Operation operation) {
+        return operation == Operation.WRITE ? writeLimiter : readLimiter;
+    }
+
+    private static void registerGauges(MeterRegistry meterRegistry, String kind, AdaptiveLimiter limiter) {
+        Gauge.builder("rocklms.admission.limit", limiter, AdaptiveLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .tag("kind", kind)
+                .register(meterRegistry);
+        Gauge.builder("rocklms.admission.in.flight", limiter, AdaptiveLimiter::getInFlight)
+                .description("Course API requests currently admitted")
+                .tag("kind", kind)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,172 @@
+package com.jbs.rocklms.backfill;
+
+import com.jbs.rocklms.repository.KeysetBackfill;
+import com.jbs.rocklms.service.BackfillService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs {@link KeysetBackfill}s against the live database in small, throttled batches.
+ * <p>
+ * Each batch is one short transaction over {@code rocklms.backfill.batch-size} consecutive keys, so
+ * row locks are held briefly and replicas and vacuum keep up; {@code rocklms.backfill.pause} between
+ * batches leaves the database room for regular traffic. Progress is committed with every batch, so
+ * a backfill interrupted by a restart continues after the last committed batch, and a failed batch
+ * is retried after {@code rocklms.backfill.retry-delay}.
+ * <p>
+ * Per backfill, {@code rocklms.backfill.rows} counts updated rows, {@code rocklms.backfill.batch}
+ * times batches and {@code rocklms.backfill.progress} estimates the processed share of the key range.
+ */
+@Component
+public class BackfillRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(BackfillRunner.class);
+
+    private final BackfillService backfillService;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final Duration pause;
+    private final Duration retryDelay;
+
+    private final Map<String, Metrics> metrics = new ConcurrentHashMap<>();
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "backfill");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile boolean stopping;
+
+    private final class Metrics {
+
+        final Counter rows;
+        final Timer batches;
+        volatile long lastKey;
+        volatile long maxKey;
+
+        Metrics(String name) {
+            rows = Counter.builder("rocklms.backfill.rows")
+                    .description("Rows updated by a backfill on this node")
+                    .tag("backfill", name)
+                    .register(meterRegistry);
+            batches = Timer.builder("rocklms.backfill.batch")
+                    .description("Time to update and commit one backfill batch")
+                    .tag("backfill", name)
+                    .register(meterRegistry);
+            Gauge.builder("rocklms.backfill.progress", this, Metrics::progress)
+                    .description("Share of the key range a backfill has processed, from 0 to 1")
+                    .tag("backfill", name)
+                    .register(meterRegistry);
+        }
+
+        double progress() {
+            return maxKey <= 0 ? 0 : Math.min(1.0, (double) lastKey / maxKey);
+        }
+    }
+
+    @Autowired
+    public BackfillRunner(BackfillService backfillService, MeterRegistry meterRegistry,
+                          @Value("${rocklms.backfill.batch-size:1000}") int batchSize,
+                          @Value("${rocklms.backfill.pause:PT0.1S}") Duration pause,
+                          @Value("${rocklms.backfill.retry-delay:PT30S}") Duration retryDelay) {
+        this.backfillService = backfillService;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.pause = pause;
+        this.retryDelay = retryDelay;
+    }
+
+    /**
+     * Runs the backfill on the backfill thread, after any backfill started before it.
+     */
+    public void start(KeysetBackfill backfill) {
+        executor.execute(() -> {
+            try {
+                run(backfill);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    /**
+     * Runs the backfill to completion on the calling thread, retrying failed batches until it
+     * completes or the application shuts down.
+     *
+     * @return the rows this call updated
+     */
+    public long run(KeysetBackfill backfill) throws InterruptedException {
+        Metrics backfillMetrics = metrics.computeIfAbsent(backfill.name(), Metrics::new);
+        long updated = 0;
+        boolean started = false;
+        while (!stopping) {
+            try {
+                if (!started) {
+                    resume(backfill.name(), backfillMetrics);
+                    started = true;
+                    backfillMetrics.maxKey = backfillService.getMaxKey(backfill);
+                    log.info("Backfill {} running from key {} up to about {}", backfill.name(),
+                            backfillMetrics.lastKey, backfillMetrics.maxKey);
+                }
+                long start = System.nanoTime();
+                BackfillService.Batch batch = backfillService.runBatch(backfill, batchSize);
+                backfillMetrics.batches.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                backfillMetrics.rows.increment(batch.rowsUpdated());
+                backfillMetrics.lastKey = batch.lastKey();
+                updated += batch.rowsUpdated();
+                if (batch.completed()) {
+                    backfillMetrics.maxKey = Math.max(backfillMetrics.maxKey, batch.lastKey());
+                    log.info("Backfill {} completed, {} rows updated by this node", backfill.name(), updated);
+                    return updated;
+                }
+                sleep(pause);
+            } catch (DataAccessException | TransactionException e) {
+                log.warn("Backfill {} batch failed after key {}, retrying in {}", backfill.name(),
+                        backfillMetrics.lastKey, retryDelay, e);
+                sleep(retryDelay);
+            }
+        }
+        log.info("Backfill {} stopped after key {}", backfill.name(), backfillMetrics.lastKey);
+        return updated;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stopping = true;
+        executor.shutdownNow();
+    }
+
+    private void resume(String name, Metrics backfillMetrics) {
+        try {
+            backfillMetrics.lastKey = backfillService.startBackfill(name).getLastKey();
+        } catch (DataIntegrityViolationException e) {
+            // Another node created the progress row at the same moment.
+            backfillMetrics.lastKey = backfillService.getProgress(name).orElseThrow().getLastKey();
+        }
+    }
+
+    private static void sleep(Duration duration) throws InterruptedException {
+        if (!duration.isZero()) {
+            Thread.sleep(duration);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.jbs.rocklms.backfill;
+
+import com.jbs.rocklms.repository.KeysetBackfill;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills {@code courses.updated_at} of the rows that existed before migration V1005, in the background
+ * once the application is ready.
+ * <p>
+ * When a course was last changed was never recorded, so published and archived courses get their
+ * publication time, the latest change that is known, and drafts the time of the backfill. Every
+ * course written since V1005 gets its time from the application and is skipped.
+ */
+@Component
+public class CourseUpdatedAtBackfill {
+
+    public static final KeysetBackfill BACKFILL = new KeysetBackfill("course-updated-at", "courses", "id",
+            "updated_at = COALESCE(published_at, LOCALTIMESTAMP)", "updated_at IS NULL");
+
+    private final BackfillRunner backfillRunner;
+    private final boolean enabled;
+
+    @Autowired
+    public CourseUpdatedAtBackfill(BackfillRunner backfillRunner,
+                                   @Value("${rocklms.backfill.course-updated-at.enabled:true}") boolean enabled) {
+        this.backfillRunner = backfillRunner;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            backfillRunner.start(BACKFILL);
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package com.jbs.rocklms.cache;
+
+import com.jbs.rocklms.entity.Course;
+import com.jbs.rocklms.event.CourseChangedEvent;
+import com.jbs.rocklms.service.CourseService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps a {@link CourseCatalogSnapshot} of all courses in memory and swaps in a new one after
+ * every committed change, so status-filtered course lists can be served without a database round
+ * trip or a lock.
+ * <p>
+ * Committed changes are queued and applied in batches on a single background thread, which also
+ * runs the full rebuilds. Until a change is applied, {@link #current()} returns {@code null} and
+ * requests fall through to the database, so a client never reads a list older than its own write.
+ * A periodic full rebuild picks up changes made by other replicas and drops unused strings.
+ * <p>
+ * With {@code rocklms.catalog-snapshot.file.path} set, the snapshot is also written to that file
+ * periodically and on shutdown. At startup the file is memory-mapped and loaded, and only the
+ * courses changed since it was written are fetched from the database. This happens in an
+ * {@link ApplicationReadyEvent} listener, which completes before Spring Boot reports the application
+ * ready to accept traffic, so a new replica starts warm. Deletes are found through tombstones, which
+ * every full rebuild prunes after {@code rocklms.catalog-snapshot.tombstone-retention}; a file too
+ * old for the tombstones left is not loaded, and the snapshot is built from the database instead.
+ */
+@Component
+public class CourseCatalog {
+
+    private static final Logger log = LoggerFactory.getLogger(CourseCatalog.class);
+
+    private record PendingChange(long courseId, long committedAtNanos) {
+    }
+
+    private final CourseService courseService;
+    private final boolean enabled;
+    private final Path snapshotFile;
+    private final Duration tombstoneRetention;
+
+    private volatile CourseCatalogSnapshot snapshot;
+    private volatile long lastFullBuildNanos;
+    private final ConcurrentLinkedQueue<PendingChange> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean patchScheduled = new AtomicBoolean();
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+    private final ExecutorService updateExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "course-catalog");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Timer fullBuildTimer;
+    private final Timer patchTimer;
+    private final Timer fileLoadTimer;
+    private final Timer fileWriteTimer;
+
+    @Autowired
+    public CourseCatalog(CourseService courseService, MeterRegistry meterRegistry,
+                         @Value("${rocklms.catalog-snapshot.enabled:true}") boolean enabled,
+                         @Value("${rocklms.catalog-snapshot.file.path:}") String snapshotFile,
+                         @Value("${rocklms.catalog-snapshot.tombstone-retention:P7D}") Duration tombstoneRetention) {
+        this.courseService = courseService;
+        this.enabled = enabled;
+        this.snapshotFile = snapshotFile.isBlank() ? null : Path.of(snapshotFile);
+        this.tombstoneRetention = tombstoneRetention;
+        this.fullBuildTimer = buildTimer(meterRegistry, "full");
+        this.patchTimer = buildTimer(meterRegistry, "patch");
+        this.fileLoadTimer = buildTimer(meterRegistry, "file");
+        this.fileWriteTimer = Timer.builder("rocklms.course.snapshot.file.write")
+                .description("Time to write the catalog snapshot file")
+                .register(meterRegistry);
+        Gauge.builder("rocklms.course.snapshot.size", this, catalog -> sizeOf(catalog.snapshot))
+                .description("Courses in the in-memory catalog snapshot")
+                .register(meterRegistry);
+        Gauge.builder("rocklms.course.snapshot.memory", this, catalog -> memoryOf(catalog.snapshot))
+                .description("Approximate heap used by the in-memory catalog snapshot")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("rocklms.course.snapshot.staleness", this, CourseCatalog::stalenessSeconds)
+                .description("Age of the oldest committed course change not yet in the snapshot")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("rocklms.course.snapshot.age", this, CourseCatalog::ageSeconds)
+                .description("Time since the snapshot was last synchronized with the whole database")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the current snapshot, or {@code null} while it is not built yet or a committed
+     * change has not been applied.
+     */
+    public CourseCatalogSnapshot current() {
+        // Pending first: a change leaves the queue only after its patched snapshot is installed, so
+        // an empty queue guarantees the snapshot read next contains it. Read the other way round, a
+        // patch landing in between would hand out the snapshot from before the change.
+        if (!pending.isEmpty()) {
+            return null;
+        }
+        return snapshot;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        pending.add(new PendingChange(event.courseId(), System.nanoTime()));
+        if (patchScheduled.compareAndSet(false, true)) {
+            updateExecutor.execute(() -> {
+                // Cleared before patching so that changes arriving meanwhile schedule another pass.
+                patchScheduled.set(false);
+                applyPending();
+            });
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled && !loadFile()) {
+            scheduleRebuild();
+        }
+    }
+
+    // Delayed by one interval: startup already loads the snapshot, from the file or the database.
+    @Scheduled(fixedDelayString = "${rocklms.catalog-snapshot.refresh-interval:PT5M}",
+            initialDelayString = "${rocklms.catalog-snapshot.refresh-interval:PT5M}")
+    public void refresh() {
+        scheduleRebuild();
+    }
+
+    /**
+     * Loads every course from the database into a new snapshot and installs it. Serialized with
+     * patching, so a patch never installs a result computed from the snapshot this replaced.
+     */
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        CourseCatalogSnapshot.Builder builder = new CourseCatalogSnapshot.Builder(sizeOf(snapshot));
+        long version;
+        try {
+            // Only the snapshot file needs a version, and reading it needs PostgreSQL.
+            version = snapshotFile == null ? 0 : courseService.getVersionHorizon();
+            courseService.streamCourses(null, builder::add);
+        } catch (RuntimeException e) {
+            log.warn("Could not rebuild course catalog snapshot", e);
+            return;
+        }
+        snapshot = builder.build(version);
+        lastFullBuildNanos = start;
+        fullBuildTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (snapshotFile != null) {
+            pruneTombstones();
+        }
+    }
+
+    /**
+     * Loads the snapshot file and brings it up to date with the courses changed since it was
+     * written. Returns {@code false} when there is no usable file.
+     */
+    public synchronized boolean loadFile() {
+        if (snapshotFile == null || !Files.exists(snapshotFile)) {
+            return false;
+        }
+        long start = System.nanoTime();
+        try {
+            CourseCatalogSnapshot loaded = CourseCatalogSnapshotFile.read(snapshotFile);
+            long version = courseService.getVersionHorizon();
+            Set<Long> ids = new HashSet<>();
+            courseService.streamCourseIdsChangedSince(loaded.version(), ids::add);
+            // Checked after reading the changes: a prune that committed before that read shows here.
+            if (courseService.getTombstonesPrunedThrough() >= loaded.version()) {
+                log.info("Course catalog snapshot {} is older than the tombstone retention, rebuilding from the "
+                        + "database", snapshotFile);
+                return false;
+            }
+            int changed = ids.size();
+            List<Course> courses = courseService.getCoursesByIds(ids);
+            courses.forEach(course -> ids.remove(course.getId()));
+            snapshot = loaded.patch(courses, ids, version);
+            lastFullBuildNanos = start;
+            fileLoadTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            log.info("Loaded {} courses from {}, {} changed since it was written", loaded.size(), snapshotFile,
+                    changed);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not load course catalog snapshot from {}, rebuilding from the database", snapshotFile, e);
+            return false;
+        }
+    }
+
+    /**
+     * Writes the current snapshot to the snapshot file, if one is configured.
+     */
+    @Scheduled(fixedDelayString = "${rocklms.catalog-snapshot.file.write-interval:PT5M}",
+            initialDelayString = "${rocklms.catalog-snapshot.file.write-interval:PT5M}")
+    public void writeFile() {
+        CourseCatalogSnapshot current = snapshot;
+        if (snapshotFile == null || current == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            CourseCatalogSnapshotFile.write(current, snapshotFile);
+            fileWriteTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        } catch (IOException e) {
+            log.warn("Could not write course catalog snapshot to {}", snapshotFile, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        updateExecutor.shutdownNow();
+        writeFile();
+    }
+
+    private void pruneTombstones() {
+        try {
+            int pruned = courseService.pruneTombstones(tombstoneRetention);
+            log.debug("Pruned {} course tombstones older than {}", pruned, tombstoneRetention);
+        } catch (RuntimeException e) {
+            log.warn("Could not prune course tombstones", e);
+        }
+    }
+
+    private void scheduleRebuild() {
+        if (enabled && rebuildScheduled.compareAndSet(false, true)) {
+            updateExecutor.execute(() -> {
+                rebuildScheduled.set(false);
+                rebuild();
+            });
+        }
+    }
+
+    /**
+     * Re-reads every course with a queued change and patches the snapshot with the result. The
+     * changes stay queued, keeping {@link #current()} unavailable, until the new snapshot is in.
+     */
+    private synchronized void applyPending() {
+        List<PendingChange> batch = new ArrayList<>(pending);
+        if (batch.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        Set<Long> ids = new HashSet<>();
+        batch.forEach(change -> ids.add(change.courseId()));
+        try {
+            CourseCatalogSnapshot current = snapshot;
+            if (current != null) {
+                List<Course> courses = courseService.getCoursesByIds(ids);
+                courses.forEach(course -> ids.remove(course.getId()));
+                // Whatever is left no longer exists.
+                snapshot = current.patch(courses, ids, current.version());
+                patchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        } catch (RuntimeException e) {
+            // Without the patch the snapshot is wrong; drop it until the next full rebuild.
+            log.warn("Could not patch course catalog snapshot, rebuilding", e);
+            snapshot = null;
+            scheduleRebuild();
+        }
+        pending.removeAll(batch);
+    }
+
+    private double stalenessSeconds() {
+        PendingChange oldest = pending.peek();
+        return oldest == null ? 0 : secondsSince(oldest.committedAtNanos());
+    }
+
+    private double ageSeconds() {
+        return snapshot == null ? 0 : secondsSince(lastFullBuildNanos);
+    }
+
+    private static double secondsSince(long nanos) {
+        return (System.nanoTime() - nanos) / 1e9;
+    }
+
+    private static int sizeOf(CourseCatalogSnapshot snapshot) {
+        return snapshot == null ? 0 : snapshot.size();
+    }
+
+    private static long memoryOf(CourseCatalogSnapshot snapshot) {
+        return snapshot == null ? 0 : snapshot.memoryBytes();
+    }
+
+    private static Timer buildTimer(MeterRegistry meterRegistry, String kind) {
+        return Timer.builder("rocklms.course.snapshot.build")
+                .description("Time to build or patch the in-memory catalog snapshot")
+                .tag("kind", kind)
+                .register(meterRegistry);
+    }
+}
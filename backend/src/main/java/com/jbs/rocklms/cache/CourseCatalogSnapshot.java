@@ -0,0 +1,300 @@
+package com.jbs.rocklms.cache;
+
+import com.jbs.rocklms.entity.Course;
+import com.jbs.rocklms.mapper.CourseJsonWriter;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable copy of every course, stored column by column and sorted by id.
+ * <p>
+ * Numbers live in primitive arrays and text in string tables shared by all rows, so a catalog of
+ * a million courses is a handful of arrays rather than a million objects, and repeated titles or
+ * descriptions are stored once. Changes never touch an existing snapshot: {@link #patch} returns
+ * a new one, leaving readers of the old one undisturbed.
+ * <p>
+ * The {@link #version()} is the row version horizon of the data it was loaded from: every course
+ * written with an older row version is included. {@link CourseCatalogSnapshotFile} persists it so a
+ * node can fetch only newer rows after loading a snapshot from disk.
+ */
+public final class CourseCatalogSnapshot {
+
+    private static final Course.CourseStatus[] STATUSES = Course.CourseStatus.values();
+    static final int NO_DURATION = Integer.MIN_VALUE;
+    static final long NOT_PUBLISHED = Long.MIN_VALUE;
+    static final int NO_TEXT = -1;
+
+    // Package-private for CourseCatalogSnapshotFile, which writes and reads them as they are.
+    final long version;
+    final long[] ids;
+    final int[] durations;
+    final byte[] statuses;
+    // Epoch microseconds in UTC, the precision of a PostgreSQL TIMESTAMP.
+    final long[] publishedAt;
+    final int[] titles;
+    final int[] descriptions;
+    final String[] titleTable;
+    final String[] descriptionTable;
+
+    CourseCatalogSnapshot(long version, long[] ids, int[] durations, byte[] statuses, long[] publishedAt,
+                          int[] titles, int[] descriptions, String[] titleTable, String[] descriptionTable) {
+        this.version = version;
+        this.ids = ids;
+        this.durations = durations;
+        this.statuses = statuses;
+        this.publishedAt = publishedAt;
+        this.titles = titles;
+        this.descriptions = descriptions;
+        this.titleTable = titleTable;
+        this.descriptionTable = descriptionTable;
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Approximate heap used by the arrays and the strings they reference.
+     */
+    public long memoryBytes() {
+        long bytes = (long) ids.length * (Long.BYTES + Integer.BYTES + 1 + Long.BYTES + 2 * Integer.BYTES);
+        for (String text : titleTable) {
+            bytes += text == null ? 0 : 40 + text.length();
+        }
+        for (String text : descriptionTable) {
+            bytes += text == null ? 0 : 40 + text.length();
+        }
+        return bytes;
+    }
+
+    /**
+     * Writes every course with the given status ({@code null} for all), in id order.
+     */
+    public void write(CourseJsonWriter.ListWriter writer, Course.CourseStatus status) throws IOException {
+        int wanted = status == null ? -1 : status.ordinal();
+        for (int row = 0; row < ids.length; row++) {
+            if (wanted >= 0 && statuses[row] != wanted) {
+                continue;
+            }
+            writer.write(ids[row], text(titleTable, titles[row]), text(descriptionTable, descriptions[row]),
+                    durations[row] == NO_DURATION ? null : durations[row], STATUSES[statuses[row]],
+                    toTimestamp(publishedAt[row]));
+        }
+    }
+
+    /**
+     * Returns a snapshot with the given courses added or replaced and the given ids removed, at the
+     * given version. String tables are only appended to; entries no longer referenced are dropped by
+     * the next full build.
+     */
+    public CourseCatalogSnapshot patch(Collection<Course> upserts, Collection<Long> removals, long version) {
+        Course[] changed = upserts.toArray(Course[]::new);
+        Arrays.sort(changed, (a, b) -> Long.compare(a.getId(), b.getId()));
+        long[] removed = removals.stream().mapToLong(Long::longValue).sorted().toArray();
+
+        StringTable newTitles = new StringTable(titleTable);
+        StringTable newDescriptions = new StringTable(descriptionTable);
+        Builder builder = new Builder(ids.length + changed.length, newTitles, newDescriptions);
+
+        int row = 0;
+        int next = 0;
+        while (row < ids.length || next < changed.length) {
+            if (next == changed.length || (row < ids.length && ids[row] < changed[next].getId())) {
+                if (Arrays.binarySearch(removed, ids[row]) < 0) {
+                    builder.addRow(ids[row], durations[row], statuses[row], publishedAt[row],
+                            titles[row], descriptions[row]);
+                }
+                row++;
+            } else {
+                if (row < ids.length && ids[row] == changed[next].getId()) {
+                    row++;
+                }
+                builder.add(changed[next++]);
+            }
+        }
+        return builder.build(version);
+    }
+
+    private static String text(String[] table, int index) {
+        return index == NO_TEXT ? null : table[index];
+    }
+
+    private static LocalDateTime toTimestamp(long micros) {
+        if (micros == NOT_PUBLISHED) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1000, ZoneOffset.UTC);
+    }
+
+    private static long toMicros(LocalDateTime timestamp) {
+        if (timestamp == null) {
+            return NOT_PUBLISHED;
+        }
+        return timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + timestamp.getNano() / 1000;
+    }
+
+    /**
+     * Interns strings into a table; starts from an existing table when patching.
+     */
+    private static final class StringTable {
+
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private String[] table;
+        private int size;
+
+        StringTable(String[] existing) {
+            table = Arrays.copyOf(existing, Math.max(16, existing.length + 16));
+            size = existing.length;
+            for (int i = 0; i < existing.length; i++) {
+                indexes.putIfAbsent(existing[i], i);
+            }
+        }
+
+        int intern(String text) {
+            if (text == null) {
+                return NO_TEXT;
+            }
+            Integer index = indexes.get(text);
+            if (index != null) {
+                return index;
+            }
+            if (size == table.length) {
+                table = Arrays.copyOf(table, size * 2);
+            }
+            table[size] = text;
+            indexes.put(text, size);
+            return size++;
+        }
+
+        String[] toArray() {
+            return Arrays.copyOf(table, size);
+        }
+    }
+
+    /**
+     * Collects rows in any order; {@link #build} sorts them by id.
+     */
+    static final class Builder {
+
+        private final StringTable titleTable;
+        private final StringTable descriptionTable;
+        private long[] ids;
+        private int[] durations;
+        private byte[] statuses;
+        private long[] publishedAt;
+        private int[] titles;
+        private int[] descriptions;
+        private int size;
+
+        Builder(int expectedSize) {
+            this(expectedSize, new StringTable(new String[0]), new StringTable(new String[0]));
+        }
+
+        private Builder(int expectedSize, StringTable titleTable, StringTable descriptionTable) {
+            int capacity = Math.max(16, expectedSize);
+            this.titleTable = titleTable;
+            this.descriptionTable = descriptionTable;
+            ids = new long[capacity];
+            durations = new int[capacity];
+            statuses = new byte[capacity];
+            publishedAt = new long[capacity];
+            titles = new int[capacity];
+            descriptions = new int[capacity];
+        }
+
+        /**
+         * Adds the current row of a result set selecting {@link CourseJsonWriter#COLUMNS}.
+         */
+        void add(ResultSet row) throws SQLException {
+            long id = row.getLong(1);
+            String title = row.getString(2);
+            String description = row.getString(3);
+            int duration = row.getInt(4);
+            if (row.wasNull()) {
+                duration = NO_DURATION;
+            }
+            Course.CourseStatus status = Course.CourseStatus.valueOf(row.getString(5));
+            LocalDateTime published = row.getObject(6, LocalDateTime.class);
+            addRow(id, duration, (byte) status.ordinal(), toMicros(published),
+                    titleTable.intern(title), descriptionTable.intern(description));
+        }
+
+        void add(Course course) {
+            addRow(course.getId(), course.getDuration() == null ? NO_DURATION : course.getDuration(),
+                    (byte) course.getStatus().ordinal(), toMicros(course.getPublishedAt()),
+                    titleTable.intern(course.getTitle()), descriptionTable.intern(course.getDescription()));
+        }
+
+        private void addRow(long id, int duration, byte status, long published, int title, int description) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                durations = Arrays.copyOf(durations, capacity);
+                statuses = Arrays.copyOf(statuses, capacity);
+                publishedAt = Arrays.copyOf(publishedAt, capacity);
+                titles = Arrays.copyOf(titles, capacity);
+                descriptions = Arrays.copyOf(descriptions, capacity);
+            }
+            ids[size] = id;
+            durations[size] = duration;
+            statuses[size] = status;
+            publishedAt[size] = published;
+            titles[size] = title;
+            descriptions[size] = description;
+            size++;
+        }
+
+        CourseCatalogSnapshot build(long version) {
+            int[] order = sortedOrder();
+            long[] sortedIds = new long[size];
+            int[] sortedDurations = new int[size];
+            byte[] sortedStatuses = new byte[size];
+            long[] sortedPublishedAt = new long[size];
+            int[] sortedTitles = new int[size];
+            int[] sortedDescriptions = new int[size];
+            for (int i = 0; i < size; i++) {
+                int row = order == null ? i : order[i];
+                sortedIds[i] = ids[row];
+                sortedDurations[i] = durations[row];
+                sortedStatuses[i] = statuses[row];
+                sortedPublishedAt[i] = publishedAt[row];
+                sortedTitles[i] = titles[row];
+                sortedDescriptions[i] = descriptions[row];
+            }
+            return new CourseCatalogSnapshot(version, sortedIds, sortedDurations, sortedStatuses, sortedPublishedAt,
+                    sortedTitles, sortedDescriptions, titleTable.toArray(), descriptionTable.toArray());
+        }
+
+        // Rows usually arrive in id order already; only sort when they did not.
+        private int[] sortedOrder() {
+            boolean sorted = true;
+            for (int i = 1; i < size && sorted; i++) {
+                sorted = ids[i - 1] < ids[i];
+            }
+            if (sorted) {
+                return null;
+            }
+            long[] keys = Arrays.copyOf(ids, size);
+            List<Integer> rows = new java.util.ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                rows.add(i);
+            }
+            rows.sort((a, b) -> Long.compare(keys[a], keys[b]));
+            return rows.stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.jbs.rocklms.cache;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Binary file format of a {@link CourseCatalogSnapshot}, read back through a memory mapping.
+ * <p>
+ * Layout, all numbers big-endian:
+ * <pre>
+ * header      64 bytes: magic, format, catalog version, written at (epoch ms), course count,
+ *             title count, description count, CRC32 of everything after the header, heap length
+ * courses     32 bytes each, in id order: id, published at (epoch us), duration, title index,
+ *             description index, status ordinal, 3 bytes padding
+ * heap        UTF-8 bytes of every title, then every description
+ * offsets     8 bytes per string, plus one: start of each string in the heap, then the heap length
+ * </pre>
+ * Fixed-width records keep reading a straight copy out of the mapping; only the strings are decoded.
+ */
+final class CourseCatalogSnapshotFile {
+
+    private static final int MAGIC = 0x524C4353; // "RLCS"
+    private static final int FORMAT = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int RECORD_SIZE = 32;
+    private static final byte[] RECORD_PADDING = new byte[3];
+
+    private CourseCatalogSnapshotFile() {
+    }
+
+    /**
+     * Writes the snapshot next to the target and moves it into place, so readers never see a
+     * partially written file.
+     */
+    static void write(CourseCatalogSnapshot snapshot, Path target) throws IOException {
+        Path directory = target.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                channel.position(HEADER_SIZE);
+                CRC32 crc = new CRC32();
+                DataOutputStream body = new DataOutputStream(new BufferedOutputStream(
+                        new CheckedOutputStream(Channels.newOutputStream(channel), crc), 64 * 1024));
+                writeRecords(snapshot, body);
+                long[] offsets = new long[snapshot.titleTable.length + snapshot.descriptionTable.length + 1];
+                long heapLength = writeHeap(snapshot, body, offsets);
+                for (long offset : offsets) {
+                    body.writeLong(offset);
+                }
+                body.flush();
+
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                        .putInt(MAGIC)
+                        .putInt(FORMAT)
+                        .putLong(snapshot.version)
+                        .putLong(System.currentTimeMillis())
+                        .putInt(snapshot.ids.length)
+                        .putInt(snapshot.titleTable.length)
+                        .putInt(snapshot.descriptionTable.length)
+                        .putInt((int) crc.getValue())
+                        .putLong(heapLength)
+                        .rewind();
+                channel.write(header, 0);
+                channel.force(true);
+            }
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Maps the file and copies its content into a new snapshot.
+     *
+     * @throws IOException if the file cannot be read or is not a complete snapshot of this format
+     */
+    static CourseCatalogSnapshot read(Path source) throws IOException {
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                throw new IOException("Unexpected snapshot file size " + size);
+            }
+            MappedByteBuffer file = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (file.getInt(0) != MAGIC || file.getInt(4) != FORMAT) {
+                throw new IOException("Not a course catalog snapshot of format " + FORMAT);
+            }
+            long version = file.getLong(8);
+            int count = file.getInt(24);
+            int titleCount = file.getInt(28);
+            int descriptionCount = file.getInt(32);
+            int checksum = file.getInt(36);
+            long heapLength = file.getLong(40);
+
+            long heapStart = HEADER_SIZE + (long) count * RECORD_SIZE;
+            long offsetsStart = heapStart + heapLength;
+            if (count < 0 || titleCount < 0 || descriptionCount < 0 || heapLength < 0
+                    || offsetsStart + 8L * (titleCount + descriptionCount + 1) != size) {
+                throw new IOException("Truncated course catalog snapshot");
+            }
+            CRC32 crc = new CRC32();
+            crc.update(file.slice(HEADER_SIZE, (int) size - HEADER_SIZE));
+            if ((int) crc.getValue() != checksum) {
+                throw new IOException("Course catalog snapshot checksum mismatch");
+            }
+
+            long[] ids = new long[count];
+            int[] durations = new int[count];
+            byte[] statuses = new byte[count];
+            long[] publishedAt = new long[count];
+            int[] titles = new int[count];
+            int[] descriptions = new int[count];
+            for (int row = 0; row < count; row++) {
+                int at = HEADER_SIZE + row * RECORD_SIZE;
+                ids[row] = file.getLong(at);
+                publishedAt[row] = file.getLong(at + 8);
+                durations[row] = file.getInt(at + 16);
+                titles[row] = file.getInt(at + 20);
+                descriptions[row] = file.getInt(at + 24);
+                statuses[row] = file.get(at + 28);
+            }
+            String[] titleTable = readStrings(file, (int) heapStart, (int) offsetsStart, 0, titleCount);
+            String[] descriptionTable = readStrings(file, (int) heapStart, (int) offsetsStart, titleCount,
+                    descriptionCount);
+            return new CourseCatalogSnapshot(version, ids, durations, statuses, publishedAt, titles, descriptions,
+                    titleTable, descriptionTable);
+        }
+    }
+
+    private static void writeRecords(CourseCatalogSnapshot snapshot, DataOutputStream out) throws IOException {
+        for (int row = 0; row < snapshot.ids.length; row++) {
+            out.writeLong(snapshot.ids[row]);
+            out.writeLong(snapshot.publishedAt[row]);
+            out.writeInt(snapshot.durations[row]);
+            out.writeInt(snapshot.titles[row]);
+            out.writeInt(snapshot.descriptions[row]);
+            out.writeByte(snapshot.statuses[row]);
+            out.write(RECORD_PADDING);
+        }
+    }
+
+    private static long writeHeap(CourseCatalogSnapshot snapshot, DataOutputStream out, long[] offsets)
+            throws IOException {
+        long position = 0;
+        int index = 0;
+        for (String[] table : new String[][] {snapshot.titleTable, snapshot.descriptionTable}) {
+            for (String text : table) {
+                offsets[index++] = position;
+                byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+                out.write(bytes);
+                position += bytes.length;
+            }
+        }
+        offsets[index] = position;
+        return position;
+    }
+
+    private static String[] readStrings(ByteBuffer file, int heapStart, int offsetsStart, int first, int count) {
+        String[] strings = new String[count];
+        for (int i = 0; i < count; i++) {
+            int offsetAt = offsetsStart + 8 * (first + i);
+            int start = (int) file.getLong(offsetAt);
+            int end = (int) file.getLong(offsetAt + 8);
+            byte[] bytes = new byte[end - start];
+            file.get(heapStart + start, bytes);
+            strings[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return strings;
+    }
+}
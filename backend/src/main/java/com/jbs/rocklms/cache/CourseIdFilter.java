@@ -0,0 +1,256 @@
+package com.jbs.rocklms.cache;
+
+import com.jbs.rocklms.event.CourseChangedEvent;
+import com.jbs.rocklms.repository.CourseVersions;
+import com.jbs.rocklms.service.CourseService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongConsumer;
+
+/**
+ * Bitmap over existing course ids that answers "definitely missing" without a database round trip.
+ * <p>
+ * Ids come from a sequence and are dense, so one bit per id is both smaller than a Bloom filter
+ * and exact. A rebuild reads the sequence first and waits until every transaction that was open
+ * at that moment has ended, so the scan that follows sees every course the sequence had handed out
+ * an id to. The bitmap answers only for those ids, less a margin for inserts that drew their id
+ * just before the sequence was read but had not started their transaction yet; anything above is
+ * reported as possibly existing, which covers creates on other replicas and rows inserted with
+ * explicit ids. Local creates and deletes are applied after commit, and a periodic rebuild picks
+ * up changes made elsewhere. A bit left set by another replica's delete only costs a database
+ * lookup, which is counted as a false positive.
+ */
+@Component
+public class CourseIdFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(CourseIdFilter.class);
+
+    private static final Duration SETTLE_POLL_INTERVAL = Duration.ofMillis(50);
+
+    private record Bitmap(AtomicLongArray words, long coveredUpTo) {
+    }
+
+    private record Change(long id, boolean exists) {
+    }
+
+    private final CourseService courseService;
+    private final boolean enabled;
+    private final long maxCoveredId;
+    private final long recentIdMargin;
+    private final Duration settleTimeout;
+
+    private volatile Bitmap bitmap;
+    // Non-null while a rebuild is scanning; changes committed meanwhile are replayed onto the new bitmap.
+    private List<Change> changesDuringRebuild;
+
+    private final Counter rejected;
+    private final Counter passed;
+    private final Counter falsePositives;
+
+    @Autowired
+    public CourseIdFilter(CourseService courseService, MeterRegistry meterRegistry,
+                          @Value("${rocklms.id-filter.enabled:true}") boolean enabled,
+                          @Value("${rocklms.id-filter.max-covered-id:134217728}") long maxCoveredId,
+                          @Value("${rocklms.id-filter.recent-id-margin:100}") long recentIdMargin,
+                          @Value("${rocklms.id-filter.settle-timeout:PT30S}") Duration settleTimeout) {
+        this.courseService = courseService;
+        this.enabled = enabled;
+        this.maxCoveredId = maxCoveredId;
+        this.recentIdMargin = recentIdMargin;
+        this.settleTimeout = settleTimeout;
+
+        rejected = Counter.builder("rocklms.course.id.filter.lookups")
+                .description("Course id lookups answered by the id filter")
+                .tag("result", "rejected")
+                .register(meterRegistry);
+        passed = Counter.builder("rocklms.course.id.filter.lookups")
+                .description("Course id lookups answered by the id filter")
+                .tag("result", "passed")
+                .register(meterRegistry);
+        falsePositives = Counter.builder("rocklms.course.id.filter.false.positives")
+                .description("Lookups passed by the id filter that found no course")
+                .register(meterRegistry);
+        Gauge.builder("rocklms.course.id.filter.false.positive.rate", this, CourseIdFilter::falsePositiveRate)
+                .description("Share of passed lookups that found no course")
+                .register(meterRegistry);
+        Gauge.builder("rocklms.course.id.filter.memory", this, CourseIdFilter::memoryBytes)
+                .description("Heap used by the id bitmap")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("rocklms.course.id.filter.covered.ids", this, filter -> {
+                    Bitmap current = filter.bitmap;
+                    return current == null ? 0 : current.coveredUpTo();
+                })
+                .description("Highest course id the bitmap answers for")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns {@code false} only if no course with this id exists; {@code true} means the database
+     * has to be asked.
+     */
+    public boolean mightExist(long id) {
+        Bitmap current = bitmap;
+        if (current == null || id > current.coveredUpTo()) {
+            return true;
+        }
+        boolean exists = id > 0 && isSet(current.words(), id);
+        (exists ? passed : rejected).increment();
+        return exists;
+    }
+
+    /**
+     * Records that a lookup passed by {@link #mightExist} found no course.
+     */
+    public void reportMissing(long id) {
+        Bitmap current = bitmap;
+        if (current != null && id > 0 && id <= current.coveredUpTo()) {
+            falsePositives.increment();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        if (!enabled || event.change() == CourseChangedEvent.Change.UPDATED) {
+            return;
+        }
+        apply(new Change(event.courseId(), event.change() == CourseChangedEvent.Change.CREATED));
+    }
+
+    @Scheduled(fixedDelayString = "${rocklms.id-filter.refresh-interval:PT10M}")
+    public void refresh() {
+        rebuild();
+    }
+
+    /**
+     * Scans all course ids and installs a fresh bitmap.
+     */
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            changesDuringRebuild = new ArrayList<>();
+        }
+        Bitmap rebuilt;
+        try {
+            rebuilt = scan();
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                changesDuringRebuild = null;
+            }
+            log.warn("Could not rebuild course id filter", e);
+            return;
+        }
+        synchronized (this) {
+            for (Change change : changesDuringRebuild) {
+                set(rebuilt, change);
+            }
+            changesDuringRebuild = null;
+            bitmap = rebuilt;
+        }
+    }
+
+    private Bitmap scan() {
+        CourseVersions.IdSequencePosition position = courseService.getIdSequencePosition();
+        awaitTransactionsBefore(position.transactionBound());
+        IdCollector collector = new IdCollector(maxCoveredId);
+        courseService.streamCourseIds(collector);
+        long coveredUpTo = Math.max(0, Math.min(position.lastIssuedId(), maxCoveredId) - recentIdMargin);
+        long[] words = Arrays.copyOf(collector.words, (int) (coveredUpTo >>> 6) + 1);
+        return new Bitmap(new AtomicLongArray(words), coveredUpTo);
+    }
+
+    /**
+     * Waits until no transaction older than the given bound is open, so none of them can still
+     * commit a course the scan would miss.
+     */
+    private void awaitTransactionsBefore(long transactionBound) {
+        long deadline = System.nanoTime() + settleTimeout.toNanos();
+        while (courseService.getVersionHorizon() < transactionBound) {
+            if (System.nanoTime() - deadline > 0) {
+                throw new IllegalStateException(
+                        "Transactions open before the id sequence was read still run after " + settleTimeout);
+            }
+            try {
+                Thread.sleep(SETTLE_POLL_INTERVAL);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for open transactions", e);
+            }
+        }
+    }
+
+    private synchronized void apply(Change change) {
+        if (changesDuringRebuild != null) {
+            changesDuringRebuild.add(change);
+        }
+        Bitmap current = bitmap;
+        if (current != null) {
+            set(current, change);
+        }
+    }
+
+    private static void set(Bitmap bitmap, Change change) {
+        if (change.id() <= 0 || change.id() > bitmap.coveredUpTo()) {
+            return;
+        }
+        int word = (int) (change.id() >>> 6);
+        long mask = 1L << change.id();
+        if (change.exists()) {
+            bitmap.words().getAndUpdate(word, bits -> bits | mask);
+        } else {
+            bitmap.words().getAndUpdate(word, bits -> bits & ~mask);
+        }
+    }
+
+    private static boolean isSet(AtomicLongArray words, long id) {
+        return (words.get((int) (id >>> 6)) & (1L << id)) != 0;
+    }
+
+    private double falsePositiveRate() {
+        double passedCount = passed.count();
+        return passedCount == 0 ? 0 : falsePositives.count() / passedCount;
+    }
+
+    private double memoryBytes() {
+        Bitmap current = bitmap;
+        return current == null ? 0 : (double) current.words().length() * Long.BYTES;
+    }
+
+    private static final class IdCollector implements LongConsumer {
+
+        private final long maxCoveredId;
+        private long[] words = new long[1024];
+
+        private IdCollector(long maxCoveredId) {
+            this.maxCoveredId = maxCoveredId;
+        }
+
+        @Override
+        public void accept(long id) {
+            if (id <= 0 || id > maxCoveredId) {
+                return;
+            }
+            int word = (int) (id >>> 6);
+            if (word >= words.length) {
+                words = Arrays.copyOf(words, Math.max(word + 1, words.length * 2));
+            }
+            words[word] |= 1L << id;
+        }
+    }
+}
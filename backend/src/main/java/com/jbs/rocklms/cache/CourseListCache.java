@@ -0,0 +1,161 @@
+package com.jbs.rocklms.cache;
+
+import com.jbs.rocklms.entity.Course;
+import com.jbs.rocklms.event.CourseChangedEvent;
+import com.jbs.rocklms.mapper.CourseJsonWriter;
+import com.jbs.rocklms.service.CourseService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Holds the fully serialized {@code GET /courses} response, plain and gzipped, for every status filter.
+ * <p>
+ * Entries are dropped as soon as a course change commits and rebuilt on a background thread, so
+ * a request either gets the current bytes or falls through to the database. A periodic refresh
+ * picks up changes made by other replicas.
+ */
+@Component
+public class CourseListCache {
+
+    private static final Logger log = LoggerFactory.getLogger(CourseListCache.class);
+
+    private static final Course.CourseStatus[] STATUSES = Course.CourseStatus.values();
+
+    private final CourseService courseService;
+    private final CourseJsonWriter courseJsonWriter;
+    private final boolean enabled;
+
+    // Slot 0 holds the unfiltered list, slot ordinal + 1 the list for each status.
+    private final AtomicReferenceArray<SerializedCourseList> entries =
+            new AtomicReferenceArray<>(STATUSES.length + 1);
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "course-list-cache");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public CourseListCache(CourseService courseService, CourseJsonWriter courseJsonWriter,
+                           @Value("${rocklms.list-cache.enabled:true}") boolean enabled) {
+        this.courseService = courseService;
+        this.courseJsonWriter = courseJsonWriter;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Returns the serialized list for the given status filter ({@code null} for all courses),
+     * or {@code null} when it is not cached right now.
+     */
+    public SerializedCourseList get(Course.CourseStatus status) {
+        return entries.get(slot(status));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        // Under the monitor rebuild() installs with, so a rebuild that started before this change
+        // either installs before the entries are cleared or sees the new generation and gives up.
+        synchronized (this) {
+            generation.incrementAndGet();
+            for (int i = 0; i < entries.length(); i++) {
+                entries.set(i, null);
+            }
+        }
+        scheduleRebuild();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        scheduleRebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${rocklms.list-cache.refresh-interval:PT1M}")
+    public void refresh() {
+        scheduleRebuild();
+    }
+
+    /**
+     * Serializes every status filter from the database and installs the results, unless a course
+     * changed in the meantime.
+     */
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long startGeneration = generation.get();
+        SerializedCourseList[] rebuilt = new SerializedCourseList[entries.length()];
+        try {
+            rebuilt[0] = serialize(null);
+            for (Course.CourseStatus status : STATUSES) {
+                rebuilt[slot(status)] = serialize(status);
+            }
+        } catch (RuntimeException | IOException e) {
+            log.warn("Could not rebuild course list cache", e);
+            return;
+        }
+        synchronized (this) {
+            if (generation.get() != startGeneration) {
+                return;
+            }
+            for (int i = 0; i < rebuilt.length; i++) {
+                entries.set(i, rebuilt[i]);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    private void scheduleRebuild() {
+        if (enabled && rebuildScheduled.compareAndSet(false, true)) {
+            rebuildExecutor.execute(() -> {
+                // Cleared before rebuilding so that changes arriving meanwhile schedule another pass.
+                rebuildScheduled.set(false);
+                rebuild();
+            });
+        }
+    }
+
+    private SerializedCourseList serialize(Course.CourseStatus status) throws IOException {
+        ByteArrayOutputStream plain = new ByteArrayOutputStream(8192);
+        int count;
+        try (CourseJsonWriter.ListWriter courses = courseJsonWriter.open(plain)) {
+            courseService.streamCourses(status, courses::write);
+            count = courses.count();
+        }
+        byte[] json = plain.toByteArray();
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(json);
+        }
+        return new SerializedCourseList(json, compressed.toByteArray(), count);
+    }
+
+    private static int slot(Course.CourseStatus status) {
+        return status == null ? 0 : status.ordinal() + 1;
+    }
+}
@@ -0,0 +1,9 @@
+package com.jbs.rocklms.cache;
+
+/**
+ * A {@code List<CourseDto>} response body as JSON bytes, plus its gzip-compressed variant.
+ *
+ * @param count the number of courses in the list
+ */
+public record SerializedCourseList(byte[] json, byte[] gzip, int count) {
+}
@@ -0,0 +1,51 @@
+package com.jbs.rocklms.config;
+
+import com.jbs.rocklms.admission.AdaptiveLimiter;
+import com.jbs.rocklms.admission.AdmissionControlInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "rocklms.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControlConfig {
+
+    @Bean
+    public AdmissionControlInterceptor admissionControlInterceptor(
+            MeterRegistry meterRegistry,
+            @Value("${rocklms.admission.read.initial-limit:100}") int readInitialLimit,
+            @Value("${rocklms.admission.read.min-limit:10}") int readMinLimit,
+            @Value("${rocklms.admission.read.max-limit:400}") int readMaxLimit,
+            @Value("${rocklms.admission.read.latency-threshold:PT0.25S}") Duration readLatencyThreshold,
+            @Value("${rocklms.admission.write.initial-limit:20}") int writeInitialLimit,
+            @Value("${rocklms.admission.write.min-limit:2}") int writeMinLimit,
+            @Value("${rocklms.admission.write.max-limit:100}") int writeMaxLimit,
+            @Value("${rocklms.admission.write.latency-threshold:PT0.5S}") Duration writeLatencyThreshold,
+            @Value("${rocklms.admission.backoff-ratio:0.9}") double backoffRatio,
+            @Value("${rocklms.admission.list-share:0.5}") double listShare,
+            @Value("${rocklms.admission.retry-after:PT1S}") Duration retryAfter) {
+        AdaptiveLimiter readLimiter = new AdaptiveLimiter(readInitialLimit, readMinLimit, readMaxLimit,
+                readLatencyThreshold.toNanos(), backoffRatio);
+        AdaptiveLimiter writeLimiter = new AdaptiveLimiter(writeInitialLimit, writeMinLimit, writeMaxLimit,
+                writeLatencyThreshold.toNanos(), backoffRatio);
+        return new AdmissionControlInterceptor(readLimiter, writeLimiter, listShare, retryAfter, meterRegistry);
+    }
+
+    @Bean
+    public WebMvcConfigurer admissionControlConfigurer(AdmissionControlInterceptor admissionControlInterceptor) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(admissionControlInterceptor)
+                        // Custom methods such as /api/courses:batchGet are not below /api/courses/
+                        .addPathPatterns("/api/courses", "/api/courses/**", "/api/courses:*");
+            }
+        };
+    }
+}
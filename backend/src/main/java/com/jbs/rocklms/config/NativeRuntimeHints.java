@@ -0,0 +1,66 @@
+package com.jbs.rocklms.config;
+
+import com.jbs.rocklms.entity.BackfillProgress;
+import com.jbs.rocklms.entity.Course;
+import com.jbs.rocklms.entity.CourseStats;
+import com.jbs.rocklms.model.CourseBatchGetRequest;
+import com.jbs.rocklms.model.CourseBatchGetResponse;
+import com.jbs.rocklms.model.CourseCreateRequest;
+import com.jbs.rocklms.model.CourseDto;
+import com.jbs.rocklms.model.CourseUpdateRequest;
+import com.jbs.rocklms.model.PopularCourseDto;
+import com.jbs.rocklms.model.SimilarCourseDto;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+/**
+ * Reflection and resource hints for the GraalVM native image ({@code -Pnative}).
+ * <p>
+ * Spring AOT already covers most of the controller and repository wiring; these hints make sure the
+ * generated OpenAPI models stay fully bindable by Jackson, the JPA entities stay reflectively
+ * accessible to Hibernate, and Flyway can find migrations from every configured location.
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    static final Class<?>[] API_MODELS = {
+            CourseDto.class,
+            CourseDto.StatusEnum.class,
+            CourseCreateRequest.class,
+            CourseUpdateRequest.class,
+            CourseBatchGetRequest.class,
+            CourseBatchGetResponse.class,
+            PopularCourseDto.class,
+            SimilarCourseDto.class
+    };
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), API_MODELS);
+
+        for (Class<?> type : new Class<?>[]{Course.class, Course.CourseStatus.class, CourseStats.class,
+                BackfillProgress.class}) {
+            hints.reflection().registerType(type,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_DECLARED_METHODS,
+                    MemberCategory.DECLARED_FIELDS);
+        }
+
+        // InstrumentedDataSource hands out JDK proxies around pooled connections and their statements.
+        for (Class<?> type : new Class<?>[]{Connection.class, Statement.class, PreparedStatement.class,
+                CallableStatement.class}) {
+            hints.proxies().registerJdkProxy(type);
+        }
+
+        hints.resources()
+                .registerPattern("db/migration/*.sql")
+                .registerPattern("db/migration/*.sql.conf")
+                .registerPattern("db/dev_migration/*.sql");
+    }
+}
@@ -0,0 +1,69 @@
+package com.jbs.rocklms.config;
+
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.core.type.MethodMetadata;
+
+import java.util.List;
+
+/**
+ * Startup tuning for the {@code prod} profile: beans that are not needed to serve the course API
+ * (API docs, Swagger UI) are created on first use instead of during context refresh.
+ */
+@Configuration
+@Profile("prod")
+public class StartupConfig {
+
+    @Bean
+    public static BeanFactoryPostProcessor lazyNonCriticalBeans() {
+        return new LazyPackagesPostProcessor();
+    }
+
+    static class LazyPackagesPostProcessor implements BeanFactoryPostProcessor, EnvironmentAware {
+
+        private List<String> lazyPackages = List.of();
+
+        @Override
+        public void setEnvironment(Environment environment) {
+            lazyPackages = Binder.get(environment)
+                    .bind("rocklms.startup.lazy-packages", String[].class)
+                    .map(List::of)
+                    .orElse(List.of());
+        }
+
+        @Override
+        public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+            for (String name : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(name);
+                if (definition.getRole() == BeanDefinition.ROLE_APPLICATION && isInLazyPackage(definition)) {
+                    definition.setLazyInit(true);
+                }
+            }
+        }
+
+        private boolean isInLazyPackage(BeanDefinition definition) {
+            String className = definition.getBeanClassName();
+            if (className == null && definition instanceof AnnotatedBeanDefinition annotated) {
+                MethodMetadata factoryMethod = annotated.getFactoryMethodMetadata();
+                className = factoryMethod != null ? factoryMethod.getDeclaringClassName() : null;
+            }
+            if (className == null) {
+                return false;
+            }
+            for (String lazyPackage : lazyPackages) {
+                if (className.startsWith(lazyPackage + ".")) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
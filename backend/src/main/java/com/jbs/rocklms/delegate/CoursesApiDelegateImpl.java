@@ -1,101 +1,432 @@
 package com.jbs.rocklms.delegate;
 
 import com.jbs.rocklms.api.CoursesApiDelegate;
+import com.jbs.rocklms.cache.CourseCatalog;
+import com.jbs.rocklms.cache.CourseCatalogSnapshot;
+import com.jbs.rocklms.cache.CourseIdFilter;
+import com.jbs.rocklms.cache.CourseListCache;
+import com.jbs.rocklms.cache.SerializedCourseList;
 import com.jbs.rocklms.entity.Course;
+import com.jbs.rocklms.idempotency.IdempotencyStore;
+import com.jbs.rocklms.jfr.CourseApiEvent;
+import com.jbs.rocklms.jfr.CourseEvent;
+import com.jbs.rocklms.mapper.CourseJsonWriter;
 import com.jbs.rocklms.mapper.CourseMapper;
+import com.jbs.rocklms.model.CourseBatchGetRequest;
+import com.jbs.rocklms.model.CourseBatchGetResponse;
 import com.jbs.rocklms.model.CourseCreateRequest;
 import com.jbs.rocklms.model.CourseDto;
 import com.jbs.rocklms.model.CourseUpdateRequest;
+import com.jbs.rocklms.model.PopularCourseDto;
+import com.jbs.rocklms.model.SimilarCourseDto;
+import com.jbs.rocklms.repository.CourseFilter;
 import com.jbs.rocklms.service.CourseService;
+import com.jbs.rocklms.similar.MinHashIndex;
+import com.jbs.rocklms.similar.SimilarCourses;
+import com.jbs.rocklms.stats.CourseViewCounter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 @Component
 public class CoursesApiDelegateImpl implements CoursesApiDelegate {
     
+    // Rows read per transaction when a list is streamed from the database; the driver fetch size.
+    private static final int STREAM_PAGE_SIZE = 500;
+    
     private final CourseService courseService;
     private final CourseMapper courseMapper;
+    private final CourseJsonWriter courseJsonWriter;
+    private final CourseListCache courseListCache;
+    private final CourseIdFilter courseIdFilter;
+    private final CourseCatalog courseCatalog;
+    private final CourseViewCounter courseViewCounter;
+    private final SimilarCourses similarCourses;
+    private final IdempotencyStore idempotencyStore;
+    private final NativeWebRequest request;
     
     @Autowired
-    public CoursesApiDelegateImpl(CourseService courseService, CourseMapper courseMapper) {
+    public CoursesApiDelegateImpl(CourseService courseService, CourseMapper courseMapper,
+                                  CourseJsonWriter courseJsonWriter, CourseListCache courseListCache,
+                                  CourseIdFilter courseIdFilter, CourseCatalog courseCatalog,
+                                  CourseViewCounter courseViewCounter, SimilarCourses similarCourses,
+                                  IdempotencyStore idempotencyStore, NativeWebRequest request) {
         this.courseService = courseService;
         this.courseMapper = courseMapper;
+        this.courseJsonWriter = courseJsonWriter;
+        this.courseListCache = courseListCache;
+        this.courseIdFilter = courseIdFilter;
+        this.courseCatalog = courseCatalog;
+        this.courseViewCounter = courseViewCounter;
+        this.similarCourses = similarCourses;
+        this.idempotencyStore = idempotencyStore;
+        this.request = request;
+    }
+    
+    @Override
+    public Optional<NativeWebRequest> getRequest() {
+        return Optional.ofNullable(request);
     }
     
     @Override
-    public ResponseEntity<List<CourseDto>> findAllCourses(String status) {
+    public ResponseEntity<List<CourseDto>> findAllCourses(String status, Integer minDuration, Integer maxDuration,
+                                                          OffsetDateTime publishedAfter, OffsetDateTime publishedBefore,
+                                                          String titlePrefix, String sort) {
         Course.CourseStatus courseStatus = courseMapper.toEntityStatus(status);
-        List<Course> courses = courseService.getAllCourses(courseStatus);
-        List<CourseDto> courseDtos = courses.stream()
-                .map(courseMapper::toDto)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(courseDtos);
+        CourseEvent event = CourseApiEvent.start("findAllCourses").status(courseStatus);
+        // Committed on every way out, like the operations wrapped in recorded(...), which cannot
+        // count the rows of a body written straight to the response.
+        int rows = 0;
+        try {
+            CourseFilter filter = new CourseFilter(courseStatus, minDuration, maxDuration,
+                    courseMapper.toEntityTimestamp(publishedAfter), courseMapper.toEntityTimestamp(publishedBefore),
+                    titlePrefix);
+            if (filter.hasCriteriaBeyondStatus() || sort != null) {
+                Sort order;
+                try {
+                    order = courseMapper.toSort(sort);
+                } catch (IllegalArgumentException e) {
+                    return ResponseEntity.badRequest().build();
+                }
+                List<CourseDto> courses = courseService.findCourses(filter, order).stream()
+                        .map(courseMapper::toDto)
+                        .toList();
+                rows = courses.size();
+                return ResponseEntity.ok(courses);
+            }
+            // Pre-serialized bytes first, then the in-memory snapshot, then the database.
+            SerializedCourseList cached = courseListCache.get(courseStatus);
+            CourseCatalogSnapshot snapshot = cached == null ? courseCatalog.current() : null;
+            if (cached != null) {
+                rows = writeSerialized(cached);
+            } else if (snapshot != null) {
+                rows = writeSnapshot(snapshot, courseStatus);
+            } else {
+                rows = writeStreamed(courseStatus);
+            }
+            // The body is already written; a null entity tells Spring MVC the request is handled.
+            return null;
+        } finally {
+            event.rows(rows).commit();
+        }
     }
     
     @Override
-    public ResponseEntity<CourseDto> createCourse(CourseCreateRequest request) {
-        Course course = courseService.createCourse(
-                request.getTitle(),
-                request.getDescription(),
-                request.getDuration()
-        );
-        return ResponseEntity.status(HttpStatus.CREATED).body(courseMapper.toDto(course));
+    public ResponseEntity<CourseDto> createCourse(CourseCreateRequest request, String idempotencyKey) {
+        return recorded(CourseApiEvent.start("createCourse"),
+                () -> idempotencyStore.execute("createCourse", idempotencyKey, request, () -> {
+            Course course = courseService.createCourse(
+                    request.getTitle(),
+                    request.getDescription(),
+                    request.getDuration()
+            );
+            return ResponseEntity.status(HttpStatus.CREATED).body(courseMapper.toDto(course));
+        }));
     }
     
     @Override
     public ResponseEntity<CourseDto> findCourseById(Integer id) {
-        return courseService.getCourseById(id.longValue())
-                .map(course -> ResponseEntity.ok(courseMapper.toDto(course)))
-                .orElse(ResponseEntity.notFound().build());
+        return recorded(CourseApiEvent.start("findCourseById").courseId(id), () -> {
+            if (!courseIdFilter.mightExist(id)) {
+                return ResponseEntity.notFound().build();
+            }
+            Optional<Course> course = courseService.getCourseById(id.longValue());
+            if (course.isEmpty()) {
+                courseIdFilter.reportMissing(id);
+                return ResponseEntity.notFound().build();
+            }
+            courseViewCounter.recordView(id);
+            return ResponseEntity.ok(courseMapper.toDto(course.get()));
+        });
+    }
+    
+    @Override
+    public ResponseEntity<List<PopularCourseDto>> findPopularCourses(Integer limit) {
+        return recorded(CourseApiEvent.start("findPopularCourses"), () -> {
+            List<PopularCourseDto> courses = courseViewCounter.getMostViewed(limit).stream()
+                    .map(courseMapper::toDto)
+                    .toList();
+            return ResponseEntity.ok(courses);
+        });
+    }
+    
+    @Override
+    public ResponseEntity<List<SimilarCourseDto>> findSimilarCourses(Integer id, Integer limit) {
+        return recorded(CourseApiEvent.start("findSimilarCourses").courseId(id), () -> {
+            if (!courseIdFilter.mightExist(id)) {
+                return ResponseEntity.notFound().build();
+            }
+            Optional<List<MinHashIndex.Match>> indexed = similarCourses.findSimilar(id, limit);
+            List<MinHashIndex.Match> matches;
+            if (indexed.isPresent()) {
+                matches = indexed.get();
+            } else {
+                // Not indexed yet: created a moment ago, or missing.
+                Optional<Course> course = courseService.getCourseById(id.longValue());
+                if (course.isEmpty()) {
+                    courseIdFilter.reportMissing(id);
+                    return ResponseEntity.notFound().build();
+                }
+                matches = similarCourses.findSimilar(course.get(), limit);
+            }
+        
+            List<Long> ids = matches.stream().map(MinHashIndex.Match::courseId).toList();
+            Map<Long, Course> found = new HashMap<>();
+            for (Course course : courseService.getCoursesByIds(ids)) {
+                found.put(course.getId(), course);
+            }
+            // Courses deleted since the index last saw them are left out.
+            List<SimilarCourseDto> courses = new ArrayList<>(matches.size());
+            for (MinHashIndex.Match match : matches) {
+                Course course = found.get(match.courseId());
+                if (course != null) {
+                    courses.add(courseMapper.toDto(course, match.similarity()));
+                }
+            }
+            return ResponseEntity.ok(courses);
+        });
+    }
+    
+    @Override
+    public ResponseEntity<CourseBatchGetResponse> batchGetCourses(CourseBatchGetRequest request) {
+        return recorded(CourseApiEvent.start("batchGetCourses"), () -> {
+            // Duplicates are answered once, at the position of their first occurrence.
+            Set<Integer> ids = new LinkedHashSet<>(request.getIds());
+            if (ids.contains(null)) {
+                return ResponseEntity.badRequest().build();
+            }
+            List<Long> candidates = new ArrayList<>(ids.size());
+            for (Integer id : ids) {
+                if (courseIdFilter.mightExist(id)) {
+                    candidates.add(id.longValue());
+                }
+            }
+        
+            Map<Long, Course> found = new HashMap<>();
+            for (Course course : courseService.getCoursesByIds(candidates)) {
+                found.put(course.getId(), course);
+            }
+        
+            CourseBatchGetResponse response = new CourseBatchGetResponse();
+            for (Integer id : ids) {
+                Course course = found.get(id.longValue());
+                if (course != null) {
+                    response.addCoursesItem(courseMapper.toDto(course));
+                } else {
+                    response.addMissingIdsItem(id);
+                }
+            }
+            for (Long id : candidates) {
+                if (!found.containsKey(id)) {
+                    courseIdFilter.reportMissing(id);
+                }
+            }
+            return ResponseEntity.ok(response);
+        });
     }
     
     @Override
     public ResponseEntity<CourseDto> updateCourse(Integer id, CourseUpdateRequest request) {
-        try {
-            Course course = courseService.updateCourse(
-                    id.longValue(),
-                    request.getTitle(),
-                    request.getDescription(),
-                    request.getDuration()
-            );
-            return ResponseEntity.ok(courseMapper.toDto(course));
-        } catch (IllegalStateException e) {
-            return ResponseEntity.badRequest().build();
-        } catch (RuntimeException e) {
-            return ResponseEntity.notFound().build();
-        }
+        return recorded(CourseApiEvent.start("updateCourse").courseId(id), () -> {
+            if (!courseIdFilter.mightExist(id)) {
+                return ResponseEntity.notFound().build();
+            }
+            try {
+                Course course = courseService.updateCourse(
+                        id.longValue(),
+                        request.getTitle(),
+                        request.getDescription(),
+                        request.getDuration()
+                );
+                return ResponseEntity.ok(courseMapper.toDto(course));
+            } catch (IllegalStateException e) {
+                return ResponseEntity.badRequest().build();
+            } catch (RuntimeException e) {
+                return ResponseEntity.notFound().build();
+            }
+        });
     }
     
     @Override
     public ResponseEntity<Void> removeCourse(Integer id) {
-        courseService.deleteCourse(id.longValue());
-        return ResponseEntity.noContent().build();
+        return recorded(CourseApiEvent.start("removeCourse").courseId(id), () -> {
+            if (courseIdFilter.mightExist(id)) {
+                courseService.deleteCourse(id.longValue());
+            }
+            return ResponseEntity.noContent().build();
+        });
+    }
+    
+    @Override
+    public ResponseEntity<CourseDto> publishCourse(Integer id, String idempotencyKey) {
+        return recorded(CourseApiEvent.start("publishCourse").courseId(id),
+                () -> idempotencyStore.execute("publishCourse", idempotencyKey, id, () -> {
+            if (!courseIdFilter.mightExist(id)) {
+                return ResponseEntity.notFound().build();
+            }
+            try {
+                Course course = courseService.publishCourse(id.longValue());
+                return ResponseEntity.ok(courseMapper.toDto(course));
+            } catch (IllegalStateException e) {
+                return ResponseEntity.badRequest().build();
+            } catch (RuntimeException e) {
+                return ResponseEntity.notFound().build();
+            }
+        }));
     }
     
     @Override
-    public ResponseEntity<CourseDto> publishCourse(Integer id) {
+    public ResponseEntity<CourseDto> archiveCourse(Integer id, String idempotencyKey) {
+        return recorded(CourseApiEvent.start("archiveCourse").courseId(id),
+                () -> idempotencyStore.execute("archiveCourse", idempotencyKey, id, () -> {
+            if (!courseIdFilter.mightExist(id)) {
+                return ResponseEntity.notFound().build();
+            }
+            try {
+                Course course = courseService.archiveCourse(id.longValue());
+                return ResponseEntity.ok(courseMapper.toDto(course));
+            } catch (RuntimeException e) {
+                return ResponseEntity.notFound().build();
+            }
+        }));
+    }
+    
+    private int writeStreamed(Course.CourseStatus status) {
+        HttpServletResponse response = request.getNativeResponse(HttpServletResponse.class);
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        // Each page is read in its own transaction and buffered before it goes to the client, so a
+        // slow reader holds one page of bytes rather than a pooled connection.
+        ByteArrayOutputStream page = new ByteArrayOutputStream(64 * 1024);
         try {
-            Course course = courseService.publishCourse(id.longValue());
-            return ResponseEntity.ok(courseMapper.toDto(course));
-        } catch (IllegalStateException e) {
-            return ResponseEntity.badRequest().build();
-        } catch (RuntimeException e) {
-            return ResponseEntity.notFound().build();
+            OutputStream body = response.getOutputStream();
+            CourseJsonWriter.ListWriter courses = courseJsonWriter.open(page);
+            long[] lastId = {0};
+            int read;
+            do {
+                read = courseService.streamCourses(status, lastId[0], STREAM_PAGE_SIZE, row -> {
+                    lastId[0] = row.getLong(1);
+                    courses.write(row);
+                });
+                courses.flush();
+                page.writeTo(body);
+                page.reset();
+            } while (read == STREAM_PAGE_SIZE);
+            courses.close();
+            page.writeTo(body);
+            return courses.count();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
     }
     
-    @Override
-    public ResponseEntity<CourseDto> archiveCourse(Integer id) {
+    private int writeSnapshot(CourseCatalogSnapshot snapshot, Course.CourseStatus status) {
+        HttpServletResponse response = request.getNativeResponse(HttpServletResponse.class);
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        try (CourseJsonWriter.ListWriter courses = courseJsonWriter.open(response.getOutputStream())) {
+            snapshot.write(courses, status);
+            return courses.count();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private int writeSerialized(SerializedCourseList body) {
+        HttpServletRequest servletRequest = request.getNativeRequest(HttpServletRequest.class);
+        HttpServletResponse response = request.getNativeResponse(HttpServletResponse.class);
+        boolean gzip = acceptsGzip(servletRequest.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        byte[] bytes = gzip ? body.gzip() : body.json();
+        
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentLength(bytes.length);
+        try {
+            response.getOutputStream().write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return body.count();
+    }
+    
+    // Whether the Accept-Encoding header allows gzip: listed with a non-zero q-value, or not listed
+    // and covered by a non-zero "*". Unparsable q-values count as 0, so the plain body is sent.
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        double gzipQuality = -1;
+        double anyQuality = -1;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            double quality = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (name.equalsIgnoreCase("gzip") || name.equalsIgnoreCase("x-gzip")) {
+                gzipQuality = Math.max(gzipQuality, quality);
+            } else if (name.equals("*")) {
+                anyQuality = Math.max(anyQuality, quality);
+            }
+        }
+        return (gzipQuality >= 0 ? gzipQuality : anyQuality) > 0;
+    }
+
+    // Commits the event with the number of courses in the response, also when the operation throws.
+    private static <T> ResponseEntity<T> recorded(CourseEvent event, Supplier<ResponseEntity<T>> operation) {
+        ResponseEntity<T> response = null;
         try {
-            Course course = courseService.archiveCourse(id.longValue());
-            return ResponseEntity.ok(courseMapper.toDto(course));
-        } catch (RuntimeException e) {
-            return ResponseEntity.notFound().build();
+            response = operation.get();
+            return response;
+        } finally {
+            event.rows(response == null ? 0 : rowsOf(response.getBody())).commit();
+        }
+    }
+    
+    private static int rowsOf(Object body) {
+        if (body == null) {
+            return 0;
+        }
+        if (body instanceof Collection<?> courses) {
+            return courses.size();
+        }
+        if (body instanceof CourseBatchGetResponse batch) {
+            return batch.getCourses() == null ? 0 : batch.getCourses().size();
         }
+        return 1;
     }
 }
@@ -0,0 +1,41 @@
+package com.jbs.rocklms.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "backfill_progress")
+public class BackfillProgress {
+    
+    @Id
+    @Column(length = 100)
+    private String name;
+    
+    @Column(nullable = false)
+    private long lastKey;
+    
+    @Column(nullable = false)
+    private long rowsUpdated;
+    
+    private LocalDateTime completedAt;
+    
+    public BackfillProgress() {}
+    
+    public BackfillProgress(String name) {
+        this.name = name;
+    }
+    
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    
+    public long getLastKey() { return lastKey; }
+    public void setLastKey(long lastKey) { this.lastKey = lastKey; }
+    
+    public long getRowsUpdated() { return rowsUpdated; }
+    public void setRowsUpdated(long rowsUpdated) { this.rowsUpdated = rowsUpdated; }
+    
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+    
+    public boolean isCompleted() { return completedAt != null; }
+}
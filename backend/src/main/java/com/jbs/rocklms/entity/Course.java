@@ -27,6 +27,8 @@ public class Course {
     
     private LocalDateTime publishedAt;
     
+    private LocalDateTime updatedAt;
+    
     public enum CourseStatus {
         DRAFT, PUBLISHED, ARCHIVED
     }
@@ -56,4 +58,13 @@ public class Course {
     
     public LocalDateTime getPublishedAt() { return publishedAt; }
     public void setPublishedAt(LocalDateTime publishedAt) { this.publishedAt = publishedAt; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updatedAt = LocalDateTime.now();
+    }
 }
@@ -0,0 +1,27 @@
+package com.jbs.rocklms.entity;
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = "course_stats")
+public class CourseStats {
+    
+    @Id
+    private Long courseId;
+    
+    @Column(nullable = false)
+    private long viewCount;
+    
+    public CourseStats() {}
+    
+    public CourseStats(Long courseId, long viewCount) {
+        this.courseId = courseId;
+        this.viewCount = viewCount;
+    }
+    
+    public Long getCourseId() { return courseId; }
+    public void setCourseId(Long courseId) { this.courseId = courseId; }
+    
+    public long getViewCount() { return viewCount; }
+    public void setViewCount(long viewCount) { this.viewCount = viewCount; }
+}
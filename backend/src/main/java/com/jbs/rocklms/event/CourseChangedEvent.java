@@ -0,0 +1,12 @@
+package com.jbs.rocklms.event;
+
+/**
+ * Published by {@link com.jbs.rocklms.service.CourseService} after every course mutation.
+ * Listeners that maintain derived read models should react after the transaction commits.
+ */
+public record CourseChangedEvent(Long courseId, Change change) {
+
+    public enum Change {
+        CREATED, UPDATED, DELETED
+    }
+}
@@ -0,0 +1,179 @@
+package com.jbs.rocklms.idempotency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the responses of write operations by {@code Idempotency-Key}, so retried requests are
+ * answered without running the operation again.
+ * <p>
+ * The first request with a key runs the operation; a duplicate that arrives meanwhile waits for it,
+ * up to {@code rocklms.idempotency.wait-timeout}, and then gets the same response marked with
+ * {@value #REPLAYED_HEADER}. Only returned responses are stored: when the operation throws, the key
+ * is released and the next request with it runs again. A key reused for a different request is
+ * answered with {@code 422 Unprocessable Entity}.
+ * <p>
+ * Keys expire after {@code rocklms.idempotency.ttl}, and beyond {@code rocklms.idempotency.max-entries}
+ * the oldest are dropped first. The store is local to this node.
+ */
+@Component
+public class IdempotencyStore {
+
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private record Key(String operation, String idempotencyKey) {
+    }
+
+    private static final class Entry {
+
+        final Key key;
+        final Object fingerprint;
+        final long createdNanos;
+        final CompletableFuture<ResponseEntity<?>> response = new CompletableFuture<>();
+
+        Entry(Key key, Object fingerprint, long createdNanos) {
+            this.key = key;
+            this.fingerprint = fingerprint;
+            this.createdNanos = createdNanos;
+        }
+    }
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final long waitTimeoutNanos;
+
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    // Creation order, for expiry and eviction; may still hold entries already removed from the map.
+    private final ConcurrentLinkedQueue<Entry> creationOrder = new ConcurrentLinkedQueue<>();
+
+    private final Map<String, Counter> outcomes = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public IdempotencyStore(MeterRegistry meterRegistry,
+                            @Value("${rocklms.idempotency.enabled:true}") boolean enabled,
+                            @Value("${rocklms.idempotency.max-entries:50000}") int maxEntries,
+                            @Value("${rocklms.idempotency.ttl:PT10M}") Duration ttl,
+                            @Value("${rocklms.idempotency.wait-timeout:PT10S}") Duration waitTimeout) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.waitTimeoutNanos = waitTimeout.toNanos();
+        Gauge.builder("rocklms.idempotency.entries", entries, Map::size)
+                .description("Idempotency keys currently remembered")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs the action once per operation and idempotency key and returns its response, or the stored
+     * response of an earlier run. Without a key the action simply runs.
+     *
+     * @param fingerprint identifies the request the key was first used for, such as its body or path id
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ResponseEntity<T> execute(String operation, String idempotencyKey, Object fingerprint,
+                                         Supplier<ResponseEntity<T>> action) {
+        if (!enabled || idempotencyKey == null) {
+            return action.get();
+        }
+        Key key = new Key(operation, idempotencyKey);
+        while (true) {
+            long now = System.nanoTime();
+            Entry mine = new Entry(key, fingerprint, now);
+            Entry existing = entries.putIfAbsent(key, mine);
+            if (existing == null) {
+                creationOrder.add(mine);
+                evictOverflow();
+                return run(mine, action);
+            }
+            if (now - existing.createdNanos > ttlNanos) {
+                entries.remove(key, existing);
+                continue;
+            }
+            if (!Objects.equals(existing.fingerprint, fingerprint)) {
+                count("mismatch");
+                return ResponseEntity.unprocessableEntity().build();
+            }
+            try {
+                ResponseEntity<?> stored = existing.response.get(waitTimeoutNanos, TimeUnit.NANOSECONDS);
+                count("replayed");
+                return (ResponseEntity<T>) ResponseEntity.status(stored.getStatusCode())
+                        .headers(stored.getHeaders())
+                        .header(REPLAYED_HEADER, "true")
+                        .body(stored.getBody());
+            } catch (ExecutionException e) {
+                // The first run failed and released the key; try to run it ourselves.
+            } catch (TimeoutException e) {
+                count("in_progress");
+                return ResponseEntity.status(HttpStatus.CONFLICT).build();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                count("in_progress");
+                return ResponseEntity.status(HttpStatus.CONFLICT).build();
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${rocklms.idempotency.purge-interval:PT1M}")
+    public void purgeExpired() {
+        long now = System.nanoTime();
+        Entry oldest;
+        while ((oldest = creationOrder.peek()) != null && now - oldest.createdNanos > ttlNanos) {
+            if (creationOrder.remove(oldest)) {
+                entries.remove(oldest.key, oldest);
+            }
+        }
+    }
+
+    private <T> ResponseEntity<T> run(Entry entry, Supplier<ResponseEntity<T>> action) {
+        ResponseEntity<T> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException | Error e) {
+            entries.remove(entry.key, entry);
+            entry.response.completeExceptionally(e);
+            throw e;
+        }
+        entry.response.complete(response);
+        count("executed");
+        return response;
+    }
+
+    private void evictOverflow() {
+        while (entries.size() > maxEntries) {
+            Entry oldest = creationOrder.poll();
+            if (oldest == null) {
+                return;
+            }
+            entries.remove(oldest.key, oldest);
+        }
+    }
+
+    private void count(String outcome) {
+        outcomes.computeIfAbsent(outcome, tag -> Counter.builder("rocklms.idempotency.requests")
+                        .description("Requests carrying an Idempotency-Key, by outcome")
+                        .tag("outcome", tag)
+                        .register(meterRegistry))
+                .increment();
+    }
+}
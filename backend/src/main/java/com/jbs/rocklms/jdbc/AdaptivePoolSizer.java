@@ -0,0 +1,113 @@
+package com.jbs.rocklms.jdbc;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Resizes the Hikari pool between configured bounds from what {@link InstrumentedDataSource} measured
+ * over the last interval.
+ * <p>
+ * Threads waiting for connections while the database answers as fast as usual means the pool is
+ * too small, so it grows. Connections being held much longer than the best recent interval means
+ * the database itself is slowing down; more connections would only add to its load, so the pool
+ * shrinks instead. A pool that is mostly idle also shrinks, one connection at a time.
+ * Connection hold time is the latency signal: it covers every statement run on the connection.
+ */
+@Component
+@ConditionalOnProperty(name = "rocklms.db.pool.adaptive.enabled", havingValue = "true")
+public class AdaptivePoolSizer {
+
+    private static final Logger log = LoggerFactory.getLogger(AdaptivePoolSizer.class);
+
+    private final InstrumentedDataSource dataSource;
+    private final HikariConfigMXBean pool;
+    private final int minSize;
+    private final int maxSize;
+    private final int growStep;
+    private final double waitThresholdMillis;
+    private final double latencyTolerance;
+
+    private double baselineHoldMillis;
+
+    @Autowired
+    public AdaptivePoolSizer(DataSource dataSource,
+                             @Value("${rocklms.db.pool.adaptive.min-size:5}") int minSize,
+                             @Value("${rocklms.db.pool.adaptive.max-size:40}") int maxSize,
+                             @Value("${rocklms.db.pool.adaptive.grow-step:2}") int growStep,
+                             @Value("${rocklms.db.pool.adaptive.wait-threshold:PT0.002S}") Duration waitThreshold,
+                             @Value("${rocklms.db.pool.adaptive.latency-tolerance:1.5}") double latencyTolerance)
+            throws SQLException {
+        this(dataSource.unwrap(InstrumentedDataSource.class),
+                dataSource.unwrap(HikariDataSource.class).getHikariConfigMXBean(),
+                minSize, maxSize, growStep, waitThreshold.toNanos() / 1e6, latencyTolerance);
+    }
+
+    AdaptivePoolSizer(InstrumentedDataSource dataSource, HikariConfigMXBean pool, int minSize, int maxSize,
+                      int growStep, double waitThresholdMillis, double latencyTolerance) {
+        if (minSize < 1 || maxSize < minSize) {
+            throw new IllegalArgumentException("Pool bounds must satisfy 1 <= min-size <= max-size");
+        }
+        this.dataSource = dataSource;
+        this.pool = pool;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.growStep = growStep;
+        this.waitThresholdMillis = waitThresholdMillis;
+        this.latencyTolerance = latencyTolerance;
+    }
+
+    @Scheduled(fixedDelayString = "${rocklms.db.pool.adaptive.interval:PT30S}")
+    public void adjust() {
+        InstrumentedDataSource.Window window = dataSource.takeWindow();
+        int current = pool.getMaximumPoolSize();
+        int next = nextSize(current, window);
+        if (next != current) {
+            log.info("Resizing connection pool from {} to {} (wait {} ms, hold {} ms, baseline {} ms, peak in use {})",
+                    current, next, String.format("%.2f", window.meanAcquireMillis()),
+                    String.format("%.2f", window.meanHoldMillis()), String.format("%.2f", baselineHoldMillis),
+                    window.peakInUse());
+            if (next > current) {
+                pool.setMaximumPoolSize(next);
+            } else {
+                pool.setMinimumIdle(Math.min(pool.getMinimumIdle(), next));
+                pool.setMaximumPoolSize(next);
+            }
+        }
+    }
+
+    int nextSize(int current, InstrumentedDataSource.Window window) {
+        if (window.acquisitions() == 0) {
+            return clamp(current);
+        }
+        double hold = window.meanHoldMillis();
+        // The best recent hold time, allowed to drift up slowly so a permanently slower database
+        // eventually becomes the new normal.
+        baselineHoldMillis = baselineHoldMillis == 0 ? hold : Math.min(hold, baselineHoldMillis * 1.01);
+
+        if (hold > baselineHoldMillis * latencyTolerance) {
+            return clamp(current - 1);
+        }
+        if (window.meanAcquireMillis() > waitThresholdMillis) {
+            return clamp(current + growStep);
+        }
+        if (window.peakInUse() * 2 < current) {
+            return clamp(current - 1);
+        }
+        return clamp(current);
+    }
+
+    private int clamp(int size) {
+        return Math.max(minSize, Math.min(maxSize, size));
+    }
+}
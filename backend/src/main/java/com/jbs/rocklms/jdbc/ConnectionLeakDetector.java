@@ -0,0 +1,52 @@
+package com.jbs.rocklms.jdbc;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reports connections held past the leak threshold, once per connection, with the service method that
+ * borrowed them. Unlike Hikari's own leak detection this is tagged by caller, so the counter shows
+ * which operation leaks without reading stack traces.
+ */
+@Component
+public class ConnectionLeakDetector {
+
+    private static final Logger log = LoggerFactory.getLogger(ConnectionLeakDetector.class);
+
+    private final InstrumentedDataSource dataSource;
+    private final MeterRegistry meterRegistry;
+    private final long thresholdNanos;
+
+    @Autowired
+    public ConnectionLeakDetector(DataSource dataSource, MeterRegistry meterRegistry,
+                                  @Value("${rocklms.db.leak-detection.threshold:PT30S}") Duration threshold)
+            throws SQLException {
+        this.dataSource = dataSource.unwrap(InstrumentedDataSource.class);
+        this.meterRegistry = meterRegistry;
+        this.thresholdNanos = threshold.toNanos();
+    }
+
+    @Scheduled(fixedDelayString = "${rocklms.db.leak-detection.interval:PT10S}")
+    public void detectLeaks() {
+        for (InstrumentedDataSource.Lease lease : dataSource.newLeaks(thresholdNanos)) {
+            log.warn("Connection borrowed by {} has been held for {} ms", lease.caller(),
+                    TimeUnit.NANOSECONDS.toMillis(lease.heldNanos(System.nanoTime())));
+            Counter.builder("rocklms.db.connection.leaks")
+                    .description("Connections held longer than the leak detection threshold")
+                    .tag("caller", lease.caller())
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+}
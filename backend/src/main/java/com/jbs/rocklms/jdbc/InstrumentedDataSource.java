@@ -0,0 +1,242 @@
+package com.jbs.rocklms.jdbc;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Wraps the pooled {@link DataSource} to attribute connection use to the service method that asked
+ * for it.
+ * <p>
+ * Every borrowed connection is tagged with the first {@code com.jbs.rocklms.service} method on the
+ * calling thread's stack ({@code other} for Flyway, health checks and the like). Time spent waiting
+ * for the pool and time the connection is held are recorded per caller, and open leases are kept
+ * so that {@link ConnectionLeakDetector} can report connections held for too long.
+ */
+public class InstrumentedDataSource extends DelegatingDataSource {
+
+    static final String OTHER_CALLER = "other";
+
+    private static final String SERVICE_PACKAGE = "com.jbs.rocklms.service.";
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    /** A borrowed connection that has not been closed yet. */
+    public static final class Lease {
+
+        private final String caller;
+        private final long acquiredNanos;
+        private volatile boolean reported;
+
+        private Lease(String caller, long acquiredNanos) {
+            this.caller = caller;
+            this.acquiredNanos = acquiredNanos;
+        }
+
+        public String caller() {
+            return caller;
+        }
+
+        public long heldNanos(long nowNanos) {
+            return nowNanos - acquiredNanos;
+        }
+    }
+
+    /** Connection use since the previous {@link #takeWindow()}. */
+    public record Window(long acquisitions, double meanAcquireMillis, double meanHoldMillis, int peakInUse) {
+    }
+
+    private final MeterRegistry meterRegistry;
+    private volatile StatementObserver statementObserver;
+    private final Map<String, Timer> acquireTimers = new ConcurrentHashMap<>();
+    private final Map<String, Timer> usageTimers = new ConcurrentHashMap<>();
+    private final Set<Lease> openLeases = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger inUse = new AtomicInteger();
+    private final AtomicInteger peakInUse = new AtomicInteger();
+    private final LongAdder windowAcquisitions = new LongAdder();
+    private final LongAdder windowAcquireNanos = new LongAdder();
+    private final LongAdder windowReleases = new LongAdder();
+    private final LongAdder windowHoldNanos = new LongAdder();
+
+    public InstrumentedDataSource(DataSource targetDataSource, MeterRegistry meterRegistry) {
+        super(targetDataSource);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        return lease(obtainTargetDataSource().getConnection(), start);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        long start = System.nanoTime();
+        return lease(obtainTargetDataSource().getConnection(username, password), start);
+    }
+
+    /**
+     * Wraps statements created from now on so that the observer sees every execution. Without an
+     * observer statements are passed through untouched.
+     */
+    public void setStatementObserver(StatementObserver statementObserver) {
+        this.statementObserver = statementObserver;
+    }
+
+    /**
+     * Returns the leases that have been open for longer than the threshold and were not returned by
+     * an earlier call.
+     */
+    public List<Lease> newLeaks(long thresholdNanos) {
+        long now = System.nanoTime();
+        List<Lease> leaks = new ArrayList<>();
+        for (Lease lease : openLeases) {
+            if (!lease.reported && lease.heldNanos(now) > thresholdNanos) {
+                lease.reported = true;
+                leaks.add(lease);
+            }
+        }
+        return leaks;
+    }
+
+    public synchronized Window takeWindow() {
+        long acquisitions = windowAcquisitions.sumThenReset();
+        long acquireNanos = windowAcquireNanos.sumThenReset();
+        long releases = windowReleases.sumThenReset();
+        long holdNanos = windowHoldNanos.sumThenReset();
+        int peak = peakInUse.getAndSet(inUse.get());
+        return new Window(acquisitions,
+                acquisitions == 0 ? 0 : acquireNanos / 1e6 / acquisitions,
+                releases == 0 ? 0 : holdNanos / 1e6 / releases,
+                peak);
+    }
+
+    private Connection lease(Connection connection, long start) {
+        long acquired = System.nanoTime();
+        String caller = currentCaller();
+        acquireTimers.computeIfAbsent(caller, tag ->
+                        timer("rocklms.db.connection.acquire", "Time spent waiting for a pooled connection", tag))
+                .record(acquired - start, TimeUnit.NANOSECONDS);
+        windowAcquisitions.increment();
+        windowAcquireNanos.add(acquired - start);
+        peakInUse.accumulateAndGet(inUse.incrementAndGet(), Math::max);
+
+        Lease lease = new Lease(caller, acquired);
+        openLeases.add(lease);
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new LeaseHandler(connection, lease));
+    }
+
+    private void release(Lease lease) {
+        if (!openLeases.remove(lease)) {
+            return;
+        }
+        long held = System.nanoTime() - lease.acquiredNanos;
+        inUse.decrementAndGet();
+        windowReleases.increment();
+        windowHoldNanos.add(held);
+        usageTimers.computeIfAbsent(lease.caller, tag ->
+                        timer("rocklms.db.connection.usage", "Time a pooled connection was held before being returned", tag))
+                .record(held, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer timer(String name, String description, String caller) {
+        return Timer.builder(name)
+                .description(description)
+                .tag("caller", caller)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    static String currentCaller() {
+        return STACK_WALKER.walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(SERVICE_PACKAGE))
+                .findFirst()
+                .map(frame -> simpleName(frame.getClassName()) + "." + frame.getMethodName())
+                .orElse(OTHER_CALLER));
+    }
+
+    // Also strips the suffix of Spring's CGLIB proxies, which are what the transaction starts from.
+    private static String simpleName(String className) {
+        String name = className.substring(SERVICE_PACKAGE.length());
+        int proxySuffix = name.indexOf("$$");
+        return proxySuffix < 0 ? name : name.substring(0, proxySuffix);
+    }
+
+    private final class LeaseHandler implements InvocationHandler {
+
+        private final Connection target;
+        private final Lease lease;
+
+        private LeaseHandler(Connection target, Lease lease) {
+            this.target = target;
+            this.lease = lease;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "unwrap":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                    break;
+                case "isWrapperFor":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return true;
+                    }
+                    break;
+                case "close":
+                    release(lease);
+                    break;
+                default:
+                    break;
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+            StatementObserver observer = statementObserver;
+            if (observer != null && result instanceof Statement statement) {
+                return observe(statement, (Connection) proxy, method, args, observer);
+            }
+            return result;
+        }
+
+        private Object observe(Statement statement, Connection proxy, Method method, Object[] args,
+                               StatementObserver observer) {
+            Class<?> type = switch (method.getName()) {
+                case "prepareStatement" -> PreparedStatement.class;
+                case "prepareCall" -> CallableStatement.class;
+                default -> Statement.class;
+            };
+            String sql = type == Statement.class ? null : (String) args[0];
+            return Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[]{type},
+                    new ObservedStatementHandler(statement, proxy, sql, lease.caller, observer));
+        }
+    }
+}
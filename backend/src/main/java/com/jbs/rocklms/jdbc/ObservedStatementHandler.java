@@ -0,0 +1,102 @@
+package com.jbs.rocklms.jdbc;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Times the execute methods of a statement proxy and remembers bind parameters set by index, so that
+ * a {@link StatementObserver} sees each execution with its SQL and parameters.
+ */
+class ObservedStatementHandler implements InvocationHandler {
+
+    private final Statement target;
+    private final Connection connection;
+    private final String preparedSql;
+    private final String caller;
+    private final StatementObserver observer;
+    private final List<Object> parameters = new ArrayList<>();
+
+    ObservedStatementHandler(Statement target, Connection connection, String preparedSql, String caller,
+                             StatementObserver observer) {
+        this.target = target;
+        this.connection = connection;
+        this.preparedSql = preparedSql;
+        this.caller = caller;
+        this.observer = observer;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+        switch (name) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "getConnection":
+                return connection;
+            case "unwrap":
+                if (((Class<?>) args[0]).isInstance(proxy)) {
+                    return proxy;
+                }
+                break;
+            case "isWrapperFor":
+                if (((Class<?>) args[0]).isInstance(proxy)) {
+                    return true;
+                }
+                break;
+            case "clearParameters":
+                parameters.clear();
+                break;
+            default:
+                if (isParameterSetter(name, args)) {
+                    setParameter((Integer) args[0], args.length > 1 ? args[1] : null, name);
+                } else if (name.startsWith("execute")) {
+                    return timedExecute(method, args);
+                }
+                break;
+        }
+        return invokeTarget(method, args);
+    }
+
+    private Object timedExecute(Method method, Object[] args) throws Throwable {
+        boolean direct = args != null && args.length > 0 && args[0] instanceof String;
+        String sql = direct ? (String) args[0] : preparedSql;
+        // Copied rather than List.copyOf: unset and SQL NULL parameters are both null here.
+        List<Object> boundParameters = direct ? List.of() : Collections.unmodifiableList(new ArrayList<>(parameters));
+        long start = System.nanoTime();
+        try {
+            return invokeTarget(method, args);
+        } finally {
+            observer.statementExecuted(sql, boundParameters, caller, System.nanoTime() - start);
+        }
+    }
+
+    private void setParameter(int index, Object value, String setter) {
+        while (parameters.size() < index) {
+            parameters.add(null);
+        }
+        parameters.set(index - 1, setter.equals("setNull") ? null : value);
+    }
+
+    private static boolean isParameterSetter(String name, Object[] args) {
+        return name.startsWith("set") && args != null && args.length >= 1 && args[0] instanceof Integer
+                && !name.equals("setFetchSize") && !name.equals("setMaxRows") && !name.equals("setQueryTimeout")
+                && !name.equals("setFetchDirection") && !name.equals("setMaxFieldSize")
+                && !name.equals("setLargeMaxRows");
+    }
+
+    private Object invokeTarget(Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.jbs.rocklms.jdbc;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the most recent statements that ran longer than the threshold, with redacted bind parameters,
+ * the calling service method and, on PostgreSQL, an {@code EXPLAIN (ANALYZE, BUFFERS)} plan.
+ * <p>
+ * Plans are captured on a background thread with a separate connection taken straight from the
+ * pool, so neither the slow request nor the pool metrics of the caller pay for them. Only
+ * {@code SELECT}s are explained, because {@code ANALYZE} runs the statement; the connection is
+ * read-only and rolled back regardless, and the statement is cut off after the explain timeout.
+ * When the explain queue is full, plans are skipped rather than piling up behind a struggling
+ * database.
+ */
+@Component
+public class SlowQueryLog implements StatementObserver {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryLog.class);
+
+    public static final class Entry {
+
+        private final Instant capturedAt;
+        private final String caller;
+        private final String sql;
+        private final List<String> parameters;
+        private final double elapsedMillis;
+        private volatile String plan;
+
+        private Entry(Instant capturedAt, String caller, String sql, List<String> parameters, double elapsedMillis) {
+            this.capturedAt = capturedAt;
+            this.caller = caller;
+            this.sql = sql;
+            this.parameters = parameters;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public Instant getCapturedAt() { return capturedAt; }
+        public String getCaller() { return caller; }
+        public String getSql() { return sql; }
+        public List<String> getParameters() { return parameters; }
+        public double getElapsedMillis() { return elapsedMillis; }
+        public String getPlan() { return plan; }
+    }
+
+    private final DataSource explainDataSource;
+    private final long thresholdNanos;
+    private final boolean explain;
+    private final long explainTimeoutMillis;
+    private final Entry[] ring;
+    private long recorded;
+    private final ExecutorService explainExecutor;
+    private volatile Boolean postgres;
+
+    @Autowired
+    public SlowQueryLog(DataSource dataSource,
+                        @Value("${rocklms.db.slow-query.threshold:PT0.5S}") Duration threshold,
+                        @Value("${rocklms.db.slow-query.capacity:100}") int capacity,
+                        @Value("${rocklms.db.slow-query.explain:true}") boolean explain,
+                        @Value("${rocklms.db.slow-query.explain-timeout:PT5S}") Duration explainTimeout)
+            throws SQLException {
+        InstrumentedDataSource instrumented = dataSource.unwrap(InstrumentedDataSource.class);
+        this.explainDataSource = instrumented.getTargetDataSource();
+        this.thresholdNanos = threshold.toNanos();
+        this.explain = explain;
+        this.explainTimeoutMillis = Math.max(1, explainTimeout.toMillis());
+        this.ring = new Entry[capacity];
+        this.explainExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(16), runnable -> {
+                    Thread thread = new Thread(runnable, "slow-query-explain");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.DiscardPolicy());
+        instrumented.setStatementObserver(this);
+    }
+
+    @Override
+    public void statementExecuted(String sql, List<Object> parameters, String caller, long elapsedNanos) {
+        if (elapsedNanos < thresholdNanos || sql == null) {
+            return;
+        }
+        List<String> redacted = new ArrayList<>(parameters.size());
+        for (Object parameter : parameters) {
+            redacted.add(redact(parameter));
+        }
+        Entry entry = new Entry(Instant.now(), caller, sql, List.copyOf(redacted), elapsedNanos / 1e6);
+        synchronized (this) {
+            ring[(int) (recorded++ % ring.length)] = entry;
+        }
+        if (explain && isSelect(sql)) {
+            // The raw parameters are only kept until the plan is captured.
+            List<Object> values = new ArrayList<>(parameters.size());
+            for (Object parameter : parameters) {
+                values.add(detach(parameter));
+            }
+            explainExecutor.execute(() -> entry.plan = explain(sql, values));
+        }
+    }
+
+    /**
+     * Returns the captured statements, newest first.
+     */
+    public synchronized List<Entry> entries() {
+        int size = (int) Math.min(recorded, ring.length);
+        List<Entry> entries = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            entries.add(ring[(int) ((recorded - i) % ring.length)]);
+        }
+        return entries;
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(ring, null);
+        recorded = 0;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        explainExecutor.shutdownNow();
+    }
+
+    /**
+     * Numbers, booleans, dates and nulls are shown as they are; anything else, text in particular, is
+     * reduced to its type and length.
+     */
+    static String redact(Object value) {
+        if (value == null) {
+            return "NULL";
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof TemporalAccessor
+                || value instanceof Date) {
+            return value.toString();
+        }
+        if (value instanceof CharSequence text) {
+            return "<text, " + text.length() + " chars>";
+        }
+        return "<" + value.getClass().getSimpleName() + ">";
+    }
+
+    // JDBC arrays belong to the connection that created them; the plan is captured on another one.
+    private static Object detach(Object parameter) {
+        if (parameter instanceof Array array) {
+            try {
+                return array.getArray();
+            } catch (SQLException e) {
+                return null;
+            }
+        }
+        return parameter;
+    }
+
+    private String explain(String sql, List<Object> parameters) {
+        try (Connection connection = explainDataSource.getConnection()) {
+            if (!isPostgres(connection)) {
+                return null;
+            }
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            try {
+                // The plan runs the statement again, just when the database is already struggling.
+                try (Statement timeout = connection.createStatement()) {
+                    timeout.execute("SET LOCAL statement_timeout = " + explainTimeoutMillis);
+                }
+                try (PreparedStatement statement = connection.prepareStatement("EXPLAIN (ANALYZE, BUFFERS) " + sql)) {
+                    for (int i = 0; i < parameters.size(); i++) {
+                        statement.setObject(i + 1, parameters.get(i));
+                    }
+                    StringBuilder plan = new StringBuilder();
+                    try (ResultSet rows = statement.executeQuery()) {
+                        while (rows.next()) {
+                            plan.append(rows.getString(1)).append('\n');
+                        }
+                    }
+                    return plan.toString();
+                }
+            } finally {
+                connection.rollback();
+                connection.setReadOnly(false);
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException | RuntimeException e) {
+            log.debug("Could not explain slow query", e);
+            return "EXPLAIN failed: " + e.getMessage();
+        }
+    }
+
+    private boolean isPostgres(Connection connection) throws SQLException {
+        Boolean known = postgres;
+        if (known == null) {
+            known = connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT).contains("postgresql");
+            postgres = known;
+        }
+        return known;
+    }
+
+    private static boolean isSelect(String sql) {
+        String statement = sql.stripLeading().toLowerCase(Locale.ROOT);
+        return statement.startsWith("select")
+                || (statement.startsWith("with") && !statement.contains("insert ")
+                        && !statement.contains("update ") && !statement.contains("delete "));
+    }
+}
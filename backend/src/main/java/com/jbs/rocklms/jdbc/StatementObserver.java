@@ -0,0 +1,16 @@
+package com.jbs.rocklms.jdbc;
+
+import java.util.List;
+
+/**
+ * Notified by {@link InstrumentedDataSource} after every statement execution.
+ */
+@FunctionalInterface
+public interface StatementObserver {
+
+    /**
+     * @param parameters bind parameters by position (index 0 is parameter 1); empty for plain statements
+     * @param caller     the service method that borrowed the connection, see {@link InstrumentedDataSource}
+     */
+    void statementExecuted(String sql, List<Object> parameters, String caller, long elapsedNanos);
+}
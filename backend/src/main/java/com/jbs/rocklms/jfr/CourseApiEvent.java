@@ -0,0 +1,24 @@
+package com.jbs.rocklms.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One call of a course API operation, from its delegate, including the rendering of the response.
+ */
+@Name("com.jbs.rocklms.CourseApi")
+@Label("Course API Call")
+@Description("A course API operation handled by CoursesApiDelegateImpl")
+public final class CourseApiEvent extends CourseEvent {
+
+    /**
+     * Creates the event and starts its time span.
+     */
+    public static CourseApiEvent start(String operation) {
+        CourseApiEvent event = new CourseApiEvent();
+        event.operation = operation;
+        event.begin();
+        return event;
+    }
+}
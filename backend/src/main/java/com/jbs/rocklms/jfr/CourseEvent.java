@@ -0,0 +1,49 @@
+package com.jbs.rocklms.jfr;
+
+import com.jbs.rocklms.entity.Course;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Fields of the course operation events. An event spans its operation, so the CPU and allocation
+ * samples of a recording can be matched to it by thread and time.
+ * <p>
+ * Without a recording that enables them, creating and committing an event does next to nothing.
+ * Stack traces are off: the samples inside an event carry their own.
+ */
+@Category({"RockLMS", "Courses"})
+@StackTrace(false)
+public abstract class CourseEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Course Id")
+    @Description("The course the operation is about, 0 for operations on several courses")
+    long courseId;
+
+    @Label("Status Filter")
+    String status;
+
+    @Label("Rows")
+    @Description("Courses read, returned or written")
+    int rows;
+
+    public CourseEvent courseId(long courseId) {
+        this.courseId = courseId;
+        return this;
+    }
+
+    public CourseEvent status(Course.CourseStatus status) {
+        this.status = status == null ? null : status.name();
+        return this;
+    }
+
+    public CourseEvent rows(int rows) {
+        this.rows = rows;
+        return this;
+    }
+}
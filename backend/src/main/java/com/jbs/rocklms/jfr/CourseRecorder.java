@@ -0,0 +1,133 @@
+package com.jbs.rocklms.jfr;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Runs one on-demand flight recording with the course events and the JFR settings named by
+ * {@code rocklms.jfr.settings}, so CPU and allocation samples can be attributed to course operations
+ * (see {@link CourseRecordingAnalyzer}).
+ * <p>
+ * A recording stops by itself after {@code rocklms.jfr.max-duration} and keeps at most
+ * {@code rocklms.jfr.max-size} of data, dropping the oldest first. Starting a new recording discards
+ * the previous one.
+ * <p>
+ * The events with system properties, environment variables and JVM arguments are left out, as they
+ * may carry credentials such as the datasource password.
+ */
+@Component
+public class CourseRecorder {
+
+    /**
+     * State of the current recording; {@code NONE} before the first one.
+     */
+    public record Status(String state, Instant startedAt, Duration duration, long bytes) {
+
+        static final Status NONE = new Status("NONE", null, null, 0);
+    }
+
+    static final List<String> SENSITIVE_EVENTS = List.of(
+            "jdk.InitialSystemProperty", "jdk.InitialEnvironmentVariable", "jdk.JVMInformation");
+
+    private final String settings;
+    private final Duration maxDuration;
+    private final DataSize maxSize;
+    private final Path dumpPath;
+
+    private Recording recording;
+
+    @Autowired
+    public CourseRecorder(@Value("${rocklms.jfr.settings:profile}") String settings,
+                          @Value("${rocklms.jfr.max-duration:PT15M}") Duration maxDuration,
+                          @Value("${rocklms.jfr.max-size:100MB}") DataSize maxSize,
+                          @Value("${rocklms.jfr.dump-path:${java.io.tmpdir}/rocklms/course-recording.jfr}") Path dumpPath) {
+        this.settings = settings;
+        this.maxDuration = maxDuration;
+        this.maxSize = maxSize;
+        this.dumpPath = dumpPath;
+    }
+
+    /**
+     * Starts a new recording that stops after the given duration, at most {@code rocklms.jfr.max-duration}.
+     *
+     * @param duration how long to record, {@code null} for the maximum
+     */
+    public synchronized Status start(Duration duration) {
+        close();
+        Recording started;
+        try {
+            started = new Recording(Configuration.getConfiguration(settings));
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Cannot load JFR settings " + settings, e);
+        }
+        started.setName("rocklms-courses");
+        started.enable(CourseApiEvent.class).withoutThreshold();
+        started.enable(CourseServiceEvent.class).withoutThreshold();
+        SENSITIVE_EVENTS.forEach(started::disable);
+        started.setDuration(duration == null || duration.compareTo(maxDuration) > 0 ? maxDuration : duration);
+        started.setMaxSize(maxSize.toBytes());
+        started.setToDisk(true);
+        started.start();
+        recording = started;
+        return status();
+    }
+
+    /**
+     * Stops the recording, keeping its data for {@link #dump()}.
+     */
+    public synchronized Status stop() {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+        return status();
+    }
+
+    public synchronized Status status() {
+        if (recording == null) {
+            return Status.NONE;
+        }
+        return new Status(recording.getState().name(), recording.getStartTime(), recording.getDuration(),
+                recording.getSize());
+    }
+
+    /**
+     * Writes the data recorded so far to {@code rocklms.jfr.dump-path}, replacing the previous dump.
+     *
+     * @throws IllegalStateException if there is no recording
+     */
+    public synchronized Path dump() {
+        if (recording == null || recording.getState() == RecordingState.CLOSED) {
+            throw new IllegalStateException("No course recording to dump");
+        }
+        try {
+            Files.createDirectories(dumpPath.toAbsolutePath().getParent());
+            recording.dump(dumpPath);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return dumpPath;
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+}
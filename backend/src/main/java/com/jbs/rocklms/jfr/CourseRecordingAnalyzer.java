@@ -0,0 +1,186 @@
+package com.jbs.rocklms.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Summarizes the course events of a flight recording per operation, and attributes the recording's
+ * CPU samples ({@code jdk.ExecutionSample}) and allocation samples ({@code jdk.ObjectAllocationSample})
+ * to the operation that was running on the sampled thread at the time.
+ * <p>
+ * API and service events are summarized separately, since a service call runs inside an API call
+ * and its samples count for both. Runs standalone on a dump: {@code CourseRecordingAnalyzer <file.jfr>}.
+ */
+public final class CourseRecordingAnalyzer {
+
+    private static final String API_EVENT = "com.jbs.rocklms.CourseApi";
+    private static final String SERVICE_EVENT = "com.jbs.rocklms.CourseService";
+
+    /**
+     * Totals of one operation.
+     *
+     * @param layer          {@code api} or {@code service}
+     * @param cpuSamples     execution samples taken while the operation ran
+     * @param allocatedBytes estimated bytes allocated while it ran, from the allocation samples
+     */
+    public record OperationSummary(String layer, String operation, long count, long rows,
+                                   double totalMillis, double meanMillis, double maxMillis,
+                                   long cpuSamples, long allocatedBytes) {
+    }
+
+    private static final class Totals {
+
+        final String layer;
+        final String operation;
+        long count;
+        long rows;
+        long totalNanos;
+        long maxNanos;
+        long cpuSamples;
+        long allocatedBytes;
+
+        Totals(String layer, String operation) {
+            this.layer = layer;
+            this.operation = operation;
+        }
+
+        OperationSummary summary() {
+            return new OperationSummary(layer, operation, count, rows, totalNanos / 1e6,
+                    count == 0 ? 0 : totalNanos / 1e6 / count, maxNanos / 1e6, cpuSamples, allocatedBytes);
+        }
+    }
+
+    private record Span(long start, long end, Totals totals) {
+    }
+
+    private record Sample(long threadId, long time, boolean cpu, long bytes) {
+    }
+
+    private CourseRecordingAnalyzer() {
+    }
+
+    /**
+     * Reads the recording and returns one summary per layer and operation, by layer and then by
+     * total time, longest first.
+     */
+    public static List<OperationSummary> summarize(Path recording) throws IOException {
+        Map<String, Totals> totals = new HashMap<>();
+        // Per layer and thread; spans of one layer do not nest on a thread.
+        Map<String, Map<Long, List<Span>>> spans = new HashMap<>();
+        List<Sample> samples = new ArrayList<>();
+
+        try (RecordingFile file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                RecordedEvent event = file.readEvent();
+                switch (event.getEventType().getName()) {
+                    case API_EVENT -> addSpan(event, "api", totals, spans);
+                    case SERVICE_EVENT -> addSpan(event, "service", totals, spans);
+                    case "jdk.ExecutionSample" ->
+                            addSample(event.getThread("sampledThread"), event, true, 0, samples);
+                    case "jdk.ObjectAllocationSample" ->
+                            addSample(event.getThread(), event, false, event.getLong("weight"), samples);
+                    default -> {
+                    }
+                }
+            }
+        }
+
+        for (Map<Long, List<Span>> byThread : spans.values()) {
+            byThread.values().forEach(list -> list.sort(Comparator.comparingLong(Span::start)));
+        }
+        for (Sample sample : samples) {
+            for (Map<Long, List<Span>> byThread : spans.values()) {
+                Span span = find(byThread.get(sample.threadId()), sample.time());
+                if (span == null) {
+                    continue;
+                }
+                if (sample.cpu()) {
+                    span.totals().cpuSamples++;
+                } else {
+                    span.totals().allocatedBytes += sample.bytes();
+                }
+            }
+        }
+
+        return totals.values().stream()
+                .map(Totals::summary)
+                .sorted(Comparator.comparing(OperationSummary::layer)
+                        .thenComparing(Comparator.comparingDouble(OperationSummary::totalMillis).reversed()))
+                .toList();
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: CourseRecordingAnalyzer <recording.jfr>");
+            System.exit(2);
+        }
+        System.out.printf("%-8s %-20s %8s %10s %12s %10s %10s %8s %14s%n", "layer", "operation", "count",
+                "rows", "total ms", "mean ms", "max ms", "cpu", "alloc bytes");
+        for (OperationSummary s : summarize(Path.of(args[0]))) {
+            System.out.printf("%-8s %-20s %8d %10d %12.1f %10.3f %10.3f %8d %14d%n", s.layer(), s.operation(),
+                    s.count(), s.rows(), s.totalMillis(), s.meanMillis(), s.maxMillis(), s.cpuSamples(),
+                    s.allocatedBytes());
+        }
+    }
+
+    private static void addSpan(RecordedEvent event, String layer, Map<String, Totals> totals,
+                                Map<String, Map<Long, List<Span>>> spans) {
+        String operation = event.getString("operation");
+        Totals operationTotals = totals.computeIfAbsent(layer + ' ' + operation, key -> new Totals(layer, operation));
+        long duration = event.getDuration().toNanos();
+        operationTotals.count++;
+        operationTotals.rows += event.getInt("rows");
+        operationTotals.totalNanos += duration;
+        operationTotals.maxNanos = Math.max(operationTotals.maxNanos, duration);
+
+        RecordedThread thread = event.getThread();
+        if (thread != null) {
+            long start = nanos(event.getStartTime());
+            spans.computeIfAbsent(layer, key -> new HashMap<>())
+                    .computeIfAbsent(thread.getJavaThreadId(), key -> new ArrayList<>())
+                    .add(new Span(start, start + duration, operationTotals));
+        }
+    }
+
+    private static void addSample(RecordedThread thread, RecordedEvent event, boolean cpu, long bytes,
+                                  List<Sample> samples) {
+        if (thread != null) {
+            samples.add(new Sample(thread.getJavaThreadId(), nanos(event.getStartTime()), cpu, bytes));
+        }
+    }
+
+    // The last span starting at or before the time, if it is still running then.
+    private static Span find(List<Span> spans, long time) {
+        if (spans == null) {
+            return null;
+        }
+        int low = 0;
+        int high = spans.size() - 1;
+        Span candidate = null;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            Span span = spans.get(middle);
+            if (span.start() <= time) {
+                candidate = span;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return candidate != null && candidate.end() >= time ? candidate : null;
+    }
+
+    private static long nanos(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+    }
+}
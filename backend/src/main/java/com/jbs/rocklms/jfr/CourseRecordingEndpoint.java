@@ -0,0 +1,72 @@
+package com.jbs.rocklms.jfr;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Controls the flight recording of {@link CourseRecorder}:
+ * <ul>
+ *   <li>{@code POST /actuator/courserecording}, optionally with {@code {"duration": "PT5M"}}, starts it</li>
+ *   <li>{@code DELETE} stops it, {@code GET} shows its state</li>
+ *   <li>{@code GET /actuator/courserecording/jfr} downloads the data recorded so far</li>
+ *   <li>{@code GET /actuator/courserecording/summary} returns {@link CourseRecordingAnalyzer}'s summary of it</li>
+ * </ul>
+ */
+@Component
+@WebEndpoint(id = "courserecording")
+public class CourseRecordingEndpoint {
+
+    private static final MimeType JFR = MimeType.valueOf("application/octet-stream");
+
+    private final CourseRecorder courseRecorder;
+
+    @Autowired
+    public CourseRecordingEndpoint(CourseRecorder courseRecorder) {
+        this.courseRecorder = courseRecorder;
+    }
+
+    @ReadOperation
+    public CourseRecorder.Status status() {
+        return courseRecorder.status();
+    }
+
+    @WriteOperation
+    public CourseRecorder.Status start(@Nullable Duration duration) {
+        return courseRecorder.start(duration);
+    }
+
+    @DeleteOperation
+    public CourseRecorder.Status stop() {
+        return courseRecorder.stop();
+    }
+
+    @ReadOperation
+    public WebEndpointResponse<Object> read(@Selector String format) throws IOException {
+        if (!"jfr".equals(format) && !"summary".equals(format)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        Path dump;
+        try {
+            dump = courseRecorder.dump();
+        } catch (IllegalStateException e) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        if ("jfr".equals(format)) {
+            return new WebEndpointResponse<>(new FileSystemResource(dump), WebEndpointResponse.STATUS_OK, JFR);
+        }
+        return new WebEndpointResponse<>(CourseRecordingAnalyzer.summarize(dump));
+    }
+}
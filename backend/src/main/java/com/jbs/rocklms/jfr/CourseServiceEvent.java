@@ -0,0 +1,24 @@
+package com.jbs.rocklms.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One call of a {@link com.jbs.rocklms.service.CourseService} method, inside its transaction.
+ */
+@Name("com.jbs.rocklms.CourseService")
+@Label("Course Service Call")
+@Description("A CourseService operation, excluding the transaction commit")
+public final class CourseServiceEvent extends CourseEvent {
+
+    /**
+     * Creates the event and starts its time span.
+     */
+    public static CourseServiceEvent start(String operation) {
+        CourseServiceEvent event = new CourseServiceEvent();
+        event.operation = operation;
+        event.begin();
+        return event;
+    }
+}
@@ -0,0 +1,167 @@
+package com.jbs.rocklms.mapper;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jbs.rocklms.entity.Course;
+import com.jbs.rocklms.model.CourseDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes course lists as JSON directly to a stream, without materializing {@link CourseDto}s.
+ * <p>
+ * The output is byte-identical to serializing {@code List<CourseDto>} produced by
+ * {@link CourseMapper#toDto} with the application {@link ObjectMapper}: same property order,
+ * explicit nulls, and {@code publishedAt} as an ISO-8601 UTC timestamp.
+ */
+@Component
+public class CourseJsonWriter {
+
+    /** Columns expected by {@link ListWriter#write(ResultSet)}, in this order. */
+    public static final String COLUMNS = "id, title, description, duration, status, published_at";
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString TITLE = new SerializedString("title");
+    private static final SerializedString DESCRIPTION = new SerializedString("description");
+    private static final SerializedString DURATION = new SerializedString("duration");
+    private static final SerializedString STATUS = new SerializedString("status");
+    private static final SerializedString PUBLISHED_AT = new SerializedString("publishedAt");
+
+    private static final SerializedString[] STATUS_VALUES = new SerializedString[Course.CourseStatus.values().length];
+
+    static {
+        for (Course.CourseStatus status : Course.CourseStatus.values()) {
+            STATUS_VALUES[status.ordinal()] =
+                    new SerializedString(CourseDto.StatusEnum.valueOf(status.name()).getValue());
+        }
+        for (SerializedString name : new SerializedString[]{ID, TITLE, DESCRIPTION, DURATION, STATUS, PUBLISHED_AT}) {
+            name.asQuotedUTF8();
+        }
+        for (SerializedString value : STATUS_VALUES) {
+            value.asQuotedUTF8();
+        }
+    }
+
+    private final JsonFactory jsonFactory;
+
+    @Autowired
+    public CourseJsonWriter(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    /**
+     * Starts a JSON array on the given stream. Closing the returned writer ends the array and
+     * flushes, but leaves the stream open.
+     */
+    public ListWriter open(OutputStream out) throws IOException {
+        JsonGenerator generator = jsonFactory.createGenerator(out, JsonEncoding.UTF8);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.writeStartArray();
+        return new ListWriter(generator);
+    }
+
+    public static final class ListWriter implements Closeable {
+
+        private final JsonGenerator generator;
+        private final StringBuilder timestamp = new StringBuilder(32);
+        private char[] timestampChars = new char[32];
+        private int count;
+
+        private ListWriter(JsonGenerator generator) {
+            this.generator = generator;
+        }
+
+        /**
+         * Writes the current row of a result set selecting {@link CourseJsonWriter#COLUMNS}. Usable as a
+         * {@link org.springframework.jdbc.core.RowCallbackHandler}; stream failures surface as
+         * {@link UncheckedIOException}.
+         */
+        public void write(ResultSet row) throws SQLException {
+            long id = row.getLong(1);
+            String title = row.getString(2);
+            String description = row.getString(3);
+            int duration = row.getInt(4);
+            Integer nullableDuration = row.wasNull() ? null : duration;
+            Course.CourseStatus status = Course.CourseStatus.valueOf(row.getString(5));
+            LocalDateTime publishedAt = row.getObject(6, LocalDateTime.class);
+            try {
+                write(id, title, description, nullableDuration, status, publishedAt);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        public void write(long id, String title, String description, Integer duration,
+                          Course.CourseStatus status, LocalDateTime publishedAt) throws IOException {
+            JsonGenerator g = generator;
+            g.writeStartObject();
+            g.writeFieldName(ID);
+            g.writeNumber((int) id);
+            g.writeFieldName(TITLE);
+            g.writeString(title);
+            g.writeFieldName(DESCRIPTION);
+            g.writeString(description);
+            g.writeFieldName(DURATION);
+            if (duration == null) {
+                g.writeNull();
+            } else {
+                g.writeNumber(duration.intValue());
+            }
+            g.writeFieldName(STATUS);
+            g.writeString(STATUS_VALUES[status.ordinal()]);
+            g.writeFieldName(PUBLISHED_AT);
+            if (publishedAt == null) {
+                g.writeNull();
+            } else {
+                writeUtcTimestamp(publishedAt);
+            }
+            g.writeEndObject();
+            count++;
+        }
+
+        /**
+         * The number of courses written so far.
+         */
+        public int count() {
+            return count;
+        }
+
+        /**
+         * Hands everything written so far to the underlying stream.
+         */
+        public void flush() throws IOException {
+            generator.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.writeEndArray();
+            generator.close();
+        }
+
+        // Same text as ISO_OFFSET_DATE_TIME on atOffset(UTC), formatted into reused buffers.
+        private void writeUtcTimestamp(LocalDateTime publishedAt) throws IOException {
+            timestamp.setLength(0);
+            DateTimeFormatter.ISO_LOCAL_DATE_TIME.formatTo(publishedAt, timestamp);
+            timestamp.append('Z');
+            int length = timestamp.length();
+            if (timestampChars.length < length) {
+                timestampChars = new char[length];
+            }
+            timestamp.getChars(0, length, timestampChars, 0);
+            generator.writeString(timestampChars, 0, length);
+        }
+    }
+}
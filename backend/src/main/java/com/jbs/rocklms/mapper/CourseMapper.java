@@ -2,13 +2,22 @@ package com.jbs.rocklms.mapper;
 
 import com.jbs.rocklms.entity.Course;
 import com.jbs.rocklms.model.CourseDto;
+import com.jbs.rocklms.model.PopularCourseDto;
+import com.jbs.rocklms.model.SimilarCourseDto;
+import com.jbs.rocklms.service.CourseStatsService;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.Set;
 
 @Component
 public class CourseMapper {
     
+    private static final Set<String> SORTABLE_FIELDS = Set.of("title", "duration", "publishedAt");
+    
     public CourseDto toDto(Course course) {
         CourseDto dto = new CourseDto();
         dto.setId(course.getId().intValue());
@@ -24,8 +33,43 @@ public class CourseMapper {
         return dto;
     }
     
+    public PopularCourseDto toDto(CourseStatsService.ViewedCourse viewed) {
+        PopularCourseDto dto = new PopularCourseDto();
+        dto.setCourse(toDto(viewed.course()));
+        dto.setViewCount(viewed.viewCount());
+        return dto;
+    }
+    
+    public SimilarCourseDto toDto(Course course, double similarity) {
+        SimilarCourseDto dto = new SimilarCourseDto();
+        dto.setCourse(toDto(course));
+        dto.setSimilarity(similarity);
+        return dto;
+    }
+    
     public Course.CourseStatus toEntityStatus(String status) {
         if (status == null) return null;
         return Course.CourseStatus.valueOf(status);
     }
+    
+    public LocalDateTime toEntityTimestamp(OffsetDateTime timestamp) {
+        if (timestamp == null) return null;
+        return timestamp.withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime();
+    }
+    
+    /**
+     * Maps the {@code sort} query parameter, a field name optionally prefixed with {@code -} for
+     * descending order.
+     *
+     * @throws IllegalArgumentException if the field cannot be sorted on
+     */
+    public Sort toSort(String sort) {
+        if (sort == null) return Sort.unsorted();
+        boolean descending = sort.startsWith("-");
+        String field = descending ? sort.substring(1) : sort;
+        if (!SORTABLE_FIELDS.contains(field)) {
+            throw new IllegalArgumentException("Cannot sort courses by " + sort);
+        }
+        return Sort.by(descending ? Sort.Direction.DESC : Sort.Direction.ASC, field);
+    }
 }
@@ -0,0 +1,33 @@
+package com.jbs.rocklms.repository;
+
+import java.util.OptionalLong;
+
+/**
+ * The statements of a {@link KeysetBackfill}. Each batch is a range of keys found through the index
+ * of the key column, so its cost does not grow with the position in the table.
+ */
+public interface BackfillBatches {
+
+    /**
+     * The highest key among the next {@code batchSize} keys above {@code afterKey}, or empty when no
+     * keys are left.
+     */
+    OptionalLong findBatchEnd(KeysetBackfill backfill, long afterKey, int batchSize);
+
+    /**
+     * Updates the pending rows with keys above {@code afterKey} up to and including {@code lastKey}.
+     *
+     * @return the number of rows updated
+     */
+    int updateBatch(KeysetBackfill backfill, long afterKey, long lastKey);
+
+    /**
+     * Whether any row of the table, at any key, is still pending.
+     */
+    boolean hasPending(KeysetBackfill backfill);
+
+    /**
+     * The highest key currently in the table, 0 if it is empty.
+     */
+    long findMaxKey(KeysetBackfill backfill);
+}
@@ -0,0 +1,39 @@
+package com.jbs.rocklms.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.OptionalLong;
+
+class BackfillBatchesImpl implements BackfillBatches {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    BackfillBatchesImpl(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public OptionalLong findBatchEnd(KeysetBackfill backfill, long afterKey, int batchSize) {
+        Long batchEnd = jdbcTemplate.queryForObject(backfill.batchEndSql(), Long.class, afterKey, batchSize);
+        return batchEnd == null ? OptionalLong.empty() : OptionalLong.of(batchEnd);
+    }
+
+    @Override
+    public int updateBatch(KeysetBackfill backfill, long afterKey, long lastKey) {
+        return jdbcTemplate.update(backfill.updateSql(), afterKey, lastKey);
+    }
+
+    @Override
+    public boolean hasPending(KeysetBackfill backfill) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(backfill.pendingSql(), Boolean.class));
+    }
+
+    @Override
+    public long findMaxKey(KeysetBackfill backfill) {
+        Long maxKey = jdbcTemplate.queryForObject(backfill.maxKeySql(), Long.class);
+        return maxKey == null ? 0 : maxKey;
+    }
+}
@@ -0,0 +1,19 @@
+package com.jbs.rocklms.repository;
+
+import com.jbs.rocklms.entity.BackfillProgress;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface BackfillProgressRepository extends JpaRepository<BackfillProgress, String>, BackfillBatches {
+
+    // Held until the batch commits, so nodes running the same backfill process one batch at a time.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM BackfillProgress p WHERE p.name = :name")
+    Optional<BackfillProgress> lockByName(String name);
+}
@@ -0,0 +1,33 @@
+package com.jbs.rocklms.repository;
+
+import com.jbs.rocklms.entity.Course;
+
+import java.time.LocalDateTime;
+
+/**
+ * Criteria for course lists. Every component is optional; {@code null} means "not filtered".
+ *
+ * @param publishedAfter  inclusive lower bound of {@code publishedAt}
+ * @param publishedBefore exclusive upper bound of {@code publishedAt}
+ * @param titlePrefix     case-sensitive prefix of the title, matched literally
+ */
+public record CourseFilter(Course.CourseStatus status,
+                           Integer minDuration,
+                           Integer maxDuration,
+                           LocalDateTime publishedAfter,
+                           LocalDateTime publishedBefore,
+                           String titlePrefix) {
+
+    public static CourseFilter byStatus(Course.CourseStatus status) {
+        return new CourseFilter(status, null, null, null, null, null);
+    }
+
+    /**
+     * Whether anything other than the status is filtered on. Status-only lists are served from the
+     * list cache or streamed; everything else goes through {@link CourseSpecifications}.
+     */
+    public boolean hasCriteriaBeyondStatus() {
+        return minDuration != null || maxDuration != null || publishedAfter != null
+                || publishedBefore != null || titlePrefix != null;
+    }
+}
@@ -1,18 +1,38 @@
 package com.jbs.rocklms.repository;
 
 import com.jbs.rocklms.entity.Course;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
-public interface CourseRepository extends JpaRepository<Course, Long> {
-    
+public interface CourseRepository extends JpaRepository<Course, Long>, JpaSpecificationExecutor<Course>,
+        CourseRowStreaming, CourseVersions {
+
     List<Course> findByStatus(Course.CourseStatus status);
-    
-    @Query("SELECT c FROM Course c WHERE :status IS NULL OR c.status = :status")
-    List<Course> findAllWithOptionalStatus(@Param("status") Course.CourseStatus status);
+
+    // Filtered and sorted lists built from CourseSpecifications. List reads are never modified: skip
+    // Hibernate's dirty-checking snapshots and stream rows from the driver in larger chunks instead
+    // of one round trip per default batch.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500")
+    })
+    @Override
+    List<Course> findAll(Specification<Course> spec, Sort sort);
+
+    // A single array parameter keeps one statement (and one cached plan) for any number of ids,
+    // where IN (...) would produce a differently shaped query per list length.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(value = "SELECT * FROM courses WHERE id = ANY(:ids)", nativeQuery = true)
+    List<Course> findAllByIdAny(@Param("ids") Long[] ids);
 }
@@ -0,0 +1,30 @@
+package com.jbs.rocklms.repository;
+
+import com.jbs.rocklms.entity.Course;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Streams raw course rows for callers that render them directly, skipping entity hydration.
+ */
+public interface CourseRowStreaming {
+
+    /**
+     * Passes every course row, optionally filtered by status, to the handler in id order, the order
+     * {@link com.jbs.rocklms.cache.CourseCatalogSnapshot} lists courses in. Rows select
+     * {@link com.jbs.rocklms.mapper.CourseJsonWriter#COLUMNS}.
+     */
+    void streamRows(Course.CourseStatus status, RowCallbackHandler handler);
+
+    /**
+     * Like {@link #streamRows(Course.CourseStatus, RowCallbackHandler)}, but only the first
+     * {@code limit} rows with an id above {@code afterId}. Returns the number of rows passed.
+     */
+    int streamRows(Course.CourseStatus status, long afterId, int limit, RowCallbackHandler handler);
+
+    /**
+     * Passes every course id to the consumer, in no particular order.
+     */
+    void streamIds(LongConsumer consumer);
+}
@@ -0,0 +1,59 @@
+package com.jbs.rocklms.repository;
+
+import com.jbs.rocklms.entity.Course;
+import com.jbs.rocklms.mapper.CourseJsonWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import javax.sql.DataSource;
+import java.util.function.LongConsumer;
+
+class CourseRowStreamingImpl implements CourseRowStreaming {
+
+    private static final String SELECT_ALL = "SELECT " + CourseJsonWriter.COLUMNS + " FROM courses ORDER BY id";
+    private static final String SELECT_BY_STATUS = "SELECT " + CourseJsonWriter.COLUMNS
+            + " FROM courses WHERE status = ? ORDER BY id";
+    private static final String SELECT_PAGE = "SELECT " + CourseJsonWriter.COLUMNS
+            + " FROM courses WHERE id > ? ORDER BY id LIMIT ?";
+    private static final String SELECT_PAGE_BY_STATUS = "SELECT " + CourseJsonWriter.COLUMNS
+            + " FROM courses WHERE status = ? AND id > ? ORDER BY id LIMIT ?";
+    private static final String SELECT_IDS = "SELECT id FROM courses";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    CourseRowStreamingImpl(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(500);
+    }
+
+    @Override
+    public void streamRows(Course.CourseStatus status, RowCallbackHandler handler) {
+        if (status == null) {
+            jdbcTemplate.query(SELECT_ALL, handler);
+        } else {
+            jdbcTemplate.query(SELECT_BY_STATUS, handler, status.name());
+        }
+    }
+
+    @Override
+    public int streamRows(Course.CourseStatus status, long afterId, int limit, RowCallbackHandler handler) {
+        int[] rows = new int[1];
+        RowCallbackHandler counting = row -> {
+            handler.processRow(row);
+            rows[0]++;
+        };
+        if (status == null) {
+            jdbcTemplate.query(SELECT_PAGE, counting, afterId, limit);
+        } else {
+            jdbcTemplate.query(SELECT_PAGE_BY_STATUS, counting, status.name(), afterId, limit);
+        }
+        return rows[0];
+    }
+
+    @Override
+    public void streamIds(LongConsumer consumer) {
+        jdbcTemplate.query(SELECT_IDS, (RowCallbackHandler) row -> consumer.accept(row.getLong(1)));
+    }
+}
@@ -0,0 +1,61 @@
+package com.jbs.rocklms.repository;
+
+import com.jbs.rocklms.entity.Course;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the query for a {@link CourseFilter}, with one predicate per filtered field so the
+ * statement only mentions what was asked for.
+ * <p>
+ * Every predicate is a plain comparison on a column that V1002 indexes, alone or together with any of
+ * the supported sort orders. The status stays a simple equality so PostgreSQL can prune partitions.
+ */
+public final class CourseSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private CourseSpecifications() {
+    }
+
+    public static Specification<Course> matching(CourseFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.status() != null) {
+                predicates.add(cb.equal(root.get("status"), filter.status()));
+            }
+            if (filter.minDuration() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("duration"), filter.minDuration()));
+            }
+            if (filter.maxDuration() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("duration"), filter.maxDuration()));
+            }
+            if (filter.publishedAfter() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("publishedAt"), filter.publishedAfter()));
+            }
+            if (filter.publishedBefore() != null) {
+                predicates.add(cb.lessThan(root.get("publishedAt"), filter.publishedBefore()));
+            }
+            if (filter.titlePrefix() != null) {
+                // A constant prefix followed by % is what lets the planner turn LIKE into an index range.
+                predicates.add(cb.like(root.get("title"), escapeLike(filter.titlePrefix()) + "%", LIKE_ESCAPE));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    static String escapeLike(String text) {
+        StringBuilder escaped = new StringBuilder(text.length() + 8);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == LIKE_ESCAPE || c == '%' || c == '_') {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,18 @@
+package com.jbs.rocklms.repository;
+
+import com.jbs.rocklms.entity.CourseStats;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CourseStatsRepository extends JpaRepository<CourseStats, Long>, CourseViewUpserts {
+
+    // Skips counts of courses deleted since they were last flushed.
+    @Query("SELECT s FROM CourseStats s WHERE EXISTS (SELECT 1 FROM Course c WHERE c.id = s.courseId) "
+            + "ORDER BY s.viewCount DESC, s.courseId")
+    List<CourseStats> findMostViewed(Limit limit);
+}
@@ -0,0 +1,48 @@
+package com.jbs.rocklms.repository;
+
+import java.time.Duration;
+import java.util.function.LongConsumer;
+
+/**
+ * Row versions of courses, maintained by database triggers (see migration V1004). PostgreSQL only.
+ */
+public interface CourseVersions {
+
+    /**
+     * Where the course id sequence stood at one moment: no id it had handed out is above
+     * {@code lastIssuedId}, and a transaction that may still commit one of them has a transaction
+     * id below {@code transactionBound}.
+     */
+    record IdSequencePosition(long lastIssuedId, long transactionBound) {
+    }
+
+    /**
+     * The oldest transaction id still in progress. Every course written by an older transaction is
+     * visible to reads that start afterwards.
+     */
+    long currentVersionHorizon();
+
+    /**
+     * The current position of the course id sequence. Once {@link #currentVersionHorizon()} reaches
+     * its {@code transactionBound}, every course with an id up to {@code lastIssuedId} has either
+     * committed or never will.
+     */
+    IdSequencePosition currentIdSequencePosition();
+
+    /**
+     * Passes the id of every course written or deleted at or after the given version to the
+     * consumer, possibly more than once. Ids of deleted courses are included.
+     */
+    void streamIdsChangedSince(long version, LongConsumer consumer);
+
+    /**
+     * Deletes the tombstones recorded more than the retention period ago and returns how many.
+     */
+    int pruneTombstones(Duration retention);
+
+    /**
+     * The highest row version of any pruned tombstone. {@link #streamIdsChangedSince} misses deletes
+     * for versions up to this one.
+     */
+    long tombstonesPrunedThrough();
+}
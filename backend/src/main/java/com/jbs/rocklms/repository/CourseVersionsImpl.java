@@ -0,0 +1,68 @@
+package com.jbs.rocklms.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.function.LongConsumer;
+
+class CourseVersionsImpl implements CourseVersions {
+
+    private static final String SELECT_HORIZON = "SELECT pg_snapshot_xmin(pg_current_snapshot())::text::bigint";
+    private static final String SELECT_ID_SEQUENCE_POSITION = """
+            SELECT COALESCE(pg_sequence_last_value('courses_id_seq'), 0),
+                   pg_snapshot_xmax(pg_current_snapshot())::text::bigint""";
+    private static final String SELECT_CHANGED_IDS = """
+            SELECT id FROM courses WHERE row_version >= ?
+            UNION ALL
+            SELECT course_id FROM course_tombstones WHERE row_version >= ?""";
+
+    // The watermark only moves up, also when several nodes prune at once.
+    private static final String PRUNE_TOMBSTONES = """
+            WITH pruned AS (
+                DELETE FROM course_tombstones
+                WHERE recorded_at < now() - make_interval(secs => ?)
+                RETURNING row_version),
+            watermark AS (
+                UPDATE course_tombstones_pruned
+                SET pruned_through = GREATEST(pruned_through, (SELECT max(row_version) FROM pruned)))
+            SELECT count(*) FROM pruned""";
+    private static final String SELECT_PRUNED_THROUGH = "SELECT pruned_through FROM course_tombstones_pruned";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    CourseVersionsImpl(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(500);
+    }
+
+    @Override
+    public long currentVersionHorizon() {
+        return jdbcTemplate.queryForObject(SELECT_HORIZON, Long.class);
+    }
+
+    @Override
+    public IdSequencePosition currentIdSequencePosition() {
+        return jdbcTemplate.queryForObject(SELECT_ID_SEQUENCE_POSITION,
+                (row, rowNum) -> new IdSequencePosition(row.getLong(1), row.getLong(2)));
+    }
+
+    @Override
+    public void streamIdsChangedSince(long version, LongConsumer consumer) {
+        jdbcTemplate.query(SELECT_CHANGED_IDS, (RowCallbackHandler) row -> consumer.accept(row.getLong(1)),
+                version, version);
+    }
+
+    @Override
+    public int pruneTombstones(Duration retention) {
+        return jdbcTemplate.queryForObject(PRUNE_TOMBSTONES, Integer.class, retention.toSeconds());
+    }
+
+    @Override
+    public long tombstonesPrunedThrough() {
+        return jdbcTemplate.queryForObject(SELECT_PRUNED_THROUGH, Long.class);
+    }
+}
@@ -0,0 +1,15 @@
+package com.jbs.rocklms.repository;
+
+import java.util.Map;
+
+/**
+ * Adds view counts to {@code course_stats} without reading them first.
+ */
+public interface CourseViewUpserts {
+
+    /**
+     * Adds each delta to the view count of its course, creating missing rows, in one JDBC batch.
+     * Deltas of courses that do not exist are dropped.
+     */
+    void addViews(Map<Long, Long> deltas);
+}
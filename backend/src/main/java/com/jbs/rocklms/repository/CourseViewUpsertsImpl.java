@@ -0,0 +1,37 @@
+package com.jbs.rocklms.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+class CourseViewUpsertsImpl implements CourseViewUpserts {
+
+    // Standard MERGE rather than INSERT ... ON CONFLICT, so the H2 test database runs the same
+    // statement. Two replicas inserting the same new course at once make one batch fail with a
+    // duplicate key; its caller keeps the deltas and the retry finds the row. Views of a course that
+    // no longer exists match no source row and are dropped.
+    private static final String ADD_VIEWS = """
+            MERGE INTO course_stats s
+            USING (SELECT id AS course_id, CAST(? AS BIGINT) AS views FROM courses WHERE id = ?) d
+            ON s.course_id = d.course_id
+            WHEN MATCHED THEN UPDATE SET view_count = s.view_count + d.views
+            WHEN NOT MATCHED THEN INSERT (course_id, view_count) VALUES (d.course_id, d.views)""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    CourseViewUpsertsImpl(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public void addViews(Map<Long, Long> deltas) {
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        deltas.forEach((courseId, views) -> rows.add(new Object[] {views, courseId}));
+        jdbcTemplate.batchUpdate(ADD_VIEWS, rows);
+    }
+}
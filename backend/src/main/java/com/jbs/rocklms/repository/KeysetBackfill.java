@@ -0,0 +1,38 @@
+package com.jbs.rocklms.repository;
+
+/**
+ * A data migration that updates a table in batches of consecutive keys, lowest key first.
+ * <p>
+ * The parts are pasted into SQL as they are, so they must be constants, never request input.
+ * <p>
+ * A pass ends when no keys are left above the last one processed. Rows can still turn up pending
+ * below it, written by nodes on an older version during a rolling deploy or inserted with explicit
+ * keys, so the backfill only completes once no pending row is left anywhere and otherwise starts
+ * another pass from the lowest key.
+ *
+ * @param name        identifies the backfill and its row in {@code backfill_progress}
+ * @param table       the table to update
+ * @param keyColumn   a positive, indexed numeric key
+ * @param assignments the {@code SET} clause, such as {@code updated_at = published_at}
+ * @param pending     condition of the rows still to update; keeps a repeated batch from writing again
+ */
+public record KeysetBackfill(String name, String table, String keyColumn, String assignments, String pending) {
+
+    String batchEndSql() {
+        return "SELECT MAX(k) FROM (SELECT " + keyColumn + " AS k FROM " + table
+                + " WHERE " + keyColumn + " > ? ORDER BY " + keyColumn + " LIMIT ?) batch";
+    }
+
+    String updateSql() {
+        return "UPDATE " + table + " SET " + assignments
+                + " WHERE " + keyColumn + " > ? AND " + keyColumn + " <= ? AND (" + pending + ")";
+    }
+
+    String pendingSql() {
+        return "SELECT EXISTS (SELECT 1 FROM " + table + " WHERE " + pending + ")";
+    }
+
+    String maxKeySql() {
+        return "SELECT MAX(" + keyColumn + ") FROM " + table;
+    }
+}
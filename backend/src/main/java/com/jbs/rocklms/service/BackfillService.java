@@ -0,0 +1,84 @@
+package com.jbs.rocklms.service;
+
+import com.jbs.rocklms.entity.BackfillProgress;
+import com.jbs.rocklms.repository.BackfillProgressRepository;
+import com.jbs.rocklms.repository.KeysetBackfill;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+@Service
+@Transactional
+public class BackfillService {
+
+    /**
+     * Outcome of one batch.
+     *
+     * @param rowsUpdated rows the batch changed
+     * @param lastKey     the highest key processed so far in the current pass, by any node
+     * @param completed   whether no keys are left and no row is pending
+     */
+    public record Batch(int rowsUpdated, long lastKey, boolean completed) {
+    }
+
+    private final BackfillProgressRepository backfillProgressRepository;
+
+    @Autowired
+    public BackfillService(BackfillProgressRepository backfillProgressRepository) {
+        this.backfillProgressRepository = backfillProgressRepository;
+    }
+
+    /**
+     * Creates the progress row of the backfill unless it exists. Its own transaction, so a duplicate
+     * insert by another node does not roll back anything else.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public BackfillProgress startBackfill(String name) {
+        return backfillProgressRepository.findById(name)
+                .orElseGet(() -> backfillProgressRepository.save(new BackfillProgress(name)));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<BackfillProgress> getProgress(String name) {
+        return backfillProgressRepository.findById(name);
+    }
+
+    /**
+     * Updates the next batch of keys after the recorded progress and records the new progress in the
+     * same transaction, so a batch is either applied and recorded or neither.
+     */
+    public Batch runBatch(KeysetBackfill backfill, int batchSize) {
+        BackfillProgress progress = backfillProgressRepository.lockByName(backfill.name())
+                .orElseThrow(() -> new IllegalStateException("Backfill not started: " + backfill.name()));
+        if (progress.isCompleted()) {
+            return new Batch(0, progress.getLastKey(), true);
+        }
+        OptionalLong batchEnd = backfillProgressRepository.findBatchEnd(backfill, progress.getLastKey(), batchSize);
+        if (batchEnd.isEmpty()) {
+            if (backfillProgressRepository.hasPending(backfill)) {
+                // Rows written behind the pass; see KeysetBackfill. Another pass picks them up.
+                progress.setLastKey(0);
+                return new Batch(0, 0, false);
+            }
+            progress.setCompletedAt(LocalDateTime.now());
+            return new Batch(0, progress.getLastKey(), true);
+        }
+        int updated = backfillProgressRepository.updateBatch(backfill, progress.getLastKey(), batchEnd.getAsLong());
+        progress.setLastKey(batchEnd.getAsLong());
+        progress.setRowsUpdated(progress.getRowsUpdated() + updated);
+        return new Batch(updated, progress.getLastKey(), false);
+    }
+
+    /**
+     * The highest key currently in the backfilled table, to estimate how far the backfill has come.
+     */
+    @Transactional(readOnly = true)
+    public long getMaxKey(KeysetBackfill backfill) {
+        return backfillProgressRepository.findMaxKey(backfill);
+    }
+}
@@ -1,40 +1,149 @@
 package com.jbs.rocklms.service;
 
 import com.jbs.rocklms.entity.Course;
+import com.jbs.rocklms.event.CourseChangedEvent;
+import com.jbs.rocklms.jfr.CourseEvent;
+import com.jbs.rocklms.jfr.CourseServiceEvent;
+import com.jbs.rocklms.repository.CourseFilter;
 import com.jbs.rocklms.repository.CourseRepository;
+import com.jbs.rocklms.repository.CourseSpecifications;
+import com.jbs.rocklms.repository.CourseVersions;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.LongConsumer;
 
 @Service
 @Transactional
 public class CourseService {
     
     private final CourseRepository courseRepository;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Autowired
-    public CourseService(CourseRepository courseRepository) {
+    public CourseService(CourseRepository courseRepository, ApplicationEventPublisher eventPublisher) {
         this.courseRepository = courseRepository;
+        this.eventPublisher = eventPublisher;
     }
     
-    public List<Course> getAllCourses(Course.CourseStatus status) {
-        return courseRepository.findAllWithOptionalStatus(status);
+    /**
+     * Courses matching every criterion of the filter, in the given order.
+     */
+    @Transactional(readOnly = true)
+    public List<Course> findCourses(CourseFilter filter, Sort sort) {
+        CourseServiceEvent event = CourseServiceEvent.start("findCourses");
+        List<Course> courses = courseRepository.findAll(CourseSpecifications.matching(filter), sort);
+        event.status(filter.status()).rows(courses.size()).commit();
+        return courses;
     }
     
+    @Transactional(readOnly = true)
+    public void streamCourses(Course.CourseStatus status, RowCallbackHandler handler) {
+        CourseServiceEvent event = CourseServiceEvent.start("streamCourses");
+        int[] rows = new int[1];
+        courseRepository.streamRows(status, row -> {
+            handler.processRow(row);
+            rows[0]++;
+        });
+        event.status(status).rows(rows[0]).commit();
+    }
+    
+    /**
+     * Passes up to {@code limit} courses with an id above {@code afterId} to the handler, in id
+     * order, and returns how many it passed. Paging through a list this way holds a connection only
+     * while each page is read.
+     */
+    @Transactional(readOnly = true)
+    public int streamCourses(Course.CourseStatus status, long afterId, int limit, RowCallbackHandler handler) {
+        CourseServiceEvent event = CourseServiceEvent.start("streamCourses");
+        int rows = courseRepository.streamRows(status, afterId, limit, handler);
+        event.status(status).rows(rows).commit();
+        return rows;
+    }
+    
+    @Transactional(readOnly = true)
+    public void streamCourseIds(LongConsumer consumer) {
+        courseRepository.streamIds(consumer);
+    }
+    
+    /**
+     * Row version horizon for a read that follows; see {@link com.jbs.rocklms.repository.CourseVersions}.
+     */
+    @Transactional(readOnly = true)
+    public long getVersionHorizon() {
+        return courseRepository.currentVersionHorizon();
+    }
+    
+    /**
+     * Position of the course id sequence; see {@link com.jbs.rocklms.repository.CourseVersions}.
+     */
+    @Transactional(readOnly = true)
+    public CourseVersions.IdSequencePosition getIdSequencePosition() {
+        return courseRepository.currentIdSequencePosition();
+    }
+    
+    @Transactional(readOnly = true)
+    public void streamCourseIdsChangedSince(long version, LongConsumer consumer) {
+        courseRepository.streamIdsChangedSince(version, consumer);
+    }
+    
+    /**
+     * Deletes tombstones older than the retention; see {@link com.jbs.rocklms.repository.CourseVersions}.
+     */
+    public int pruneTombstones(Duration retention) {
+        return courseRepository.pruneTombstones(retention);
+    }
+    
+    @Transactional(readOnly = true)
+    public long getTombstonesPrunedThrough() {
+        return courseRepository.tombstonesPrunedThrough();
+    }
+    
+    @Transactional(readOnly = true)
     public Optional<Course> getCourseById(Long id) {
-        return courseRepository.findById(id);
+        CourseServiceEvent event = CourseServiceEvent.start("getCourseById");
+        Optional<Course> course = courseRepository.findById(id);
+        event.courseId(id).rows(course.isPresent() ? 1 : 0).commit();
+        return course;
+    }
+    
+    /**
+     * Loads the courses with the given ids in one query. Unknown ids are skipped; the result is in no
+     * particular order.
+     */
+    @Transactional(readOnly = true)
+    public List<Course> getCoursesByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        CourseServiceEvent event = CourseServiceEvent.start("getCoursesByIds");
+        List<Course> courses = courseRepository.findAllByIdAny(ids.toArray(Long[]::new));
+        event.rows(courses.size()).commit();
+        return courses;
     }
     
     public Course createCourse(String title, String description, Integer duration) {
-        Course course = new Course(title, description, duration);
-        return courseRepository.save(course);
+        CourseServiceEvent event = CourseServiceEvent.start("createCourse");
+        Course course = courseRepository.save(new Course(title, description, duration));
+        publishChange(course.getId(), CourseChangedEvent.Change.CREATED);
+        if (course.getId() != null) {
+            event.courseId(course.getId());
+        }
+        event.rows(1).commit();
+        return course;
     }
     
     public Course updateCourse(Long id, String title, String description, Integer duration) {
+        CourseEvent event = CourseServiceEvent.start("updateCourse").courseId(id);
         Course course = courseRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Course not found"));
         
@@ -46,21 +155,25 @@ public class CourseService {
         if (description != null) course.setDescription(description);
         if (duration != null) course.setDuration(duration);
         
-        return courseRepository.save(course);
+        return saveChanges(course, event);
     }
     
     public void deleteCourse(Long id) {
+        CourseServiceEvent event = CourseServiceEvent.start("deleteCourse");
         courseRepository.deleteById(id);
+        publishChange(id, CourseChangedEvent.Change.DELETED);
+        event.courseId(id).commit();
     }
     
     public Course publishCourse(Long id) {
+        CourseEvent event = CourseServiceEvent.start("publishCourse").courseId(id);
         Course course = courseRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Course not found"));
         
         validateCourseForPublication(course);
         
         publish(course);
-        return courseRepository.save(course);
+        return saveChanges(course, event);
     }
     
     private void validateCourseForPublication(Course course) {
@@ -75,12 +188,17 @@ public class CourseService {
         }
     }
     
+    /**
+     * On PostgreSQL the status change moves the row from the {@code courses_active} partition into
+     * {@code courses_archived}.
+     */
     public Course archiveCourse(Long id) {
+        CourseEvent event = CourseServiceEvent.start("archiveCourse").courseId(id);
         Course course = courseRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Course not found"));
         
         course.setStatus(Course.CourseStatus.ARCHIVED);
-        return courseRepository.save(course);
+        return saveChanges(course, event);
     }
     
     private void publish(Course course) {
@@ -91,4 +209,15 @@ public class CourseService {
     private boolean canBeEdited(Course course) {
         return course.getStatus() != Course.CourseStatus.ARCHIVED;
     }
+    
+    private Course saveChanges(Course course, CourseEvent event) {
+        Course saved = courseRepository.save(course);
+        publishChange(saved.getId(), CourseChangedEvent.Change.UPDATED);
+        event.rows(1).commit();
+        return saved;
+    }
+    
+    private void publishChange(Long id, CourseChangedEvent.Change change) {
+        eventPublisher.publishEvent(new CourseChangedEvent(id, change));
+    }
 }
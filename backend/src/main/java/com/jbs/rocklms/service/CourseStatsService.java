@@ -0,0 +1,74 @@
+package com.jbs.rocklms.service;
+
+import com.jbs.rocklms.entity.Course;
+import com.jbs.rocklms.entity.CourseStats;
+import com.jbs.rocklms.repository.CourseRepository;
+import com.jbs.rocklms.repository.CourseStatsRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional
+public class CourseStatsService {
+    
+    /**
+     * A course together with its persisted view count.
+     */
+    public record ViewedCourse(Course course, long viewCount) {
+    }
+    
+    private final CourseStatsRepository courseStatsRepository;
+    private final CourseRepository courseRepository;
+    
+    @Autowired
+    public CourseStatsService(CourseStatsRepository courseStatsRepository, CourseRepository courseRepository) {
+        this.courseStatsRepository = courseStatsRepository;
+        this.courseRepository = courseRepository;
+    }
+    
+    /**
+     * Adds view counts per course id. All or none of the deltas are applied.
+     */
+    public void addViews(Map<Long, Long> deltas) {
+        if (!deltas.isEmpty()) {
+            courseStatsRepository.addViews(deltas);
+        }
+    }
+    
+    /**
+     * The most viewed existing courses, most views first.
+     */
+    @Transactional(readOnly = true)
+    public List<ViewedCourse> getMostViewed(int limit) {
+        List<CourseStats> stats = courseStatsRepository.findMostViewed(Limit.of(limit));
+        if (stats.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Course> courses = courseRepository.findAllByIdAny(
+                        stats.stream().map(CourseStats::getCourseId).toArray(Long[]::new)).stream()
+                .collect(Collectors.toMap(Course::getId, Function.identity()));
+        List<ViewedCourse> viewed = new ArrayList<>(stats.size());
+        for (CourseStats entry : stats) {
+            Course course = courses.get(entry.getCourseId());
+            if (course != null) {
+                viewed.add(new ViewedCourse(course, entry.getViewCount()));
+            }
+        }
+        return viewed;
+    }
+    
+    // Called after the deleting transaction committed, which a joined transaction would never commit.
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void deleteStats(Long courseId) {
+        courseStatsRepository.deleteById(courseId);
+    }
+}
@@ -0,0 +1,320 @@
+package com.jbs.rocklms.similar;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Locality-sensitive hashing index over {@link MinHashSigner} signatures.
+ * <p>
+ * Each signature is cut into bands of consecutive values. Courses whose signatures are equal in at
+ * least one band are candidates, and only candidates are scored, so a query touches a handful of
+ * courses instead of the whole catalog. With {@code r} values per band, two courses of similarity
+ * {@code s} become candidates with probability {@code 1 - (1 - s^r)^bands}.
+ * <p>
+ * Everything lives in primitive arrays indexed by slot: the course id, its signature, and for every
+ * band plus the id lookup a link to the next slot in the same bucket. Bucket heads are hashed by
+ * band value (or id); a bucket may hold several band values, which queries tell apart by comparing
+ * the band bytes. Freed slots are reused, and all arrays double when the slots run out.
+ * <p>
+ * Catalogs with many identical texts put thousands of courses into one bucket; queries therefore
+ * stop collecting after {@code maxCandidates}, and removals walk such buckets to unlink the slot.
+ * Reads share a lock, writes are exclusive.
+ */
+public final class MinHashIndex {
+
+    /**
+     * A course similar to the one asked for, with its estimated Jaccard similarity.
+     */
+    public record Match(long courseId, double similarity) {
+    }
+
+    private static final int NONE = -1;
+    private static final long FREE = 0;
+
+    private final int hashes;
+    private final int bands;
+    private final int rows;
+    private final int chains;
+    private final int maxCandidates;
+    private final Lock readLock;
+    private final Lock writeLock;
+
+    private long[] ids;
+    private byte[] signatures;
+    private int[] next;
+    private int[] heads;
+    private int bucketMask;
+    private int used;
+    private int size;
+    private int freeSlots = NONE;
+
+    /**
+     * @param hashes        signature length, a multiple of {@code bands}
+     * @param maxCandidates most candidate slots a query collects before scoring
+     * @param expectedSize  courses to make room for up front
+     */
+    public MinHashIndex(int hashes, int bands, int maxCandidates, int expectedSize) {
+        if (bands < 1 || hashes % bands != 0) {
+            throw new IllegalArgumentException("Signature length " + hashes + " is not a multiple of " + bands + " bands");
+        }
+        this.hashes = hashes;
+        this.bands = bands;
+        this.rows = hashes / bands;
+        this.chains = bands + 1;
+        this.maxCandidates = maxCandidates;
+        ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        this.readLock = lock.readLock();
+        this.writeLock = lock.writeLock();
+        allocate(Integer.highestOneBit(Math.max(16, expectedSize) * 2 - 1));
+    }
+
+    public int hashes() {
+        return hashes;
+    }
+
+    /**
+     * Adds the course, or replaces its signature.
+     */
+    public void put(long courseId, byte[] signature, int offset) {
+        if (courseId == FREE) {
+            throw new IllegalArgumentException("Course id 0 is reserved");
+        }
+        writeLock.lock();
+        try {
+            int slot = find(courseId);
+            if (slot != NONE) {
+                for (int band = 0; band < bands; band++) {
+                    unlink(slot, band, bandKey(signatures, slot * hashes, band));
+                }
+            } else {
+                slot = newSlot();
+                ids[slot] = courseId;
+                link(slot, bands, idKey(courseId));
+                size++;
+            }
+            System.arraycopy(signature, offset, signatures, slot * hashes, hashes);
+            for (int band = 0; band < bands; band++) {
+                link(slot, band, bandKey(signatures, slot * hashes, band));
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Returns {@code false} if the course was not in the index.
+     */
+    public boolean remove(long courseId) {
+        writeLock.lock();
+        try {
+            int slot = find(courseId);
+            if (slot == NONE) {
+                return false;
+            }
+            for (int band = 0; band < bands; band++) {
+                unlink(slot, band, bandKey(signatures, slot * hashes, band));
+            }
+            unlink(slot, bands, idKey(courseId));
+            ids[slot] = FREE;
+            next[slot * chains + bands] = freeSlots;
+            freeSlots = slot;
+            size--;
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Courses similar to an indexed course, most similar first; empty if the course is not indexed.
+     */
+    public Optional<List<Match>> findSimilar(long courseId, int limit, double minSimilarity) {
+        readLock.lock();
+        try {
+            int slot = find(courseId);
+            if (slot == NONE) {
+                return Optional.empty();
+            }
+            return Optional.of(search(signatures, slot * hashes, courseId, limit, minSimilarity));
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Courses similar to the signature, most similar first, leaving out {@code excludedId}.
+     */
+    public List<Match> findSimilar(byte[] signature, int offset, long excludedId, int limit, double minSimilarity) {
+        readLock.lock();
+        try {
+            return search(signature, offset, excludedId, limit, minSimilarity);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    public boolean contains(long courseId) {
+        readLock.lock();
+        try {
+            return find(courseId) != NONE;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    public int size() {
+        readLock.lock();
+        try {
+            return size;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Heap used by the arrays.
+     */
+    public long memoryBytes() {
+        readLock.lock();
+        try {
+            return (long) ids.length * Long.BYTES + signatures.length
+                    + ((long) next.length + heads.length) * Integer.BYTES;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private List<Match> search(byte[] signature, int offset, long excludedId, int limit, double minSimilarity) {
+        int[] candidates = new int[maxCandidates];
+        int count = 0;
+        collect:
+        for (int band = 0; band < bands; band++) {
+            int key = bandKey(signature, offset, band);
+            for (int slot = heads[bucket(band, key)]; slot != NONE; slot = next[slot * chains + band]) {
+                if (ids[slot] != excludedId && sameBand(signature, offset, slot, band)) {
+                    candidates[count++] = slot;
+                    if (count == candidates.length) {
+                        break collect;
+                    }
+                }
+            }
+        }
+        Arrays.sort(candidates, 0, count);
+
+        List<Match> matches = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int slot = candidates[i];
+            if (i > 0 && candidates[i - 1] == slot) {
+                continue;
+            }
+            double similarity = MinHashSigner.similarity(signature, offset, signatures, slot * hashes, hashes);
+            if (similarity >= minSimilarity) {
+                matches.add(new Match(ids[slot], similarity));
+            }
+        }
+        matches.sort(Comparator.comparingDouble(Match::similarity).reversed()
+                .thenComparingLong(Match::courseId));
+        return matches.size() > limit ? List.copyOf(matches.subList(0, limit)) : matches;
+    }
+
+    private boolean sameBand(byte[] signature, int offset, int slot, int band) {
+        int from = band * rows;
+        return Arrays.equals(signature, offset + from, offset + from + rows,
+                signatures, slot * hashes + from, slot * hashes + from + rows);
+    }
+
+    private int find(long courseId) {
+        int slot = heads[bucket(bands, idKey(courseId))];
+        while (slot != NONE && ids[slot] != courseId) {
+            slot = next[slot * chains + bands];
+        }
+        return slot;
+    }
+
+    private int newSlot() {
+        if (freeSlots != NONE) {
+            int slot = freeSlots;
+            freeSlots = next[slot * chains + bands];
+            return slot;
+        }
+        if (used == ids.length) {
+            grow();
+        }
+        return used++;
+    }
+
+    private void link(int slot, int chain, int key) {
+        int bucket = bucket(chain, key);
+        next[slot * chains + chain] = heads[bucket];
+        heads[bucket] = slot;
+    }
+
+    private void unlink(int slot, int chain, int key) {
+        int bucket = bucket(chain, key);
+        int previous = NONE;
+        int current = heads[bucket];
+        while (current != slot) {
+            previous = current;
+            current = next[current * chains + chain];
+        }
+        if (previous == NONE) {
+            heads[bucket] = next[slot * chains + chain];
+        } else {
+            next[previous * chains + chain] = next[slot * chains + chain];
+        }
+    }
+
+    private int bucket(int chain, int key) {
+        return chain * (bucketMask + 1) + (key & bucketMask);
+    }
+
+    private void allocate(int capacity) {
+        ids = new long[capacity];
+        signatures = new byte[capacity * hashes];
+        next = new int[capacity * chains];
+        heads = new int[capacity * chains];
+        Arrays.fill(heads, NONE);
+        bucketMask = capacity - 1;
+    }
+
+    // Only called when no slot is free, so every used slot is live and is linked again.
+    private void grow() {
+        long[] oldIds = ids;
+        byte[] oldSignatures = signatures;
+        allocate(oldIds.length * 2);
+        System.arraycopy(oldIds, 0, ids, 0, used);
+        System.arraycopy(oldSignatures, 0, signatures, 0, used * hashes);
+        for (int slot = 0; slot < used; slot++) {
+            link(slot, bands, idKey(ids[slot]));
+            for (int band = 0; band < bands; band++) {
+                link(slot, band, bandKey(signatures, slot * hashes, band));
+            }
+        }
+    }
+
+    private int bandKey(byte[] signature, int offset, int band) {
+        int h = band;
+        for (int i = offset + band * rows, end = i + rows; i < end; i++) {
+            h = h * 31 + signature[i];
+        }
+        return mix(h);
+    }
+
+    private static int idKey(long courseId) {
+        return mix((int) (courseId ^ (courseId >>> 32)));
+    }
+
+    // MurmurHash3's finalizer, so neighbouring keys land in unrelated buckets.
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        return h ^ (h >>> 16);
+    }
+}
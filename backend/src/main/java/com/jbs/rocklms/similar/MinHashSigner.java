@@ -0,0 +1,129 @@
+package com.jbs.rocklms.similar;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Computes MinHash signatures of course texts, so that the share of equal signature values of two
+ * courses estimates the Jaccard similarity of their shingle sets.
+ * <p>
+ * The title and description are lower-cased, runs of anything but letters and digits become one
+ * space, and every {@value #SHINGLE_LENGTH} consecutive characters form a shingle. Each of the
+ * hash functions is a multiply-shift hash of the shingle's 64-bit fingerprint; its minimum over all
+ * shingles is one signature value.
+ * <p>
+ * Only the lowest 8 bits of each minimum are kept ("b-bit minwise hashing"), which makes a
+ * signature one byte per hash function. Unrelated texts then agree on about one value in 256 by
+ * chance, which {@link #similarity} corrects for.
+ */
+public final class MinHashSigner {
+
+    static final int SHINGLE_LENGTH = 5;
+
+    private static final double CHANCE = 1.0 / 256;
+
+    private final long[] multipliers;
+    private final long[] increments;
+
+    /**
+     * @param seed the same seed gives the same hash functions, so signatures stay comparable
+     */
+    public MinHashSigner(int hashes, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        multipliers = new long[hashes];
+        increments = new long[hashes];
+        for (int i = 0; i < hashes; i++) {
+            multipliers[i] = random.nextLong() | 1;
+            increments[i] = random.nextLong();
+        }
+    }
+
+    public int hashes() {
+        return multipliers.length;
+    }
+
+    /**
+     * Writes the signature of the course text to {@code signature[offset .. offset + hashes)}.
+     * Returns {@code false}, leaving the bytes alone, when the text has no letters or digits.
+     */
+    public boolean sign(String title, String description, byte[] signature, int offset) {
+        char[] text = normalize(title, description);
+        if (text.length == 0) {
+            return false;
+        }
+        int hashes = multipliers.length;
+        int[] minimums = new int[hashes];
+        Arrays.fill(minimums, Integer.MAX_VALUE);
+        int shingles = Math.max(1, text.length - SHINGLE_LENGTH + 1);
+        for (int start = 0; start < shingles; start++) {
+            long fingerprint = fingerprint(text, start, Math.min(text.length, start + SHINGLE_LENGTH));
+            for (int i = 0; i < hashes; i++) {
+                int value = (int) ((multipliers[i] * fingerprint + increments[i]) >>> 33);
+                if (value < minimums[i]) {
+                    minimums[i] = value;
+                }
+            }
+        }
+        for (int i = 0; i < hashes; i++) {
+            signature[offset + i] = (byte) minimums[i];
+        }
+        return true;
+    }
+
+    /**
+     * Estimated Jaccard similarity of the courses with these signatures, between 0 and 1.
+     */
+    public static double similarity(byte[] a, int aOffset, byte[] b, int bOffset, int hashes) {
+        int equal = 0;
+        for (int i = 0; i < hashes; i++) {
+            if (a[aOffset + i] == b[bOffset + i]) {
+                equal++;
+            }
+        }
+        double estimate = ((double) equal / hashes - CHANCE) / (1 - CHANCE);
+        return Math.max(0, estimate);
+    }
+
+    static char[] normalize(String title, String description) {
+        StringBuilder text = new StringBuilder((title == null ? 0 : title.length())
+                + (description == null ? 0 : description.length()) + 1);
+        append(text, title);
+        append(text, description);
+        int length = text.length();
+        if (length > 0 && text.charAt(length - 1) == ' ') {
+            length--;
+        }
+        char[] chars = new char[length];
+        text.getChars(0, length, chars, 0);
+        return chars;
+    }
+
+    private static void append(StringBuilder text, String value) {
+        if (value == null) {
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                text.append(Character.toLowerCase(c));
+            } else if (text.length() > 0 && text.charAt(text.length() - 1) != ' ') {
+                text.append(' ');
+            }
+        }
+        // Keeps the last word of the title apart from the first of the description.
+        if (text.length() > 0 && text.charAt(text.length() - 1) != ' ') {
+            text.append(' ');
+        }
+    }
+
+    // SplitMix64's finalizer over the characters, so similar shingles get unrelated fingerprints.
+    private static long fingerprint(char[] text, int from, int to) {
+        long h = 0;
+        for (int i = from; i < to; i++) {
+            h = (h << 16) ^ (h >>> 48) ^ text[i];
+        }
+        h = (h ^ (h >>> 30)) * 0xbf58476d1ce4e5b9L;
+        h = (h ^ (h >>> 27)) * 0x94d049bb133111ebL;
+        return h ^ (h >>> 31);
+    }
+}
@@ -0,0 +1,298 @@
+package com.jbs.rocklms.similar;
+
+import com.jbs.rocklms.entity.Course;
+import com.jbs.rocklms.event.CourseChangedEvent;
+import com.jbs.rocklms.service.CourseService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Finds courses with similar titles and descriptions through a {@link MinHashIndex} of all courses.
+ * <p>
+ * The index is built on a background thread once the application is ready: rows are streamed from
+ * the database in batches, and each batch is signed in parallel on the common fork-join pool before
+ * it is added. Committed changes are queued and applied on the same thread, so a query may miss a
+ * change for a moment but never sees a half-built index. A periodic rebuild picks up changes made
+ * by other replicas.
+ */
+@Component
+public class SimilarCourses {
+
+    private static final Logger log = LoggerFactory.getLogger(SimilarCourses.class);
+
+    // Fixed, so signatures computed by different replicas and builds agree.
+    private static final long SEED = 0x5eed_c0a5_e5L;
+
+    private final CourseService courseService;
+    private final boolean enabled;
+    private final int bands;
+    private final int maxCandidates;
+    private final double minSimilarity;
+    private final int batchSize;
+    private final MinHashSigner signer;
+
+    private volatile MinHashIndex index;
+    private final ConcurrentLinkedQueue<Long> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean patchScheduled = new AtomicBoolean();
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+    private final ExecutorService updateExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "similar-courses");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Timer fullBuildTimer;
+    private final Timer patchTimer;
+
+    @Autowired
+    public SimilarCourses(CourseService courseService, MeterRegistry meterRegistry,
+                          @Value("${rocklms.similar-courses.enabled:true}") boolean enabled,
+                          @Value("${rocklms.similar-courses.hashes:64}") int hashes,
+                          @Value("${rocklms.similar-courses.bands:16}") int bands,
+                          @Value("${rocklms.similar-courses.max-candidates:1000}") int maxCandidates,
+                          @Value("${rocklms.similar-courses.min-similarity:0.2}") double minSimilarity,
+                          @Value("${rocklms.similar-courses.build-batch-size:10000}") int batchSize) {
+        if (hashes % bands != 0) {
+            throw new IllegalArgumentException("rocklms.similar-courses.hashes must be a multiple of the bands");
+        }
+        this.courseService = courseService;
+        this.enabled = enabled;
+        this.bands = bands;
+        this.maxCandidates = maxCandidates;
+        this.minSimilarity = minSimilarity;
+        this.batchSize = batchSize;
+        this.signer = new MinHashSigner(hashes, SEED);
+        this.fullBuildTimer = buildTimer(meterRegistry, "full");
+        this.patchTimer = buildTimer(meterRegistry, "patch");
+        Gauge.builder("rocklms.similar.index.size", this, similar -> sizeOf(similar.index))
+                .description("Courses in the similar-courses index")
+                .register(meterRegistry);
+        Gauge.builder("rocklms.similar.index.memory", this, similar -> {
+                    MinHashIndex current = similar.index;
+                    return current == null ? 0 : current.memoryBytes();
+                })
+                .description("Heap used by the similar-courses index")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Courses similar to an indexed course, most similar first; empty if the course is not in the
+     * index (yet).
+     */
+    public Optional<List<MinHashIndex.Match>> findSimilar(long courseId, int limit) {
+        MinHashIndex current = index;
+        return current == null ? Optional.empty() : current.findSimilar(courseId, limit, minSimilarity);
+    }
+
+    /**
+     * Courses similar to one that is not indexed, such as one created a moment ago, signed on the spot.
+     */
+    public List<MinHashIndex.Match> findSimilar(Course course, int limit) {
+        MinHashIndex current = index;
+        byte[] signature = new byte[signer.hashes()];
+        if (current == null || !signer.sign(course.getTitle(), course.getDescription(), signature, 0)) {
+            return List.of();
+        }
+        return current.findSimilar(signature, 0, course.getId(), limit, minSimilarity);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        pending.add(event.courseId());
+        if (patchScheduled.compareAndSet(false, true)) {
+            updateExecutor.execute(() -> {
+                // Cleared before patching so that changes arriving meanwhile schedule another pass.
+                patchScheduled.set(false);
+                applyPending();
+            });
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        scheduleRebuild();
+    }
+
+    // Delayed by one interval: startup already builds the index.
+    @Scheduled(fixedDelayString = "${rocklms.similar-courses.refresh-interval:PT30M}",
+            initialDelayString = "${rocklms.similar-courses.refresh-interval:PT30M}")
+    public void refresh() {
+        scheduleRebuild();
+    }
+
+    /**
+     * Signs every course into a new index and installs it. Serialized with patching, so a patch
+     * never lands in an index this one replaced.
+     */
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        MinHashIndex current = index;
+        IndexBuilder builder = new IndexBuilder(new MinHashIndex(signer.hashes(), bands, maxCandidates,
+                sizeOf(current)));
+        try {
+            courseService.streamCourses(null, builder);
+            builder.flush();
+        } catch (RuntimeException e) {
+            log.warn("Could not build similar-courses index", e);
+            return;
+        }
+        index = builder.index;
+        fullBuildTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        updateExecutor.shutdownNow();
+    }
+
+    private void scheduleRebuild() {
+        if (enabled && rebuildScheduled.compareAndSet(false, true)) {
+            updateExecutor.execute(() -> {
+                rebuildScheduled.set(false);
+                rebuild();
+            });
+        }
+    }
+
+    /**
+     * Re-reads every course with a queued change and signs it again; courses that are gone are removed.
+     */
+    private synchronized void applyPending() {
+        Set<Long> ids = new HashSet<>();
+        for (Long id = pending.poll(); id != null; id = pending.poll()) {
+            ids.add(id);
+        }
+        MinHashIndex current = index;
+        if (ids.isEmpty() || current == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            byte[] signature = new byte[signer.hashes()];
+            for (Course course : courseService.getCoursesByIds(ids)) {
+                ids.remove(course.getId());
+                if (signer.sign(course.getTitle(), course.getDescription(), signature, 0)) {
+                    current.put(course.getId(), signature, 0);
+                } else {
+                    current.remove(course.getId());
+                }
+            }
+            // Whatever is left no longer exists.
+            ids.forEach(current::remove);
+            patchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        } catch (RuntimeException e) {
+            log.warn("Could not update similar-courses index, rebuilding", e);
+            scheduleRebuild();
+        }
+    }
+
+    private static int sizeOf(MinHashIndex index) {
+        return index == null ? 0 : index.size();
+    }
+
+    private static Timer buildTimer(MeterRegistry meterRegistry, String kind) {
+        return Timer.builder("rocklms.similar.index.build")
+                .description("Time to build or update the similar-courses index")
+                .tag("kind", kind)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Collects streamed rows into batches and signs each full batch in parallel before adding it.
+     */
+    private final class IndexBuilder implements RowCallbackHandler {
+
+        private final MinHashIndex index;
+        private final long[] ids = new long[batchSize];
+        private final String[] titles = new String[batchSize];
+        private final String[] descriptions = new String[batchSize];
+        private final boolean[] signed = new boolean[batchSize];
+        private final byte[] signatures = new byte[batchSize * signer.hashes()];
+        private int count;
+
+        private IndexBuilder(MinHashIndex index) {
+            this.index = index;
+        }
+
+        @Override
+        public void processRow(ResultSet row) throws SQLException {
+            ids[count] = row.getLong(1);
+            titles[count] = row.getString(2);
+            descriptions[count] = row.getString(3);
+            if (++count == batchSize) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            ForkJoinPool.commonPool().invoke(new SignTask(this, 0, count));
+            for (int i = 0; i < count; i++) {
+                if (signed[i]) {
+                    index.put(ids[i], signatures, i * signer.hashes());
+                }
+            }
+            count = 0;
+        }
+    }
+
+    private final class SignTask extends RecursiveAction {
+
+        private static final int THRESHOLD = 256;
+
+        private final IndexBuilder batch;
+        private final int from;
+        private final int to;
+
+        private SignTask(IndexBuilder batch, int from, int to) {
+            this.batch = batch;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    batch.signed[i] = signer.sign(batch.titles[i], batch.descriptions[i], batch.signatures,
+                            i * signer.hashes());
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new SignTask(batch, from, middle), new SignTask(batch, middle, to));
+        }
+    }
+}
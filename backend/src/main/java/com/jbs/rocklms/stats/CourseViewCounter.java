@@ -0,0 +1,177 @@
+package com.jbs.rocklms.stats;
+
+import com.jbs.rocklms.event.CourseChangedEvent;
+import com.jbs.rocklms.service.CourseStatsService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts course views in memory and adds them to {@code course_stats} in periodic batches.
+ * <p>
+ * A view is one {@link LongAdder} increment, which spreads concurrent updates of a popular course
+ * over several cells instead of contending on one value or one database row. Each flush moves the
+ * accumulated deltas into a single batched upsert, then reloads the most viewed courses of all
+ * replicas into memory, where {@link #getMostViewed} serves them. A final flush runs on shutdown.
+ */
+@Component
+public class CourseViewCounter {
+
+    private static final Logger log = LoggerFactory.getLogger(CourseViewCounter.class);
+
+    private final CourseStatsService courseStatsService;
+    private final boolean enabled;
+    private final int rankingSize;
+
+    // An adder is removed only when its course is deleted, under the flush monitor. A view recorded
+    // after that starts a new adder, whose flush writes nothing because the course is gone.
+    private final ConcurrentHashMap<Long, LongAdder> unflushed = new ConcurrentHashMap<>();
+    private volatile List<CourseStatsService.ViewedCourse> ranking = List.of();
+
+    private final Counter viewCounter;
+    private final Timer flushTimer;
+
+    @Autowired
+    public CourseViewCounter(CourseStatsService courseStatsService, MeterRegistry meterRegistry,
+                             @Value("${rocklms.view-stats.enabled:true}") boolean enabled,
+                             @Value("${rocklms.view-stats.ranking-size:100}") int rankingSize) {
+        this.courseStatsService = courseStatsService;
+        this.enabled = enabled;
+        this.rankingSize = rankingSize;
+        this.viewCounter = Counter.builder("rocklms.course.views")
+                .description("Course views counted")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("rocklms.course.views.flush")
+                .description("Time to write counted course views to the database")
+                .register(meterRegistry);
+        Gauge.builder("rocklms.course.views.unflushed", this, CourseViewCounter::unflushedViews)
+                .description("Course views counted but not yet written to the database")
+                .register(meterRegistry);
+    }
+
+    public void recordView(long courseId) {
+        if (!enabled) {
+            return;
+        }
+        LongAdder adder = unflushed.get(courseId);
+        if (adder == null) {
+            adder = unflushed.computeIfAbsent(courseId, id -> new LongAdder());
+        }
+        adder.increment();
+        viewCounter.increment();
+    }
+
+    /**
+     * The most viewed courses as of the last flush, most views first; at most
+     * {@code rocklms.view-stats.ranking-size} of them.
+     */
+    public List<CourseStatsService.ViewedCourse> getMostViewed(int limit) {
+        List<CourseStatsService.ViewedCourse> current = ranking;
+        return current.subList(0, Math.min(limit, current.size()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        if (!enabled || event.change() != CourseChangedEvent.Change.DELETED) {
+            return;
+        }
+        // Under the flush monitor, so a flush that already read this course's views writes them
+        // before the row is deleted, not after.
+        synchronized (this) {
+            LongAdder adder = unflushed.remove(event.courseId());
+            if (adder != null) {
+                adder.reset();
+            }
+            try {
+                courseStatsService.deleteStats(event.courseId());
+            } catch (RuntimeException e) {
+                log.warn("Could not delete view stats of course {}", event.courseId(), e);
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            refreshRanking();
+        }
+    }
+
+    /**
+     * Writes the views counted since the previous flush and reloads the ranking. Views that could
+     * not be written are kept for the next flush.
+     */
+    @Scheduled(fixedDelayString = "${rocklms.view-stats.flush-interval:PT10S}")
+    public synchronized void flush() {
+        if (!enabled) {
+            return;
+        }
+        writeUnflushed();
+        refreshRanking();
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (enabled) {
+            writeUnflushed();
+        }
+    }
+
+    private void writeUnflushed() {
+        // Subtracting what was read, rather than resetting, keeps views that arrive meanwhile.
+        Map<Long, Long> deltas = new HashMap<>();
+        unflushed.forEach((courseId, adder) -> {
+            long views = adder.sum();
+            if (views != 0) {
+                adder.add(-views);
+                deltas.put(courseId, views);
+            }
+        });
+        if (deltas.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            courseStatsService.addViews(deltas);
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        } catch (RuntimeException e) {
+            log.warn("Could not write {} course view counts, keeping them for the next flush", deltas.size(), e);
+            deltas.forEach((courseId, views) ->
+                    unflushed.computeIfAbsent(courseId, id -> new LongAdder()).add(views));
+        }
+    }
+
+    private void refreshRanking() {
+        try {
+            ranking = List.copyOf(courseStatsService.getMostViewed(rankingSize));
+        } catch (RuntimeException e) {
+            log.warn("Could not load the most viewed courses", e);
+        }
+    }
+
+    private double unflushedViews() {
+        long views = 0;
+        for (LongAdder adder : unflushed.values()) {
+            views += adder.sum();
+        }
+        return views;
+    }
+}
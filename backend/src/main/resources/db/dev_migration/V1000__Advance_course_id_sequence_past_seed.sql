@@ -0,0 +1,5 @@
+-- The seed inserts explicit ids, which bypass the sequence. Move the sequence past them, so new
+-- courses never draw an id a seeded course already has, and every id at or below the sequence
+-- value belongs to a course that was given it (the id filter relies on that).
+SELECT setval('courses_id_seq', (SELECT max(id) FROM courses))
+WHERE (SELECT max(id) FROM courses) > COALESCE(pg_sequence_last_value('courses_id_seq'), 0);
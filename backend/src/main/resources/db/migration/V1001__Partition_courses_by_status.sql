@@ -0,0 +1,43 @@
+-- Split courses into a hot partition (DRAFT, PUBLISHED) and a cold one (ARCHIVED).
+--
+-- The existing table becomes the ARCHIVED partition in place: archived rows are the bulk of the
+-- data and are never copied. Only the comparatively few active rows are moved into the new hot
+-- partition. From then on PostgreSQL moves a row between partitions whenever its status changes.
+
+ALTER TABLE courses RENAME TO courses_archived;
+ALTER TABLE courses_archived RENAME CONSTRAINT courses_pkey TO courses_archived_id_key;
+ALTER TABLE courses_archived ALTER COLUMN id DROP DEFAULT;
+DROP INDEX idx_courses_status;
+
+-- The partition key has to be part of the primary key. Ids still come from the single sequence.
+-- The CHECK is named after the one courses_archived already has, which ATTACH requires.
+CREATE TABLE courses (
+    id BIGINT NOT NULL DEFAULT nextval('courses_id_seq'),
+    title VARCHAR(255) NOT NULL,
+    description TEXT,
+    duration INTEGER,
+    status VARCHAR(20) NOT NULL DEFAULT 'DRAFT' CONSTRAINT courses_status_check CHECK (status IN ('DRAFT', 'PUBLISHED', 'ARCHIVED')),
+    published_at TIMESTAMP,
+    PRIMARY KEY (id, status)
+) PARTITION BY LIST (status);
+
+ALTER SEQUENCE courses_id_seq OWNED BY courses.id;
+
+CREATE TABLE courses_active PARTITION OF courses FOR VALUES IN ('DRAFT', 'PUBLISHED');
+CREATE INDEX idx_courses_active_status ON courses_active (status);
+
+INSERT INTO courses_active (id, title, description, duration, status, published_at)
+SELECT id, title, description, duration, status, published_at
+FROM courses_archived
+WHERE status <> 'ARCHIVED';
+
+DELETE FROM courses_archived WHERE status <> 'ARCHIVED';
+
+-- A validated CHECK matching the partition bound lets ATTACH skip its own full-table scan.
+ALTER TABLE courses_archived ADD CONSTRAINT courses_archived_status_check CHECK (status = 'ARCHIVED');
+ALTER TABLE courses_archived DROP CONSTRAINT courses_archived_id_key;
+ALTER TABLE courses_archived ADD CONSTRAINT courses_archived_pkey PRIMARY KEY (id, status);
+
+ALTER TABLE courses ATTACH PARTITION courses_archived FOR VALUES IN ('ARCHIVED');
+
+ALTER TABLE courses_archived DROP CONSTRAINT courses_archived_status_check;
@@ -0,0 +1,14 @@
+-- Indexes behind the filtered and sorted course lists (CourseSpecifications).
+--
+-- Each filterable and sortable column leads one index, so a range filter on it becomes an index
+-- range and a sort on it can be read in index order where the planner finds that cheaper. The
+-- trailing status lets a status filter be checked on the index entries before any row is fetched;
+-- within a partition it needs no index of its own. None of these cover the list query, which also
+-- selects description, so every match is still read from the table: no index-only scans.
+-- Created on the partitioned parent, so both partitions get them.
+CREATE INDEX idx_courses_title_status ON courses (title, status);
+CREATE INDEX idx_courses_duration_status ON courses (duration, status);
+CREATE INDEX idx_courses_published_at_status ON courses (published_at, status);
+
+-- Title prefixes are LIKE 'prefix%', which only pattern-ops indexes serve under a non-C collation.
+CREATE INDEX idx_courses_title_prefix ON courses (title text_pattern_ops);
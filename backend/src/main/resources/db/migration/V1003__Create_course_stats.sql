@@ -0,0 +1,11 @@
+-- View counts per course, written in batches by CourseViewCounter.
+--
+-- No foreign key: courses is partitioned with PRIMARY KEY (id, status), so course_id alone cannot
+-- reference it. Rows of deleted courses are removed by the application.
+CREATE TABLE course_stats (
+    course_id BIGINT PRIMARY KEY,
+    view_count BIGINT NOT NULL DEFAULT 0
+);
+
+-- The most viewed courses are read in index order.
+CREATE INDEX idx_course_stats_view_count ON course_stats (view_count DESC, course_id);
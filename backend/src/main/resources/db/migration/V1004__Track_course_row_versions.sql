@@ -0,0 +1,43 @@
+-- Row versions that let a node load a course catalog snapshot from disk and fetch only what changed
+-- after it was taken.
+--
+-- A row's version is the id of the transaction that last wrote it. A snapshot records the oldest
+-- transaction still running when it was read (pg_snapshot_xmin); every write by an older
+-- transaction is already in it, so the delta is whatever has a version at or above that horizon.
+-- Unlike a sequence value, a transaction id cannot be overtaken by a slower transaction that
+-- commits later.
+
+ALTER TABLE courses ADD COLUMN row_version BIGINT NOT NULL DEFAULT 0;
+CREATE INDEX idx_courses_row_version ON courses (row_version);
+
+CREATE FUNCTION courses_set_row_version() RETURNS trigger AS $$
+BEGIN
+    NEW.row_version := pg_current_xact_id()::text::bigint;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER courses_row_version
+    BEFORE INSERT OR UPDATE ON courses
+    FOR EACH ROW EXECUTE FUNCTION courses_set_row_version();
+
+-- Deleted rows leave nothing to version, so their ids are recorded here. A status change that moves
+-- a row between partitions is a delete plus an insert and also lands here; readers re-check every
+-- id against courses, so that is harmless.
+CREATE TABLE course_tombstones (
+    course_id BIGINT NOT NULL,
+    row_version BIGINT NOT NULL
+);
+CREATE INDEX idx_course_tombstones_row_version ON course_tombstones (row_version);
+
+CREATE FUNCTION courses_record_tombstone() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO course_tombstones (course_id, row_version)
+    VALUES (OLD.id, pg_current_xact_id()::text::bigint);
+    RETURN OLD;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER courses_tombstone
+    AFTER DELETE ON courses
+    FOR EACH ROW EXECUTE FUNCTION courses_record_tombstone();
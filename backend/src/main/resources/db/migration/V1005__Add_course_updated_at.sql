@@ -0,0 +1,19 @@
+-- Last modification time of a course, set by the application on every write from now on.
+--
+-- A nullable column without a default is a catalog-only change: no row is rewritten and the table
+-- lock is held only for an instant. Existing rows are filled in afterwards, in small batches, by
+-- the course-updated-at backfill (CourseUpdatedAtBackfill) while the application serves traffic.
+-- The lock timeout keeps the ALTER from queueing behind a long transaction and stalling every
+-- request that arrives after it; the migration fails instead and can simply be retried.
+SET LOCAL lock_timeout = '5s';
+
+ALTER TABLE courses ADD COLUMN updated_at TIMESTAMP;
+
+-- Progress of the batched backfills: the highest key processed so far, so a restarted node resumes
+-- where the last batch committed. Batches lock their row, so several nodes take turns.
+CREATE TABLE backfill_progress (
+    name VARCHAR(100) PRIMARY KEY,
+    last_key BIGINT NOT NULL DEFAULT 0,
+    rows_updated BIGINT NOT NULL DEFAULT 0,
+    completed_at TIMESTAMP
+);
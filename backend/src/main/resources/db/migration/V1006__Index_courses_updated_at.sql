@@ -0,0 +1,16 @@
+-- Index on courses.updated_at, built without blocking writes.
+--
+-- CREATE INDEX CONCURRENTLY cannot run inside a transaction (see the .sql.conf next to this file)
+-- and is not supported on a partitioned table. So the index is declared on the parent only, where
+-- it starts out invalid and costs nothing, each partition is indexed concurrently, and attaching
+-- the last partition index makes the parent index valid.
+--
+-- Every statement commits on its own. If a concurrent build fails it leaves an INVALID index
+-- behind; drop that index and run the migration again, the IF NOT EXISTS clauses skip what is done.
+CREATE INDEX IF NOT EXISTS idx_courses_updated_at ON ONLY courses (updated_at);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_courses_active_updated_at ON courses_active (updated_at);
+ALTER INDEX idx_courses_updated_at ATTACH PARTITION idx_courses_active_updated_at;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_courses_archived_updated_at ON courses_archived (updated_at);
+ALTER INDEX idx_courses_updated_at ATTACH PARTITION idx_courses_archived_updated_at;
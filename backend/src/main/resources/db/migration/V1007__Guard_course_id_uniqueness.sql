@@ -0,0 +1,28 @@
+-- Course ids stay unique after V1001, as far as PostgreSQL can enforce it on a partitioned table.
+--
+-- The primary key of the partitioned courses table is (id, status), because a unique constraint on
+-- a partitioned table has to include the partition key. Within courses_archived, whose only status
+-- is ARCHIVED, that key already makes id unique. courses_active holds two statuses, so the same id
+-- could exist once as DRAFT and once as PUBLISHED; the unique index below rules that out.
+--
+-- An id in both partitions cannot be prevented by an index. Ids therefore come only from
+-- courses_id_seq, the column default: the application never sets ids, and a row changing status
+-- moves between partitions with its id. Scripts that insert explicit ids must move the sequence
+-- past them (see the dev seed).
+--
+-- Databases that ran the dev seed before its sequence fix may already hold ids the sequence handed
+-- out a second time. Of each such id, the copy written first keeps it and the others get new ids.
+--
+-- Built concurrently so writes to the hot partition are not blocked; like V1006 this runs outside a
+-- transaction (see the .sql.conf next to this file). If the build fails it leaves an INVALID index
+-- behind; drop it and run the migration again.
+
+UPDATE courses
+SET id = nextval('courses_id_seq')
+WHERE (id, status) IN (
+    SELECT id, status
+    FROM (SELECT id, status, row_number() OVER (PARTITION BY id ORDER BY row_version, status) AS copy
+          FROM courses) copies
+    WHERE copy > 1);
+
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS courses_active_id_key ON courses_active (id);
@@ -0,0 +1,9 @@
+-- Tombstones (V1004) are only needed by snapshot files older than the deletes they record, so they can
+-- be pruned after a retention period. A file whose version is at or below the highest row version
+-- ever pruned may have lost tombstones it needs; loading such a file falls back to a full build.
+ALTER TABLE course_tombstones ADD COLUMN recorded_at TIMESTAMP NOT NULL DEFAULT now();
+
+CREATE TABLE course_tombstones_pruned (
+    pruned_through BIGINT NOT NULL
+);
+INSERT INTO course_tombstones_pruned (pruned_through) VALUES (0);
@@ -0,0 +1,223 @@
+package com.jbs.rocklms.admission;
+
+import com.jbs.rocklms.api.CoursesApi;
+import com.jbs.rocklms.model.CourseCreateRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.method.HandlerMethod;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdmissionControlInterceptorTest {
+
+    private static final long THRESHOLD = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+    @Nested
+    @DisplayName("Adaptive Limiter Tests")
+    class AdaptiveLimiterTests {
+
+        @Test
+        @DisplayName("Should refuse requests beyond the allowed share of the limit")
+        void shouldRefuseBeyondShare() {
+            AdaptiveLimiter limiter = new AdaptiveLimiter(10, 1, 100, THRESHOLD, 0.5);
+
+            for (int i = 0; i < 5; i++) {
+                assertThat(limiter.tryAcquire(0.5)).isTrue();
+            }
+            assertThat(limiter.tryAcquire(0.5)).isFalse();
+            assertThat(limiter.tryAcquire(1.0)).isTrue();
+            assertThat(limiter.getInFlight()).isEqualTo(6);
+        }
+
+        @Test
+        @DisplayName("Should grow the limit additively while it is in use and requests are fast")
+        void shouldGrowWhenFast() {
+            AdaptiveLimiter limiter = new AdaptiveLimiter(10, 1, 100, THRESHOLD, 0.5);
+
+            for (int round = 0; round < 10; round++) {
+                int limit = limiter.getLimit();
+                for (int i = 0; i < limit; i++) {
+                    limiter.tryAcquire(1.0);
+                }
+                for (int i = 0; i < limit; i++) {
+                    limiter.release(0, FAST, false);
+                }
+            }
+
+            assertThat(limiter.getLimit()).isBetween(14, 20);
+        }
+
+        @Test
+        @DisplayName("Should not grow the limit when concurrency stays well below it")
+        void shouldNotGrowWhenIdle() {
+            AdaptiveLimiter limiter = new AdaptiveLimiter(10, 1, 100, THRESHOLD, 0.5);
+
+            for (int i = 0; i < 1_000; i++) {
+                limiter.tryAcquire(1.0);
+                limiter.release(0, FAST, false);
+            }
+
+            assertThat(limiter.getLimit()).isEqualTo(10);
+        }
+
+        @Test
+        @DisplayName("Should back off multiplicatively once per burst of slow or failed requests")
+        void shouldBackOffOncePerBurst() {
+            AdaptiveLimiter limiter = new AdaptiveLimiter(40, 5, 100, THRESHOLD, 0.5);
+
+            for (int i = 0; i < 3; i++) {
+                limiter.tryAcquire(1.0);
+            }
+            // Three requests started together and all came back slow: one cut
+            limiter.release(0, SLOW, false);
+            limiter.release(0, SLOW + 1, false);
+            limiter.release(0, SLOW + 2, true);
+            assertThat(limiter.getLimit()).isEqualTo(20);
+
+            // A request started after the cut may cut again, down to the minimum
+            for (int i = 0; i < 3; i++) {
+                long start = SLOW * (i + 2);
+                limiter.tryAcquire(1.0);
+                limiter.release(start, start + SLOW, false);
+            }
+            assertThat(limiter.getLimit()).isEqualTo(5);
+        }
+
+        @Test
+        @DisplayName("Should reject inconsistent limits")
+        void shouldRejectInvalidLimits() {
+            assertThatThrownBy(() -> new AdaptiveLimiter(5, 10, 100, THRESHOLD, 0.5))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> new AdaptiveLimiter(10, 1, 100, THRESHOLD, 1.5))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Interceptor Tests")
+    class InterceptorTests {
+
+        private final CoursesApi api = new CoursesApi() {
+        };
+
+        private SimpleMeterRegistry meterRegistry;
+        private AdmissionControlInterceptor interceptor;
+
+        @BeforeEach
+        void setUp() {
+            meterRegistry = new SimpleMeterRegistry();
+            interceptor = new AdmissionControlInterceptor(
+                    new AdaptiveLimiter(4, 1, 100, THRESHOLD, 0.5),
+                    new AdaptiveLimiter(1, 1, 100, THRESHOLD, 0.5),
+                    0.5, Duration.ofSeconds(2), meterRegistry);
+        }
+
+        @Test
+        @DisplayName("Should shed list requests first with 503 and Retry-After")
+        void shouldShedListsFirst() throws Exception {
+            HandlerMethod list = handler("findAllCourses", String.class, Integer.class, Integer.class,
+                    OffsetDateTime.class, OffsetDateTime.class, String.class, String.class);
+            HandlerMethod read = handler("findCourseById", Integer.class);
+
+            assertThat(interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), list)).isTrue();
+            assertThat(interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), list)).isTrue();
+
+            MockHttpServletResponse shed = new MockHttpServletResponse();
+            assertThat(interceptor.preHandle(new MockHttpServletRequest(), shed, list)).isFalse();
+            assertThat(shed.getStatus()).isEqualTo(503);
+            assertThat(shed.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+
+            assertThat(interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), read)).isTrue();
+            assertThat(meterRegistry.get("rocklms.admission.rejected").tag("operation", "list").counter().count())
+                    .isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should limit writes separately from reads")
+        void shouldLimitWritesSeparately() throws Exception {
+            HandlerMethod create = handler("createCourse", CourseCreateRequest.class, String.class);
+            HandlerMethod read = handler("findCourseById", Integer.class);
+
+            assertThat(interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), create)).isTrue();
+            assertThat(interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), create)).isFalse();
+            assertThat(interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), read)).isTrue();
+            assertThat(meterRegistry.get("rocklms.admission.rejected").tag("operation", "write").counter().count())
+                    .isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should count similar-course suggestions against the read limit")
+        void shouldAdmitSimilarCoursesAsReads() throws Exception {
+            HandlerMethod create = handler("createCourse", CourseCreateRequest.class, String.class);
+            HandlerMethod similar = handler("findSimilarCourses", Integer.class, Integer.class);
+
+            assertThat(interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), similar)).isTrue();
+            assertThat(interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), create)).isTrue();
+            assertThat(meterRegistry.get("rocklms.admission.in.flight").tag("kind", "read").gauge().value())
+                    .isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should free the slot when the request completes")
+        void shouldReleaseOnCompletion() throws Exception {
+            HandlerMethod create = handler("createCourse", CourseCreateRequest.class, String.class);
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            interceptor.preHandle(request, response, create);
+            assertThat(meterRegistry.get("rocklms.admission.in.flight").tag("kind", "write").gauge().value())
+                    .isEqualTo(1);
+
+            interceptor.afterCompletion(request, response, create, null);
+            assertThat(meterRegistry.get("rocklms.admission.in.flight").tag("kind", "write").gauge().value())
+                    .isEqualTo(0);
+            assertThat(interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), create)).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should classify every API operation by its request mapping")
+        void shouldClassifyEveryOperation() {
+            Map<String, AdmissionControlInterceptor.Operation> expected = Map.ofEntries(
+                    Map.entry("findAllCourses", AdmissionControlInterceptor.Operation.LIST),
+                    Map.entry("findCourseById", AdmissionControlInterceptor.Operation.READ),
+                    Map.entry("findPopularCourses", AdmissionControlInterceptor.Operation.READ),
+                    Map.entry("findSimilarCourses", AdmissionControlInterceptor.Operation.READ),
+                    Map.entry("batchGetCourses", AdmissionControlInterceptor.Operation.READ),
+                    Map.entry("createCourse", AdmissionControlInterceptor.Operation.WRITE),
+                    Map.entry("updateCourse", AdmissionControlInterceptor.Operation.WRITE),
+                    Map.entry("removeCourse", AdmissionControlInterceptor.Operation.WRITE),
+                    Map.entry("publishCourse", AdmissionControlInterceptor.Operation.WRITE),
+                    Map.entry("archiveCourse", AdmissionControlInterceptor.Operation.WRITE));
+
+            Map<String, AdmissionControlInterceptor.Operation> classified = Arrays.stream(CoursesApi.class.getMethods())
+                    .filter(method -> AnnotatedElementUtils.hasAnnotation(method, RequestMapping.class))
+                    .collect(Collectors.toMap(Method::getName,
+                            method -> AdmissionControlInterceptor.classify(new HandlerMethod(api, method))));
+
+            assertThat(classified).isEqualTo(expected);
+        }
+
+        private HandlerMethod handler(String operationId, Class<?>... parameterTypes) throws NoSuchMethodException {
+            return new HandlerMethod(api, CoursesApi.class.getMethod(operationId, parameterTypes));
+        }
+    }
+}
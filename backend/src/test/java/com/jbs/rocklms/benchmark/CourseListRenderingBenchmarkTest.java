@@ -0,0 +1,123 @@
+package com.jbs.rocklms.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.jbs.rocklms.entity.Course;
+import com.jbs.rocklms.mapper.CourseJsonWriter;
+import com.jbs.rocklms.mapper.CourseMapper;
+import com.jbs.rocklms.model.CourseDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares rendering a 1,000-course list through {@link CourseMapper} and {@link ObjectMapper}
+ * with {@link CourseJsonWriter}, reporting allocated bytes per list ({@code gc.alloc.rate.norm}).
+ * <p>
+ * Excluded from the default build; run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CourseListRenderingBenchmarkTest {
+
+    private static final int COURSE_COUNT = 1_000;
+
+    private ObjectMapper objectMapper;
+    private CourseMapper courseMapper;
+    private CourseJsonWriter courseJsonWriter;
+    private List<Course> courses;
+
+    @Setup
+    public void setUp() {
+        // Same date handling as the application mapper configured by Spring Boot.
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        courseMapper = new CourseMapper();
+        courseJsonWriter = new CourseJsonWriter(objectMapper);
+
+        Course.CourseStatus[] statuses = Course.CourseStatus.values();
+        courses = new ArrayList<>(COURSE_COUNT);
+        for (int i = 0; i < COURSE_COUNT; i++) {
+            Course course = new Course("Course " + i, "Description for course " + i, 10 + i % 50);
+            course.setId((long) i + 1);
+            course.setStatus(statuses[i % statuses.length]);
+            course.setPublishedAt(i % 3 == 0 ? null : LocalDateTime.of(2024, 1, 1, 12, 0).plusMinutes(i));
+            courses.add(course);
+        }
+    }
+
+    @Benchmark
+    public void dtoList() throws IOException {
+        List<CourseDto> dtos = new ArrayList<>(courses.size());
+        for (Course course : courses) {
+            dtos.add(courseMapper.toDto(course));
+        }
+        // writeValue closes its target, so each list gets its own sink.
+        objectMapper.writeValue(OutputStream.nullOutputStream(), dtos);
+    }
+
+    @Benchmark
+    public void jsonWriter() throws IOException {
+        try (CourseJsonWriter.ListWriter list = courseJsonWriter.open(OutputStream.nullOutputStream())) {
+            for (Course course : courses) {
+                list.write(course.getId(), course.getTitle(), course.getDescription(), course.getDuration(),
+                        course.getStatus(), course.getPublishedAt());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Writing straight to the generator should allocate less per list than mapping to CourseDtos")
+    void compareAllocation() throws Exception {
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(getClass().getName() + "\\.")
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+
+        double dtoBytes = allocatedBytesPerList(results, "dtoList");
+        double writerBytes = allocatedBytesPerList(results, "jsonWriter");
+        // The JMH runner reports both scores; only the comparison is checked here.
+        assertThat(writerBytes).isLessThan(dtoBytes / 2);
+    }
+
+    private static double allocatedBytesPerList(Collection<RunResult> results, String benchmark) {
+        return results.stream()
+                .filter(result -> result.getParams().getBenchmark().endsWith("." + benchmark))
+                .findFirst()
+                .orElseThrow()
+                .getSecondaryResults()
+                .get("gc.alloc.rate.norm")
+                .getScore();
+    }
+}
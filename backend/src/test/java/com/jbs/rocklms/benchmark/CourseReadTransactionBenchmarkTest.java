@@ -0,0 +1,109 @@
+package com.jbs.rocklms.benchmark;
+
+import com.jbs.rocklms.entity.Course;
+import com.jbs.rocklms.repository.CourseRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the same list read in a read-only and in a read-write transaction, on a 50k-course
+ * dataset: a read-only transaction lets Hibernate skip the snapshots it keeps for dirty checking.
+ * <p>
+ * Excluded from the default build; run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CourseReadTransactionBenchmarkTest {
+
+    private static final int COURSE_COUNT = 50_000;
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASURED_ITERATIONS = 10;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeAll
+    void seedCourses() {
+        courseRepository.deleteAllInBatch();
+        Course.CourseStatus[] statuses = Course.CourseStatus.values();
+        List<Object[]> rows = new ArrayList<>(COURSE_COUNT);
+        for (int i = 0; i < COURSE_COUNT; i++) {
+            rows.add(new Object[]{
+                    "Course " + i,
+                    "Description of benchmark course number " + i,
+                    1 + i % 120,
+                    statuses[i % statuses.length].name()
+            });
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO courses (title, description, duration, status) VALUES (?, ?, ?, ?)", rows);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        courseRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Read-only list transaction should allocate less than a read-write one")
+    void readOnlyListShouldAllocateLessThanReadWrite() {
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        // The same unhinted query in both, so only the transaction's read-only flag differs.
+        Measurement readWriteResult = measure(() -> readWrite.execute(status -> courseRepository.findAll()));
+        Measurement readOnlyResult = measure(() -> readOnly.execute(status -> courseRepository.findAll()));
+
+        assertThat(readOnlyResult.bytes())
+                .as("bytes per list, read-only vs read-write %s", readWriteResult)
+                .isLessThan(readWriteResult.bytes() * 9 / 10);
+    }
+
+    private Measurement measure(Supplier<List<Course>> read) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            assertThat(read.get()).hasSize(COURSE_COUNT);
+        }
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        long bytesBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            read.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        long bytes = threads.getThreadAllocatedBytes(threadId) - bytesBefore;
+
+        return new Measurement(bytes / MEASURED_ITERATIONS, elapsed / 1_000_000.0 / MEASURED_ITERATIONS);
+    }
+
+    private record Measurement(long bytes, double millis) {
+    }
+}
@@ -0,0 +1,114 @@
+package com.jbs.rocklms.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.jbs.rocklms.entity.Course;
+import com.jbs.rocklms.mapper.CourseJsonWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CourseCatalogSnapshotFileTest {
+
+    @TempDir
+    private Path directory;
+
+    private CourseJsonWriter courseJsonWriter;
+    private CourseCatalogSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        courseJsonWriter = new CourseJsonWriter(new ObjectMapper().registerModule(new JavaTimeModule()));
+
+        CourseCatalogSnapshot.Builder builder = new CourseCatalogSnapshot.Builder(4);
+        builder.add(course(3L, "Gitarre für Anfänger", "Shared", 45, Course.CourseStatus.PUBLISHED,
+                LocalDateTime.of(2025, 3, 1, 9, 30, 15, 123456000)));
+        builder.add(course(1L, "Drums", null, null, Course.CourseStatus.DRAFT, null));
+        builder.add(course(2L, "Bass 🎸", "Shared", 30, Course.CourseStatus.ARCHIVED,
+                LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999999000)));
+        snapshot = builder.build(1234L);
+    }
+
+    @Test
+    @DisplayName("Should read back the same courses, strings and version")
+    void shouldRoundTrip() throws IOException {
+        Path file = directory.resolve("catalog.snapshot");
+        CourseCatalogSnapshotFile.write(snapshot, file);
+
+        CourseCatalogSnapshot loaded = CourseCatalogSnapshotFile.read(file);
+
+        assertThat(loaded.version()).isEqualTo(1234L);
+        assertThat(loaded.size()).isEqualTo(3);
+        for (Course.CourseStatus status : new Course.CourseStatus[] {null, Course.CourseStatus.DRAFT,
+                Course.CourseStatus.PUBLISHED, Course.CourseStatus.ARCHIVED}) {
+            assertThat(render(loaded, status)).isEqualTo(render(snapshot, status));
+        }
+        assertThat(render(loaded, null)).startsWith("[{\"id\":1,").contains("Gitarre für Anfänger");
+        assertThat(directory.toFile().list()).containsExactly("catalog.snapshot");
+    }
+
+    @Test
+    @DisplayName("Should keep the patched courses and the new version after a round trip")
+    void shouldRoundTripPatchedSnapshot() throws IOException {
+        CourseCatalogSnapshot patched = snapshot.patch(
+                List.of(course(4L, "Vocals", "New", 20, Course.CourseStatus.DRAFT, null)), List.of(2L), 5678L);
+        Path file = directory.resolve("catalog.snapshot");
+        CourseCatalogSnapshotFile.write(patched, file);
+
+        CourseCatalogSnapshot loaded = CourseCatalogSnapshotFile.read(file);
+
+        assertThat(loaded.version()).isEqualTo(5678L);
+        assertThat(render(loaded, null)).isEqualTo(render(patched, null)).doesNotContain("Bass");
+    }
+
+    @Test
+    @DisplayName("Should reject truncated and corrupted files")
+    void shouldRejectDamagedFiles() throws IOException {
+        Path file = directory.resolve("catalog.snapshot");
+        CourseCatalogSnapshotFile.write(snapshot, file);
+        byte[] bytes = Files.readAllBytes(file);
+
+        Path truncated = directory.resolve("truncated.snapshot");
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 1));
+        assertThatThrownBy(() -> CourseCatalogSnapshotFile.read(truncated)).isInstanceOf(IOException.class);
+
+        Path corrupted = directory.resolve("corrupted.snapshot");
+        bytes[80] ^= 1;
+        Files.write(corrupted, bytes);
+        assertThatThrownBy(() -> CourseCatalogSnapshotFile.read(corrupted)).isInstanceOf(IOException.class);
+
+        Path empty = directory.resolve("empty.snapshot");
+        Files.createFile(empty);
+        assertThatThrownBy(() -> CourseCatalogSnapshotFile.read(empty)).isInstanceOf(IOException.class);
+    }
+
+    private String render(CourseCatalogSnapshot source, Course.CourseStatus status) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (CourseJsonWriter.ListWriter writer = courseJsonWriter.open(out)) {
+            source.write(writer, status);
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static Course course(Long id, String title, String description, Integer duration,
+                                 Course.CourseStatus status, LocalDateTime publishedAt) {
+        Course course = new Course(title, description, duration);
+        course.setId(id);
+        course.setStatus(status);
+        course.setPublishedAt(publishedAt);
+        return course;
+    }
+}
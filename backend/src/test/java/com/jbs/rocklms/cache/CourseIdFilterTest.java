@@ -0,0 +1,202 @@
+package com.jbs.rocklms.cache;
+
+import com.jbs.rocklms.event.CourseChangedEvent;
+import com.jbs.rocklms.repository.CourseVersions;
+import com.jbs.rocklms.service.CourseService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CourseIdFilterTest {
+
+    private static final Duration SETTLE_TIMEOUT = Duration.ofMillis(200);
+
+    @Mock
+    private CourseService courseService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CourseIdFilter courseIdFilter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        courseIdFilter = new CourseIdFilter(courseService, meterRegistry, true, 1_000_000, 10, SETTLE_TIMEOUT);
+    }
+
+    @Test
+    @DisplayName("Should reject ids that do not exist and pass ids that do")
+    void shouldRejectMissingIds() {
+        // Ids 1..200 except the multiples of 7
+        givenCourseIds(LongStream.rangeClosed(1, 200).filter(id -> id % 7 != 0).toArray());
+        givenSequenceAt(200);
+
+        courseIdFilter.rebuild();
+
+        assertThat(courseIdFilter.mightExist(1)).isTrue();
+        assertThat(courseIdFilter.mightExist(64)).isTrue();
+        assertThat(courseIdFilter.mightExist(7)).isFalse();
+        assertThat(courseIdFilter.mightExist(140)).isFalse();
+        assertThat(courseIdFilter.mightExist(0)).isFalse();
+        assertThat(courseIdFilter.mightExist(-5)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should pass ids above the covered range, where other transactions may still commit")
+    void shouldPassRecentAndUnknownIds() {
+        givenCourseIds(1, 2, 100);
+        givenSequenceAt(100);
+
+        courseIdFilter.rebuild();
+
+        assertThat(courseIdFilter.mightExist(50)).isFalse();
+        assertThat(courseIdFilter.mightExist(95)).isTrue();
+        assertThat(courseIdFilter.mightExist(5_000)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should pass ids the sequence had not handed out when the scan started")
+    void shouldPassIdsAboveSequence() {
+        // Seeded with explicit ids above the sequence, which later hands out 41, 42, ... elsewhere
+        givenCourseIds(LongStream.concat(LongStream.rangeClosed(1, 40).filter(id -> id != 20),
+                LongStream.rangeClosed(1001, 1018)).toArray());
+        givenSequenceAt(50);
+
+        courseIdFilter.rebuild();
+
+        assertThat(courseIdFilter.mightExist(20)).isFalse();
+        assertThat(courseIdFilter.mightExist(30)).isTrue();
+        assertThat(courseIdFilter.mightExist(45)).isTrue();
+        assertThat(courseIdFilter.mightExist(500)).isTrue();
+        assertThat(courseIdFilter.mightExist(1001)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should scan only after transactions open at the sequence read have ended")
+    void shouldWaitForOpenTransactions() {
+        givenCourseIds(1, 2, 100);
+        when(courseService.getIdSequencePosition()).thenReturn(new CourseVersions.IdSequencePosition(100, 10));
+        when(courseService.getVersionHorizon()).thenReturn(7L, 9L, 10L);
+
+        courseIdFilter.rebuild();
+
+        verify(courseService, times(3)).getVersionHorizon();
+        assertThat(courseIdFilter.mightExist(50)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should keep passing every id while a transaction stays open past the timeout")
+    void shouldGiveUpOnLongTransactions() {
+        when(courseService.getIdSequencePosition()).thenReturn(new CourseVersions.IdSequencePosition(100, 10));
+        when(courseService.getVersionHorizon()).thenReturn(7L);
+
+        courseIdFilter.rebuild();
+
+        verify(courseService, never()).streamCourseIds(any());
+        assertThat(courseIdFilter.mightExist(50)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should pass every id before the first build and when disabled")
+    void shouldPassEverythingWithoutBitmap() {
+        assertThat(courseIdFilter.mightExist(42)).isTrue();
+
+        CourseIdFilter disabled = new CourseIdFilter(courseService, new SimpleMeterRegistry(), false, 1_000_000, 10,
+                SETTLE_TIMEOUT);
+        disabled.rebuild();
+
+        assertThat(disabled.mightExist(42)).isTrue();
+        verify(courseService, never()).streamCourseIds(any());
+    }
+
+    @Test
+    @DisplayName("Should follow committed creates and deletes")
+    void shouldApplyChanges() {
+        givenCourseIds(1, 2, 3, 100);
+        givenSequenceAt(100);
+        courseIdFilter.rebuild();
+
+        courseIdFilter.onCourseChanged(new CourseChangedEvent(2L, CourseChangedEvent.Change.DELETED));
+        courseIdFilter.onCourseChanged(new CourseChangedEvent(4L, CourseChangedEvent.Change.CREATED));
+
+        assertThat(courseIdFilter.mightExist(2)).isFalse();
+        assertThat(courseIdFilter.mightExist(4)).isTrue();
+        assertThat(courseIdFilter.mightExist(3)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should keep changes committed while a rebuild is scanning")
+    void shouldReplayChangesDuringRebuild() {
+        doAnswer(invocation -> {
+            LongConsumer consumer = invocation.getArgument(0);
+            consumer.accept(1);
+            consumer.accept(2);
+            // Committed after the scan read past these ids
+            courseIdFilter.onCourseChanged(new CourseChangedEvent(1L, CourseChangedEvent.Change.DELETED));
+            courseIdFilter.onCourseChanged(new CourseChangedEvent(3L, CourseChangedEvent.Change.CREATED));
+            consumer.accept(100);
+            return null;
+        }).when(courseService).streamCourseIds(any());
+        givenSequenceAt(100);
+
+        courseIdFilter.rebuild();
+
+        assertThat(courseIdFilter.mightExist(1)).isFalse();
+        assertThat(courseIdFilter.mightExist(2)).isTrue();
+        assertThat(courseIdFilter.mightExist(3)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should expose lookup counts, false-positive rate and memory as metrics")
+    void shouldExposeMetrics() {
+        givenCourseIds(LongStream.rangeClosed(1, 1_000).toArray());
+        givenSequenceAt(1_000);
+        courseIdFilter.rebuild();
+
+        courseIdFilter.mightExist(10);
+        courseIdFilter.mightExist(20);
+        courseIdFilter.reportMissing(20);
+        courseIdFilter.onCourseChanged(new CourseChangedEvent(30L, CourseChangedEvent.Change.DELETED));
+        courseIdFilter.mightExist(30);
+
+        assertThat(meterRegistry.get("rocklms.course.id.filter.lookups").tag("result", "passed").counter().count())
+                .isEqualTo(2);
+        assertThat(meterRegistry.get("rocklms.course.id.filter.lookups").tag("result", "rejected").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("rocklms.course.id.filter.false.positive.rate").gauge().value())
+                .isEqualTo(0.5);
+        assertThat(meterRegistry.get("rocklms.course.id.filter.memory").gauge().value())
+                .isEqualTo(16 * Long.BYTES);
+    }
+
+    private void givenSequenceAt(long lastIssuedId) {
+        when(courseService.getIdSequencePosition()).thenReturn(new CourseVersions.IdSequencePosition(lastIssuedId, 10));
+        when(courseService.getVersionHorizon()).thenReturn(10L);
+    }
+
+    private void givenCourseIds(long... ids) {
+        doAnswer(invocation -> {
+            LongConsumer consumer = invocation.getArgument(0);
+            for (long id : ids) {
+                consumer.accept(id);
+            }
+            return null;
+        }).when(courseService).streamCourseIds(any());
+    }
+}
@@ -0,0 +1,60 @@
+package com.jbs.rocklms.config;
+
+import com.jbs.rocklms.entity.Course;
+import com.jbs.rocklms.model.CourseDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import java.sql.Connection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NativeRuntimeHintsTest {
+
+    private RuntimeHints hints;
+
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        new NativeRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    @DisplayName("Should register Jackson binding hints for every API model")
+    void shouldRegisterApiModels() {
+        for (Class<?> model : NativeRuntimeHints.API_MODELS) {
+            assertThat(RuntimeHintsPredicates.reflection().onType(model)).accepts(hints);
+        }
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(CourseDto.class, "getPublishedAt")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(CourseDto.StatusEnum.class, "fromValue")).accepts(hints);
+    }
+
+    @Test
+    @DisplayName("Should register the course entity for Hibernate")
+    void shouldRegisterCourseEntity() {
+        assertThat(RuntimeHintsPredicates.reflection().onType(Course.class)
+                .withMemberCategories(MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS))
+                .accepts(hints);
+    }
+
+    @Test
+    @DisplayName("Should register Flyway migrations from all configured locations")
+    void shouldRegisterMigrations() {
+        assertThat(RuntimeHintsPredicates.resource().forResource("db/migration/V1__Create_courses_table.sql"))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("db/dev_migration/V999__seed_courses.sql"))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("db/migration/V1006__Index_courses_updated_at.sql.conf"))
+                .accepts(hints);
+    }
+
+    @Test
+    @DisplayName("Should register the JDK proxy used for instrumented connections")
+    void shouldRegisterConnectionProxy() {
+        assertThat(RuntimeHintsPredicates.proxies().forInterfaces(Connection.class)).accepts(hints);
+    }
+}
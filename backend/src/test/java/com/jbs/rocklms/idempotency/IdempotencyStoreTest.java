@@ -0,0 +1,144 @@
+package com.jbs.rocklms.idempotency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyStoreTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private IdempotencyStore idempotencyStore;
+    private AtomicInteger executions;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        idempotencyStore = new IdempotencyStore(meterRegistry, true, 100, Duration.ofMinutes(10), Duration.ofSeconds(5));
+        executions = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Should run concurrent duplicates once and replay the response to the others")
+    void shouldRunConcurrentDuplicatesOnce() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<ResponseEntity<String>>> responses = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                responses.add(executor.submit(() -> idempotencyStore.execute("create", "key-1", "body", () -> {
+                    started.countDown();
+                    await(release);
+                    return created("course-" + executions.incrementAndGet());
+                })));
+            }
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            Thread.sleep(100);
+            release.countDown();
+
+            int replayed = 0;
+            for (Future<ResponseEntity<String>> response : responses) {
+                ResponseEntity<String> entity = response.get(5, TimeUnit.SECONDS);
+                assertThat(entity.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+                assertThat(entity.getBody()).isEqualTo("course-1");
+                if (entity.getHeaders().containsKey(IdempotencyStore.REPLAYED_HEADER)) {
+                    replayed++;
+                }
+            }
+            assertThat(executions).hasValue(1);
+            assertThat(replayed).isEqualTo(7);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused for a different request")
+    void shouldRejectKeyReusedForDifferentRequest() {
+        idempotencyStore.execute("create", "key-1", "body", () -> created("course-1"));
+
+        ResponseEntity<String> response = idempotencyStore.execute("create", "key-1", "other body",
+                () -> created("course-2"));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+        assertThat(idempotencyStore.execute("publish", "key-1", 7, () -> created("published")).getBody())
+                .isEqualTo("published");
+    }
+
+    @Test
+    @DisplayName("Should run the action again once the key has expired")
+    void shouldForgetExpiredKeys() throws InterruptedException {
+        idempotencyStore = new IdempotencyStore(meterRegistry, true, 100, Duration.ofMillis(20), Duration.ofSeconds(5));
+        idempotencyStore.execute("create", "key-1", "body", () -> created("course-" + executions.incrementAndGet()));
+        Thread.sleep(50);
+
+        ResponseEntity<String> response = idempotencyStore.execute("create", "key-1", "body",
+                () -> created("course-" + executions.incrementAndGet()));
+
+        assertThat(response.getBody()).isEqualTo("course-2");
+        assertThat(response.getHeaders().containsKey(IdempotencyStore.REPLAYED_HEADER)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should drop the oldest keys beyond the maximum number of entries")
+    void shouldEvictOldestKeys() {
+        idempotencyStore = new IdempotencyStore(meterRegistry, true, 2, Duration.ofMinutes(10), Duration.ofSeconds(5));
+        for (String key : List.of("a", "b", "c")) {
+            idempotencyStore.execute("create", key, "body", () -> created("course-" + executions.incrementAndGet()));
+        }
+
+        assertThat(idempotencyStore.execute("create", "c", "body", () -> created("new")).getBody()).isEqualTo("course-3");
+        assertThat(idempotencyStore.execute("create", "a", "body", () -> created("new")).getBody()).isEqualTo("new");
+    }
+
+    @Test
+    @DisplayName("Should not remember failures, so a retry runs the action again")
+    void shouldRetryAfterFailure() {
+        assertThatThrownBy(() -> idempotencyStore.execute("create", "key-1", "body", () -> {
+            throw new IllegalStateException("database unavailable");
+        })).isInstanceOf(IllegalStateException.class);
+
+        ResponseEntity<String> response = idempotencyStore.execute("create", "key-1", "body",
+                () -> created("course-1"));
+
+        assertThat(response.getBody()).isEqualTo("course-1");
+        assertThat(meterRegistry.get("rocklms.idempotency.entries").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should run every request without a key")
+    void shouldIgnoreMissingKey() {
+        idempotencyStore.execute("create", null, "body", () -> created("course-" + executions.incrementAndGet()));
+        idempotencyStore.execute("create", null, "body", () -> created("course-" + executions.incrementAndGet()));
+
+        assertThat(executions).hasValue(2);
+    }
+
+    private static ResponseEntity<String> created(String body) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(body);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
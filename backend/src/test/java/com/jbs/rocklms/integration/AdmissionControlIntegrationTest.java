@@ -0,0 +1,66 @@
+package com.jbs.rocklms.integration;
+
+import com.jbs.rocklms.admission.AdmissionControlInterceptor;
+import com.jbs.rocklms.api.CoursesApi;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.method.HandlerMethod;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that admission control covers every course endpoint as the application maps them, with a
+ * single read slot.
+ */
+@SpringBootTest(properties = {
+        "rocklms.admission.read.initial-limit=1",
+        "rocklms.admission.read.min-limit=1",
+        "rocklms.admission.read.max-limit=1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AdmissionControlIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AdmissionControlInterceptor admissionControlInterceptor;
+
+    @Test
+    @DisplayName("Should shed batch gets when the read limit is taken")
+    void shouldShedBatchGetWhenReadsSaturated() throws Exception {
+        HandlerMethod read = new HandlerMethod(new CoursesApi() {
+        }, CoursesApi.class.getMethod("findCourseById", Integer.class));
+        MockHttpServletRequest inFlight = new MockHttpServletRequest();
+        MockHttpServletResponse inFlightResponse = new MockHttpServletResponse();
+        assertThat(admissionControlInterceptor.preHandle(inFlight, inFlightResponse, read)).isTrue();
+
+        try {
+            mockMvc.perform(post("/api/courses:batchGet")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"ids\": [1]}"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+        } finally {
+            admissionControlInterceptor.afterCompletion(inFlight, inFlightResponse, read, null);
+        }
+
+        mockMvc.perform(post("/api/courses:batchGet")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [1]}"))
+                .andExpect(status().isOk());
+    }
+}
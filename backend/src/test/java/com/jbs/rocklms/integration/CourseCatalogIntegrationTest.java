@@ -0,0 +1,144 @@
+package com.jbs.rocklms.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jbs.rocklms.cache.CourseCatalog;
+import com.jbs.rocklms.cache.CourseCatalogSnapshot;
+import com.jbs.rocklms.entity.Course;
+import com.jbs.rocklms.jdbc.StatementBudgetConfiguration;
+import com.jbs.rocklms.mapper.CourseMapper;
+import com.jbs.rocklms.repository.CourseRepository;
+import com.jbs.rocklms.service.CourseService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "rocklms.catalog-snapshot.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(StatementBudgetConfiguration.class)
+class CourseCatalogIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private CourseMapper courseMapper;
+
+    @Autowired
+    private CourseCatalog courseCatalog;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Course published;
+
+    @BeforeEach
+    void setUp() {
+        courseRepository.deleteAll();
+        published = courseService.publishCourse(courseService.createCourse("Snapshot Course", "Shared", 30).getId());
+        courseService.createCourse("Draft Course", "Shared", null);
+        courseCatalog.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        courseRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should serve lists from the snapshot with the same body the mapper would produce")
+    void shouldServeSnapshotList() throws Exception {
+        awaitCurrent();
+
+        for (Course.CourseStatus status : new Course.CourseStatus[] {null, Course.CourseStatus.PUBLISHED,
+                Course.CourseStatus.DRAFT, Course.CourseStatus.ARCHIVED}) {
+            MvcResult result = mockMvc.perform(get("/api/courses" + (status == null ? "" : "?status=" + status)))
+                    .andExpect(status().isOk())
+                    .andReturn();
+
+            List<?> expected = courseRepository.findAll().stream()
+                    .filter(course -> status == null || course.getStatus() == status)
+                    .sorted(Comparator.comparing(Course::getId))
+                    .map(courseMapper::toDto)
+                    .toList();
+            assertThat(result.getResponse().getContentAsByteArray())
+                    .isEqualTo(objectMapper.writeValueAsBytes(expected));
+        }
+    }
+
+    @Test
+    @DisplayName("Should patch the snapshot after courses are changed, created and deleted")
+    void shouldPatchSnapshotOnChange() throws Exception {
+        courseService.archiveCourse(published.getId());
+        Course created = courseService.createCourse("New Course", "Fresh", 45);
+        Course draft = courseRepository.findAll().stream()
+                .filter(course -> course.getStatus() == Course.CourseStatus.DRAFT
+                        && !course.getId().equals(created.getId()))
+                .findFirst().orElseThrow();
+        courseService.deleteCourse(draft.getId());
+
+        CourseCatalogSnapshot snapshot = awaitCurrent();
+        assertThat(snapshot.size()).isEqualTo(2);
+
+        mockMvc.perform(get("/api/courses?status=PUBLISHED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+        mockMvc.perform(get("/api/courses?status=ARCHIVED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(published.getId()));
+        mockMvc.perform(get("/api/courses?status=DRAFT"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title").value("New Course"))
+                .andExpect(jsonPath("$[0].duration").value(45));
+    }
+
+    @Test
+    @DisplayName("Should report snapshot size and staleness")
+    void shouldExposeMetrics() throws Exception {
+        awaitCurrent();
+
+        assertThat(meterRegistry.get("rocklms.course.snapshot.size").gauge().value()).isEqualTo(2);
+        assertThat(meterRegistry.get("rocklms.course.snapshot.staleness").gauge().value()).isZero();
+        assertThat(meterRegistry.get("rocklms.course.snapshot.build").tag("kind", "full").timer().count())
+                .isPositive();
+    }
+
+    private CourseCatalogSnapshot awaitCurrent() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        CourseCatalogSnapshot snapshot;
+        while ((snapshot = courseCatalog.current()) == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(snapshot).isNotNull();
+        return snapshot;
+    }
+}
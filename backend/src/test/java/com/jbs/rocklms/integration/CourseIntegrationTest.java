@@ -2,6 +2,8 @@ package com.jbs.rocklms.integration;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jbs.rocklms.entity.Course;
+import com.jbs.rocklms.jdbc.StatementBudgetConfiguration;
+import com.jbs.rocklms.model.CourseBatchGetRequest;
 import com.jbs.rocklms.model.CourseCreateRequest;
 import com.jbs.rocklms.model.CourseUpdateRequest;
 import com.jbs.rocklms.repository.CourseRepository;
@@ -13,6 +15,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
@@ -21,6 +24,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.io.Console;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -33,6 +37,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.
 @AutoConfigureWebMvc
 @AutoConfigureMockMvc
 @ActiveProfiles("test")
+@Import(StatementBudgetConfiguration.class)
 @Transactional
 class CourseIntegrationTest {
 
@@ -84,6 +89,89 @@ class CourseIntegrationTest {
         }
     }
 
+    @Nested
+    @DisplayName("Idempotency Key Integration Tests")
+    class IdempotencyKeyTests {
+
+        @Test
+        @DisplayName("Should create one course for a retried request with the same key")
+        void shouldReplayCreationWithSameKey() throws Exception {
+            // Given
+            CourseCreateRequest request = new CourseCreateRequest();
+            request.setTitle("Retried Course");
+            request.setDescription("Sent twice");
+            request.setDuration(30);
+            String body = objectMapper.writeValueAsString(request);
+
+            // When & Then
+            String first = mockMvc.perform(post("/api/courses")
+                    .header("Idempotency-Key", "create-retried-course")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(body))
+                    .andExpect(status().isCreated())
+                    .andExpect(header().doesNotExist("Idempotent-Replayed"))
+                    .andReturn().getResponse().getContentAsString();
+            mockMvc.perform(post("/api/courses")
+                    .header("Idempotency-Key", "create-retried-course")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(body))
+                    .andExpect(status().isCreated())
+                    .andExpect(header().string("Idempotent-Replayed", "true"))
+                    .andExpect(content().json(first));
+
+            // Verify in database
+            assertThat(courseRepository.count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should reject a key reused for a different course")
+        void shouldRejectKeyReusedForDifferentBody() throws Exception {
+            // Given
+            CourseCreateRequest request = new CourseCreateRequest();
+            request.setTitle("First Course");
+            request.setDescription("Same key");
+            request.setDuration(30);
+            mockMvc.perform(post("/api/courses")
+                    .header("Idempotency-Key", "create-reused-key")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated());
+            request.setTitle("Second Course");
+
+            // When & Then
+            mockMvc.perform(post("/api/courses")
+                    .header("Idempotency-Key", "create-reused-key")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isUnprocessableEntity());
+
+            // Verify in database
+            assertThat(courseRepository.count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should replay a publication retried with the same key without publishing again")
+        void shouldReplayPublicationWithSameKey() throws Exception {
+            // Given
+            Course course = createAndSaveCourse("Publish Once", "Description", 60, Course.CourseStatus.DRAFT);
+            String key = "publish-" + course.getId();
+            mockMvc.perform(post("/api/courses/{id}/publish", course.getId()).header("Idempotency-Key", key))
+                    .andExpect(status().isOk());
+            mockMvc.perform(post("/api/courses/{id}/archive", course.getId()))
+                    .andExpect(status().isOk());
+
+            // When & Then - publishing the archived course again would be rejected
+            mockMvc.perform(post("/api/courses/{id}/publish", course.getId()).header("Idempotency-Key", key))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Idempotent-Replayed", "true"))
+                    .andExpect(jsonPath("$.status").value("PUBLISHED"));
+
+            // Verify in database
+            Course archivedCourse = courseRepository.findById(course.getId()).orElseThrow();
+            assertThat(archivedCourse.getStatus()).isEqualTo(Course.CourseStatus.ARCHIVED);
+        }
+    }
+
     @Nested
     @DisplayName("Course Publishing Integration Tests")
     class CoursePublishingTests {
@@ -244,6 +332,129 @@ class CourseIntegrationTest {
         }
     }
 
+    @Nested
+    @DisplayName("Course Batch Get Integration Tests")
+    class CourseBatchGetTests {
+
+        @Test
+        @DisplayName("Should return courses in request order and report missing ids")
+        void shouldReturnCoursesInRequestOrder() throws Exception {
+            // Given
+            Course first = createAndSaveCourse("First Course", "Description", 30, Course.CourseStatus.DRAFT);
+            Course second = createAndSaveCourse("Second Course", "Description", 45, Course.CourseStatus.PUBLISHED);
+            int missingId = second.getId().intValue() + 1000;
+            CourseBatchGetRequest request = new CourseBatchGetRequest(List.of(
+                    second.getId().intValue(), missingId, first.getId().intValue(), second.getId().intValue()));
+
+            // When & Then
+            mockMvc.perform(post("/api/courses:batchGet")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.courses", hasSize(2)))
+                    .andExpect(jsonPath("$.courses[0].title").value("Second Course"))
+                    .andExpect(jsonPath("$.courses[0].status").value("PUBLISHED"))
+                    .andExpect(jsonPath("$.courses[1].title").value("First Course"))
+                    .andExpect(jsonPath("$.missingIds", contains(missingId)));
+        }
+
+        @Test
+        @DisplayName("Should reject an empty id list")
+        void shouldRejectEmptyIdList() throws Exception {
+            mockMvc.perform(post("/api/courses:batchGet")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"ids\": []}"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("Course List Filtering Integration Tests")
+    class CourseListFilteringTests {
+
+        @Test
+        @DisplayName("Should combine duration range and title prefix and sort by duration")
+        void shouldFilterByDurationAndTitlePrefix() throws Exception {
+            // Given
+            createAndSaveCourse("Rock Guitar Basics", "Description", 30, Course.CourseStatus.PUBLISHED);
+            createAndSaveCourse("Rock Drum Solos", "Description", 90, Course.CourseStatus.DRAFT);
+            createAndSaveCourse("Rock Vocals", "Description", 45, Course.CourseStatus.ARCHIVED);
+            createAndSaveCourse("Blues Guitar", "Description", 40, Course.CourseStatus.PUBLISHED);
+
+            // When & Then
+            mockMvc.perform(get("/api/courses")
+                    .param("titlePrefix", "Rock")
+                    .param("minDuration", "30")
+                    .param("maxDuration", "60")
+                    .param("sort", "-duration"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(2)))
+                    .andExpect(jsonPath("$[0].title").value("Rock Vocals"))
+                    .andExpect(jsonPath("$[1].title").value("Rock Guitar Basics"));
+        }
+
+        @Test
+        @DisplayName("Should filter by publication window together with status")
+        void shouldFilterByPublicationWindow() throws Exception {
+            // Given
+            createPublishedCourse("Old Course", LocalDateTime.of(2023, 3, 1, 10, 0));
+            createPublishedCourse("Recent Course", LocalDateTime.of(2025, 3, 1, 10, 0));
+            createPublishedCourse("Boundary Course", LocalDateTime.of(2025, 1, 1, 0, 0));
+
+            // When & Then
+            mockMvc.perform(get("/api/courses")
+                    .param("status", "PUBLISHED")
+                    .param("publishedAfter", "2025-01-01T00:00:00Z")
+                    .param("publishedBefore", "2025-06-01T00:00:00Z")
+                    .param("sort", "publishedAt"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(2)))
+                    .andExpect(jsonPath("$[0].title").value("Boundary Course"))
+                    .andExpect(jsonPath("$[1].title").value("Recent Course"));
+        }
+
+        @Test
+        @DisplayName("Should sort the whole list by title")
+        void shouldSortByTitle() throws Exception {
+            // Given
+            createAndSaveCourse("Bass Lines", "Description", 30, Course.CourseStatus.DRAFT);
+            createAndSaveCourse("Amp Tones", "Description", 30, Course.CourseStatus.ARCHIVED);
+            createAndSaveCourse("Chord Theory", "Description", 30, Course.CourseStatus.PUBLISHED);
+
+            // When & Then
+            mockMvc.perform(get("/api/courses").param("sort", "title"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[*].title", contains("Amp Tones", "Bass Lines", "Chord Theory")));
+        }
+
+        @Test
+        @DisplayName("Should match LIKE wildcards in the title prefix literally")
+        void shouldMatchTitlePrefixLiterally() throws Exception {
+            // Given
+            createAndSaveCourse("100% Rock", "Description", 30, Course.CourseStatus.PUBLISHED);
+            createAndSaveCourse("1000 Riffs", "Description", 30, Course.CourseStatus.PUBLISHED);
+
+            // When & Then
+            mockMvc.perform(get("/api/courses").param("titlePrefix", "100%"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(1)))
+                    .andExpect(jsonPath("$[0].title").value("100% Rock"));
+        }
+
+        @Test
+        @DisplayName("Should reject an unsupported sort field")
+        void shouldRejectUnsupportedSort() throws Exception {
+            mockMvc.perform(get("/api/courses").param("sort", "description"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        private void createPublishedCourse(String title, LocalDateTime publishedAt) {
+            Course course = createAndSaveCourse(title, "Description", 30, Course.CourseStatus.PUBLISHED);
+            course.setPublishedAt(publishedAt);
+            courseRepository.save(course);
+        }
+    }
+
     @Nested
     @DisplayName("Course Workflow Integration Tests")
     class CourseWorkflowTests {
@@ -0,0 +1,131 @@
+package com.jbs.rocklms.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jbs.rocklms.cache.CourseListCache;
+import com.jbs.rocklms.entity.Course;
+import com.jbs.rocklms.jdbc.StatementBudgetConfiguration;
+import com.jbs.rocklms.mapper.CourseMapper;
+import com.jbs.rocklms.repository.CourseRepository;
+import com.jbs.rocklms.service.CourseService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "rocklms.list-cache.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(StatementBudgetConfiguration.class)
+class CourseListCacheIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private CourseMapper courseMapper;
+
+    @Autowired
+    private CourseListCache courseListCache;
+
+    private Course published;
+
+    @BeforeEach
+    void setUp() {
+        courseRepository.deleteAll();
+        published = courseService.publishCourse(courseService.createCourse("Cached Course", "Description", 30).getId());
+        courseService.createCourse("Draft Course", "Description", 20);
+        courseListCache.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        courseRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should serve the cached list with the same body the mapper would produce")
+    void shouldServeCachedList() throws Exception {
+        assertThat(courseListCache.get(Course.CourseStatus.PUBLISHED)).isNotNull();
+
+        MvcResult result = mockMvc.perform(get("/api/courses?status=PUBLISHED"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/json"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title").value("Cached Course"))
+                .andReturn();
+
+        byte[] expected = objectMapper.writeValueAsBytes(
+                List.of(courseMapper.toDto(courseRepository.findById(published.getId()).orElseThrow())));
+        assertThat(result.getResponse().getContentAsByteArray()).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("Should serve the gzip variant when the client accepts it")
+    void shouldServeGzipVariant() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/courses").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)))
+                .andReturn();
+
+        byte[] body;
+        try (GZIPInputStream gzip = new GZIPInputStream(
+                new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            body = gzip.readAllBytes();
+        }
+        assertThat(objectMapper.readTree(body)).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should serve the plain variant when the client refuses gzip")
+    void shouldServePlainVariantWhenGzipRefused() throws Exception {
+        for (String acceptEncoding : List.of("gzip;q=0, deflate", "br, *;q=0", "*, gzip; q=0", "identity")) {
+            mockMvc.perform(get("/api/courses").header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                    .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)))
+                    .andExpect(jsonPath("$", hasSize(2)));
+        }
+        mockMvc.perform(get("/api/courses").header(HttpHeaders.ACCEPT_ENCODING, "br;q=1, *;q=0.5"))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+    }
+
+    @Test
+    @DisplayName("Should not serve stale lists after a course changes")
+    void shouldInvalidateOnChange() throws Exception {
+        courseService.archiveCourse(published.getId());
+
+        mockMvc.perform(get("/api/courses?status=PUBLISHED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+}
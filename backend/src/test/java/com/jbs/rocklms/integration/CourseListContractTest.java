@@ -0,0 +1,131 @@
+package com.jbs.rocklms.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.jbs.rocklms.repository.CourseRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Runs the course list cases in {@code contract/course-list-cases.json} against this API. The
+ * reactive-read module runs the same file, so both read APIs filter, sort and render courses alike.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CourseListContractTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    private JsonNode fixture;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        courseRepository.deleteAll();
+        try (InputStream in = new ClassPathResource("contract/course-list-cases.json").getInputStream()) {
+            fixture = objectMapper.readTree(in);
+        }
+        for (JsonNode course : fixture.get("courses")) {
+            jdbcTemplate.update("INSERT INTO courses (id, title, description, duration, status, published_at)"
+                            + " VALUES (?, ?, ?, ?, ?, ?)",
+                    course.get("id").asLong(), course.get("title").asText(), text(course, "description"),
+                    course.get("duration").asInt(), course.get("status").asText(), timestamp(course, "publishedAt"));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        courseRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should answer every shared list case")
+    void shouldAnswerSharedCases() throws Exception {
+        Map<Integer, JsonNode> courses = new HashMap<>();
+        for (JsonNode course : fixture.get("courses")) {
+            courses.put(course.get("id").asInt(), withoutNulls(course));
+        }
+        for (JsonNode testCase : fixture.get("cases")) {
+            MockHttpServletRequestBuilder request = get("/api/courses");
+            testCase.get("params").properties().forEach(param -> request.param(param.getKey(), param.getValue().asText()));
+
+            MvcResult result = mockMvc.perform(request).andReturn();
+
+            assertThat(result.getResponse().getStatus()).as("status of %s", testCase)
+                    .isEqualTo(testCase.path("status").asInt(200));
+            if (!testCase.has("ids")) {
+                continue;
+            }
+            List<JsonNode> expected = new ArrayList<>();
+            testCase.get("ids").forEach(id -> expected.add(courses.get(id.asInt())));
+            List<JsonNode> actual = new ArrayList<>();
+            objectMapper.readTree(result.getResponse().getContentAsByteArray())
+                    .forEach(course -> actual.add(withoutNulls(course)));
+            if (testCase.path("ordered").asBoolean(true)) {
+                assertThat(actual).as("courses of %s", testCase).containsExactlyElementsOf(expected);
+            } else {
+                assertThat(actual).as("courses of %s", testCase).containsExactlyInAnyOrderElementsOf(expected);
+            }
+        }
+    }
+
+    // APIs may leave out or write null fields; the cases only compare the values that are set.
+    private static JsonNode withoutNulls(JsonNode course) {
+        ObjectNode copy = ((ObjectNode) course).deepCopy();
+        List<String> nulls = new ArrayList<>();
+        copy.properties().forEach(field -> {
+            if (field.getValue().isNull()) {
+                nulls.add(field.getKey());
+            }
+        });
+        copy.remove(nulls);
+        return copy;
+    }
+
+    private static String text(JsonNode course, String field) {
+        return course.get(field).isNull() ? null : course.get(field).asText();
+    }
+
+    private static Timestamp timestamp(JsonNode course, String field) {
+        if (course.get(field).isNull()) {
+            return null;
+        }
+        return Timestamp.valueOf(OffsetDateTime.parse(course.get(field).asText())
+                .withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime());
+    }
+}
@@ -0,0 +1,123 @@
+package com.jbs.rocklms.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jbs.rocklms.entity.Course;
+import com.jbs.rocklms.repository.CourseRepository;
+import com.jbs.rocklms.service.CourseService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A course list streamed from the database to a client that stops reading must not keep a pooled
+ * connection: with a pool of one, other requests still get theirs. Open-in-view is off, as in the
+ * application configuration; with it on, every request holds its connection until it completes.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.open-in-view=false",
+        "spring.datasource.hikari.maximum-pool-size=1",
+        "spring.datasource.hikari.connection-timeout=1000"
+})
+@ActiveProfiles("test")
+class CourseListStreamingIntegrationTest {
+
+    // About 6 MB of JSON, far more than the socket buffers of a client that reads nothing.
+    private static final int COURSES = 20000;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private CourseService courseService;
+
+    private Course course;
+
+    @BeforeEach
+    void setUp() {
+        courseRepository.deleteAll();
+        course = courseService.createCourse("Rock Guitar Basics", "Chords and riffs", 30);
+        String description = "x".repeat(250);
+        List<Object[]> rows = new ArrayList<>(COURSES);
+        for (int i = 0; i < COURSES; i++) {
+            rows.add(new Object[]{"Course " + i, description, 30, "DRAFT"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO courses (title, description, duration, status) VALUES (?, ?, ?, ?)", rows);
+    }
+
+    @AfterEach
+    void tearDown() {
+        courseRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should stream every course once, in id order, across pages")
+    void shouldStreamAllPages() throws Exception {
+        HttpResponse<String> response = HttpClient.newHttpClient().send(HttpRequest.newBuilder()
+                        .uri(URI.create("http://localhost:" + port + "/api/courses"))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        List<Long> ids = new ArrayList<>();
+        objectMapper.readTree(response.body()).forEach(course -> ids.add(course.get("id").asLong()));
+        assertThat(ids).hasSize(COURSES + 1).isSorted().doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("Should not hold a pooled connection while a slow client reads a streamed list")
+    void shouldNotStarvePoolWhileClientReadsSlowly() throws Exception {
+        try (Socket slowClient = new Socket()) {
+            slowClient.setReceiveBufferSize(4096);
+            slowClient.connect(new InetSocketAddress("localhost", port));
+            OutputStream out = slowClient.getOutputStream();
+            out.write(("GET /api/courses HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n\r\n")
+                    .getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            // The response has started; from here on the client reads nothing, so the server's
+            // writes block once the socket buffers are full.
+            InputStream in = slowClient.getInputStream();
+            assertThat(in.read(new byte[1024])).isPositive();
+            Thread.sleep(500);
+
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+            for (int i = 0; i < 3; i++) {
+                HttpResponse<String> response = client.send(HttpRequest.newBuilder()
+                                .uri(URI.create("http://localhost:" + port + "/api/courses/" + course.getId()))
+                                .timeout(Duration.ofSeconds(10))
+                                .build(),
+                        HttpResponse.BodyHandlers.ofString());
+                assertThat(response.statusCode()).isEqualTo(200);
+            }
+        }
+    }
+}
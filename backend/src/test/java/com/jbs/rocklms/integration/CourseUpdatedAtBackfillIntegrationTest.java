@@ -0,0 +1,143 @@
+package com.jbs.rocklms.integration;
+
+import com.jbs.rocklms.backfill.BackfillRunner;
+import com.jbs.rocklms.backfill.CourseUpdatedAtBackfill;
+import com.jbs.rocklms.entity.BackfillProgress;
+import com.jbs.rocklms.entity.Course;
+import com.jbs.rocklms.repository.BackfillProgressRepository;
+import com.jbs.rocklms.repository.CourseRepository;
+import com.jbs.rocklms.service.CourseService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"rocklms.backfill.batch-size=2", "rocklms.backfill.pause=PT0S"})
+@ActiveProfiles("test")
+class CourseUpdatedAtBackfillIntegrationTest {
+
+    private static final String NAME = CourseUpdatedAtBackfill.BACKFILL.name();
+
+    @Autowired
+    private BackfillRunner backfillRunner;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private BackfillProgressRepository backfillProgressRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final List<Course> courses = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        backfillProgressRepository.deleteAll();
+        courseRepository.deleteAll();
+        for (int i = 1; i <= 7; i++) {
+            Course course = courseService.createCourse("Course " + i, "Description", 30);
+            if (i % 2 == 0) {
+                course = courseService.publishCourse(course.getId());
+            }
+            courses.add(course);
+        }
+        // Rows as they were before migration V1005
+        jdbcTemplate.update("UPDATE courses SET updated_at = NULL");
+    }
+
+    @AfterEach
+    void tearDown() {
+        backfillProgressRepository.deleteAll();
+        courseRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should fill updated_at of every course in batches and record completion")
+    void shouldBackfillAllCourses() throws InterruptedException {
+        long updated = backfillRunner.run(CourseUpdatedAtBackfill.BACKFILL);
+
+        assertThat(updated).isEqualTo(7);
+        for (Course course : courseRepository.findAll()) {
+            assertThat(course.getUpdatedAt()).isNotNull();
+            if (course.getStatus() == Course.CourseStatus.PUBLISHED) {
+                assertThat(course.getUpdatedAt()).isEqualTo(course.getPublishedAt());
+            }
+        }
+        BackfillProgress progress = backfillProgressRepository.findById(NAME).orElseThrow();
+        assertThat(progress.isCompleted()).isTrue();
+        assertThat(progress.getRowsUpdated()).isEqualTo(7);
+        assertThat(progress.getLastKey()).isEqualTo(courses.get(6).getId());
+        assertThat(meterRegistry.get("rocklms.backfill.progress").tag("backfill", NAME).gauge().value())
+                .isEqualTo(1.0);
+
+        // A completed backfill does nothing when started again
+        assertThat(backfillRunner.run(CourseUpdatedAtBackfill.BACKFILL)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should resume after the last recorded key")
+    void shouldResumeFromRecordedProgress() throws InterruptedException {
+        LocalDateTime backfilled = LocalDateTime.of(2026, 1, 2, 3, 4, 5);
+        jdbcTemplate.update("UPDATE courses SET updated_at = ? WHERE id <= ?", backfilled, courses.get(2).getId());
+        BackfillProgress progress = new BackfillProgress(NAME);
+        progress.setLastKey(courses.get(2).getId());
+        progress.setRowsUpdated(3);
+        backfillProgressRepository.save(progress);
+
+        long updated = backfillRunner.run(CourseUpdatedAtBackfill.BACKFILL);
+
+        assertThat(updated).isEqualTo(4);
+        assertThat(courseRepository.findById(courses.get(2).getId()).orElseThrow().getUpdatedAt())
+                .isEqualTo(backfilled);
+        assertThat(courseRepository.findById(courses.get(3).getId()).orElseThrow().getUpdatedAt()).isNotNull();
+        assertThat(backfillProgressRepository.findById(NAME).orElseThrow().getRowsUpdated()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("Should go back for rows left pending below the last key before completing")
+    void shouldRescanRowsBehindLastKey() throws InterruptedException {
+        // As if the scan had passed every key while older nodes kept writing rows without updated_at
+        BackfillProgress progress = new BackfillProgress(NAME);
+        progress.setLastKey(courses.get(6).getId());
+        backfillProgressRepository.save(progress);
+
+        long updated = backfillRunner.run(CourseUpdatedAtBackfill.BACKFILL);
+
+        assertThat(updated).isEqualTo(7);
+        assertThat(courseRepository.findAll()).allSatisfy(course -> assertThat(course.getUpdatedAt()).isNotNull());
+        progress = backfillProgressRepository.findById(NAME).orElseThrow();
+        assertThat(progress.isCompleted()).isTrue();
+        assertThat(progress.getLastKey()).isEqualTo(courses.get(6).getId());
+    }
+
+    @Test
+    @DisplayName("Should keep updated_at of courses written by the application")
+    void shouldSkipCoursesWithUpdatedAt() throws InterruptedException {
+        LocalDateTime recent = LocalDateTime.of(2026, 1, 2, 3, 4, 5);
+        jdbcTemplate.update("UPDATE courses SET updated_at = ? WHERE id = ?", recent, courses.get(0).getId());
+
+        long updated = backfillRunner.run(CourseUpdatedAtBackfill.BACKFILL);
+
+        assertThat(updated).isEqualTo(6);
+        assertThat(courseRepository.findById(courses.get(0).getId()).orElseThrow().getUpdatedAt()).isEqualTo(recent);
+    }
+}
@@ -0,0 +1,137 @@
+package com.jbs.rocklms.integration;
+
+import com.jbs.rocklms.entity.Course;
+import com.jbs.rocklms.entity.CourseStats;
+import com.jbs.rocklms.jdbc.StatementBudgetConfiguration;
+import com.jbs.rocklms.repository.CourseRepository;
+import com.jbs.rocklms.repository.CourseStatsRepository;
+import com.jbs.rocklms.service.CourseService;
+import com.jbs.rocklms.stats.CourseViewCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(StatementBudgetConfiguration.class)
+class CourseViewStatsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private CourseStatsRepository courseStatsRepository;
+
+    @Autowired
+    private CourseViewCounter courseViewCounter;
+
+    private Course popular;
+    private Course niche;
+
+    @BeforeEach
+    void setUp() {
+        courseStatsRepository.deleteAll();
+        courseRepository.deleteAll();
+        popular = courseService.createCourse("Popular Course", "Description", 30);
+        niche = courseService.createCourse("Niche Course", "Description", 20);
+    }
+
+    @AfterEach
+    void tearDown() {
+        courseStatsRepository.deleteAll();
+        courseRepository.deleteAll();
+        courseViewCounter.flush();
+    }
+
+    @Test
+    @DisplayName("Should count views in batches and rank courses by them")
+    void shouldRankCoursesByViews() throws Exception {
+        view(popular, 3);
+        view(niche, 1);
+        courseViewCounter.flush();
+        view(popular, 2);
+        courseViewCounter.flush();
+
+        assertThat(courseStatsRepository.findById(popular.getId()))
+                .map(CourseStats::getViewCount).contains(5L);
+        assertThat(courseStatsRepository.findById(niche.getId()))
+                .map(CourseStats::getViewCount).contains(1L);
+
+        mockMvc.perform(get("/api/courses/popular"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].course.title").value("Popular Course"))
+                .andExpect(jsonPath("$[0].viewCount").value(5))
+                .andExpect(jsonPath("$[1].course.title").value("Niche Course"))
+                .andExpect(jsonPath("$[1].viewCount").value(1));
+
+        mockMvc.perform(get("/api/courses/popular?limit=1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    @DisplayName("Should not count views of missing courses")
+    void shouldIgnoreMissingCourses() throws Exception {
+        mockMvc.perform(get("/api/courses/999999"))
+                .andExpect(status().isNotFound());
+        courseViewCounter.flush();
+
+        assertThat(courseStatsRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should drop view counts of deleted courses")
+    void shouldDropStatsOfDeletedCourses() throws Exception {
+        view(popular, 2);
+        view(niche, 1);
+        courseViewCounter.flush();
+
+        courseService.deleteCourse(popular.getId());
+        courseViewCounter.flush();
+
+        assertThat(courseStatsRepository.findById(popular.getId())).isEmpty();
+        mockMvc.perform(get("/api/courses/popular"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].course.id").value(niche.getId()));
+    }
+
+    @Test
+    @DisplayName("Should not write views recorded after their course was deleted")
+    void shouldNotRecreateStatsOfDeletedCourses() {
+        courseService.deleteCourse(popular.getId());
+        // A request that read the course just before it was deleted.
+        courseViewCounter.recordView(popular.getId());
+        courseViewCounter.flush();
+
+        assertThat(courseStatsRepository.findById(popular.getId())).isEmpty();
+    }
+
+    private void view(Course course, int times) throws Exception {
+        for (int i = 0; i < times; i++) {
+            mockMvc.perform(get("/api/courses/" + course.getId()))
+                    .andExpect(status().isOk());
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.jbs.rocklms.integration;
+
+import com.jbs.rocklms.entity.Course;
+import com.jbs.rocklms.jdbc.StatementBudgetConfiguration;
+import com.jbs.rocklms.repository.CourseRepository;
+import com.jbs.rocklms.service.CourseService;
+import com.jbs.rocklms.similar.MinHashIndex;
+import com.jbs.rocklms.similar.SimilarCourses;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "rocklms.similar-courses.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(StatementBudgetConfiguration.class)
+class SimilarCoursesIntegrationTest {
+
+    private static final String GUITAR = "Learn the basic chords and riffs of rock guitar.";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private SimilarCourses similarCourses;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Course basics;
+    private Course advanced;
+    private Course drums;
+
+    @BeforeEach
+    void setUp() {
+        courseRepository.deleteAll();
+        basics = courseService.createCourse("Rock Guitar Basics", GUITAR, 30);
+        advanced = courseService.createCourse("Rock Guitar Advanced", GUITAR, 45);
+        drums = courseService.createCourse("Jazz Drumming", "Brushes, swing feel and comping on the snare.", 60);
+        similarCourses.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        courseRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should return courses with similar text, most similar first")
+    void shouldReturnSimilarCourses() throws Exception {
+        mockMvc.perform(get("/api/courses/{id}/similar", basics.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].course.id").value(advanced.getId()))
+                .andExpect(jsonPath("$[0].course.title").value("Rock Guitar Advanced"))
+                .andExpect(jsonPath("$[0].similarity").isNumber());
+        mockMvc.perform(get("/api/courses/{id}/similar", drums.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+
+        assertThat(meterRegistry.get("rocklms.similar.index.size").gauge().value()).isEqualTo(3);
+        assertThat(meterRegistry.get("rocklms.similar.index.build").tag("kind", "full").timer().count())
+                .isPositive();
+    }
+
+    @Test
+    @DisplayName("Should update the index after courses are created, changed and deleted")
+    void shouldUpdateIndexOnChange() throws Exception {
+        Course copy = courseService.createCourse("Rock Guitar Basics", GUITAR, 30);
+        awaitSimilar(basics, matches -> matches.size() == 2);
+        courseService.updateCourse(advanced.getId(), "Jazz Drumming for Beginners",
+                "Keep time with a steady groove on the hi-hat.", null);
+        courseService.deleteCourse(drums.getId());
+        awaitSimilar(basics, matches -> matches.size() == 1);
+
+        mockMvc.perform(get("/api/courses/{id}/similar", basics.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].course.id", contains(copy.getId().intValue())))
+                .andExpect(jsonPath("$[0].similarity").value(1.0));
+    }
+
+    @Test
+    @DisplayName("Should answer for a course that is not indexed yet and reject unknown ones")
+    void shouldHandleCoursesOutsideIndex() throws Exception {
+        Course created = courseService.createCourse("Rock Guitar Basics", GUITAR, 30);
+
+        // Indexed or not, the answer is the same.
+        mockMvc.perform(get("/api/courses/{id}/similar", created.getId()).param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].course.id").value(basics.getId()));
+        mockMvc.perform(get("/api/courses/{id}/similar", created.getId() + 1000))
+                .andExpect(status().isNotFound());
+    }
+
+    private void awaitSimilar(Course course, Predicate<List<MinHashIndex.Match>> condition)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        List<MinHashIndex.Match> matches;
+        while (!condition.test(matches = similarCourses.findSimilar(course.getId(), 10).orElseThrow())
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.test(matches)).as("similar courses %s", matches).isTrue();
+    }
+}
@@ -0,0 +1,77 @@
+package com.jbs.rocklms.jdbc;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AdaptivePoolSizerTest {
+
+    @Mock
+    private InstrumentedDataSource dataSource;
+
+    @Mock
+    private HikariConfigMXBean pool;
+
+    private AdaptivePoolSizer sizer;
+
+    @BeforeEach
+    void setUp() {
+        sizer = new AdaptivePoolSizer(dataSource, pool, 5, 20, 2, 2.0, 1.5);
+    }
+
+    @Test
+    @DisplayName("Should grow when threads wait for connections while the database is fast")
+    void shouldGrowOnWait() {
+        assertThat(sizer.nextSize(10, window(8.0, 4.0, 10))).isEqualTo(12);
+        assertThat(sizer.nextSize(19, window(8.0, 4.0, 19))).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("Should shrink instead of growing when the database slows down")
+    void shouldShrinkWhenDatabaseSlows() {
+        sizer.nextSize(10, window(0.1, 4.0, 8));
+
+        assertThat(sizer.nextSize(10, window(8.0, 10.0, 10))).isEqualTo(9);
+    }
+
+    @Test
+    @DisplayName("Should shrink a mostly idle pool, but not below the minimum")
+    void shouldShrinkWhenIdle() {
+        assertThat(sizer.nextSize(10, window(0.1, 4.0, 3))).isEqualTo(9);
+        assertThat(sizer.nextSize(5, window(0.1, 4.0, 1))).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should keep the size when the pool is busy without waits")
+    void shouldKeepSizeWhenHealthy() {
+        assertThat(sizer.nextSize(10, window(0.1, 4.0, 8))).isEqualTo(10);
+        assertThat(sizer.nextSize(10, new InstrumentedDataSource.Window(0, 0, 0, 0))).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should apply the new size to the Hikari pool")
+    void shouldResizePool() {
+        when(dataSource.takeWindow()).thenReturn(window(8.0, 4.0, 10));
+        when(pool.getMaximumPoolSize()).thenReturn(10);
+
+        sizer.adjust();
+
+        verify(pool).setMaximumPoolSize(12);
+        verify(pool, never()).setMinimumIdle(anyInt());
+    }
+
+    private static InstrumentedDataSource.Window window(double waitMillis, double holdMillis, int peakInUse) {
+        return new InstrumentedDataSource.Window(100, waitMillis, holdMillis, peakInUse);
+    }
+}
@@ -0,0 +1,166 @@
+package com.jbs.rocklms.jdbc;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Test wrapper that records the statements executed on the current thread between {@link #start()}
+ * and {@link #stop()}, with the number of rows read from each of their result sets. Statements run by
+ * other threads, such as scheduled flushes, are not recorded.
+ */
+public class CountingDataSource extends DelegatingDataSource {
+
+    /** One statement execution; {@code rowsRead} grows while its result set is being read. */
+    public static final class Execution {
+
+        private final String sql;
+        private int rowsRead;
+
+        private Execution(String sql) {
+            this.sql = sql;
+        }
+
+        public String sql() {
+            return sql;
+        }
+
+        public int rowsRead() {
+            return rowsRead;
+        }
+
+        public boolean isWrite() {
+            String verb = sql == null ? "" : sql.stripLeading().toUpperCase(Locale.ROOT);
+            return verb.startsWith("INSERT") || verb.startsWith("UPDATE") || verb.startsWith("DELETE")
+                    || verb.startsWith("MERGE");
+        }
+
+        @Override
+        public String toString() {
+            return sql + " [" + rowsRead + " rows read]";
+        }
+    }
+
+    private final ThreadLocal<List<Execution>> recording = new ThreadLocal<>();
+
+    public CountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return counted(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return counted(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    /**
+     * Starts recording on the current thread, discarding anything recorded before.
+     */
+    public void start() {
+        recording.set(new ArrayList<>());
+    }
+
+    /**
+     * Stops recording on the current thread and returns the executions in order.
+     */
+    public List<Execution> stop() {
+        List<Execution> executions = recording.get();
+        recording.remove();
+        return executions == null ? List.of() : executions;
+    }
+
+    private Connection counted(Connection connection) {
+        return proxy(Connection.class, connection, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof Statement statement) {
+                Class<? extends Statement> type = switch (method.getName()) {
+                    case "prepareStatement" -> PreparedStatement.class;
+                    case "prepareCall" -> CallableStatement.class;
+                    default -> Statement.class;
+                };
+                return counted(type, statement, (Connection) proxy,
+                        type == Statement.class ? null : (String) args[0]);
+            }
+            return result;
+        });
+    }
+
+    private Statement counted(Class<? extends Statement> type, Statement statement, Connection connection,
+                              String preparedSql) {
+        Execution[] last = new Execution[1];
+        return proxy(type, statement, (proxy, method, args) -> {
+            String name = method.getName();
+            if (name.equals("getConnection")) {
+                return connection;
+            }
+            if (name.startsWith("execute")) {
+                List<Execution> executions = recording.get();
+                if (executions != null) {
+                    last[0] = new Execution(args != null && args.length > 0 && args[0] instanceof String sql
+                            ? sql : preparedSql);
+                    executions.add(last[0]);
+                } else {
+                    last[0] = null;
+                }
+            }
+            Object result = invoke(statement, method, args);
+            if (result instanceof ResultSet resultSet && last[0] != null
+                    && (name.equals("executeQuery") || name.equals("getResultSet"))) {
+                return counted(resultSet, (Statement) proxy, last[0]);
+            }
+            return result;
+        });
+    }
+
+    private ResultSet counted(ResultSet resultSet, Statement statement, Execution execution) {
+        return proxy(ResultSet.class, resultSet, (proxy, method, args) -> {
+            if (method.getName().equals("getStatement")) {
+                return statement;
+            }
+            Object result = invoke(resultSet, method, args);
+            if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                execution.rowsRead++;
+            }
+            return result;
+        });
+    }
+
+    // Identity and unwrapping are answered by the proxy itself, everything else by the handler.
+    private static <T> T proxy(Class<T> type, Object target, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "unwrap" -> ((Class<?>) args[0]).isInstance(proxy)
+                            ? proxy : invoke(target, method, args);
+                    case "isWrapperFor" -> ((Class<?>) args[0]).isInstance(proxy)
+                            || (boolean) invoke(target, method, args);
+                    default -> handler.invoke(proxy, method, args);
+                }));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.jbs.rocklms.jdbc;
+
+import com.jbs.rocklms.repository.CourseFilter;
+import com.jbs.rocklms.service.CourseService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class InstrumentedDataSourceTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Should tag connection acquire and usage times with the calling service method")
+    void shouldTagCaller() {
+        courseService.findCourses(CourseFilter.byStatus(null), Sort.unsorted());
+
+        assertThat(meterRegistry.get("rocklms.db.connection.acquire")
+                .tag("caller", "CourseService.findCourses").timer().count()).isPositive();
+        assertThat(meterRegistry.get("rocklms.db.connection.usage")
+                .tag("caller", "CourseService.findCourses").timer().count()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should report a connection held past the threshold once, until it is returned")
+    void shouldReportLeaksOnce() throws Exception {
+        InstrumentedDataSource instrumented = dataSource.unwrap(InstrumentedDataSource.class);
+
+        try (Connection connection = dataSource.getConnection()) {
+            assertThat(connection.isValid(1)).isTrue();
+            assertThat(instrumented.newLeaks(0))
+                    .extracting(InstrumentedDataSource.Lease::caller)
+                    .contains(InstrumentedDataSource.OTHER_CALLER);
+            assertThat(instrumented.newLeaks(0)).isEmpty();
+        }
+        assertThat(instrumented.takeWindow().peakInUse()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should keep Hikari's pool metrics bound through the wrapper")
+    void shouldKeepHikariMetrics() {
+        assertThat(meterRegistry.find("hikaricp.connections.active").gauge()).isNotNull();
+        assertThat(meterRegistry.find("hikaricp.connections.pending").gauge()).isNotNull();
+        assertThat(meterRegistry.find("hikaricp.connections.acquire").timer()).isNotNull();
+    }
+}
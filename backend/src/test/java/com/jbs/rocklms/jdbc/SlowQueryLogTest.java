@@ -0,0 +1,99 @@
+package com.jbs.rocklms.jdbc;
+
+import com.jbs.rocklms.service.CourseService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "rocklms.db.slow-query.threshold=PT0S",
+        "rocklms.db.slow-query.capacity=5",
+        "management.endpoints.web.exposure.include=slowqueries"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SlowQueryLogTest {
+
+    @Autowired
+    private SlowQueryLog slowQueryLog;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        slowQueryLog.clear();
+    }
+
+    @Test
+    @DisplayName("Should capture statements over the threshold with caller and redacted parameters")
+    void shouldCaptureSlowStatements() {
+        courseService.getCourseById(42L);
+
+        List<SlowQueryLog.Entry> entries = slowQueryLog.entries();
+        assertThat(entries).isNotEmpty();
+        SlowQueryLog.Entry entry = entries.get(0);
+        assertThat(entry.getSql()).containsIgnoringCase("from courses");
+        assertThat(entry.getCaller()).isEqualTo("CourseService.getCourseById");
+        assertThat(entry.getParameters()).containsExactly("42");
+        assertThat(entry.getElapsedMillis()).isNotNegative();
+    }
+
+    @Test
+    @DisplayName("Should keep only the most recent statements")
+    void shouldBeBounded() {
+        for (long id = 1; id <= 10; id++) {
+            courseService.getCourseById(id);
+        }
+
+        List<SlowQueryLog.Entry> entries = slowQueryLog.entries();
+        assertThat(entries).hasSize(5);
+        assertThat(entries.get(0).getParameters()).containsExactly("10");
+        assertThat(entries.get(4).getParameters()).containsExactly("6");
+    }
+
+    @Test
+    @DisplayName("Should redact text parameters but keep numbers, dates and nulls")
+    void shouldRedactParameters() {
+        assertThat(SlowQueryLog.redact("alice@example.com")).isEqualTo("<text, 17 chars>");
+        assertThat(SlowQueryLog.redact(7L)).isEqualTo("7");
+        assertThat(SlowQueryLog.redact(null)).isEqualTo("NULL");
+        assertThat(SlowQueryLog.redact(LocalDateTime.of(2024, 1, 2, 3, 4))).isEqualTo("2024-01-02T03:04");
+        assertThat(SlowQueryLog.redact(new byte[]{1, 2})).isEqualTo("<byte[]>");
+    }
+
+    @Test
+    @DisplayName("Should serve and clear the captured statements through the actuator endpoint")
+    void shouldServeEndpoint() throws Exception {
+        courseService.getCourseById(42L);
+
+        mockMvc.perform(get("/actuator/slowqueries"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(lessThanOrEqualTo(5))))
+                .andExpect(jsonPath("$[0].caller").exists())
+                .andExpect(jsonPath("$[0].sql").exists());
+
+        mockMvc.perform(delete("/actuator/slowqueries"))
+                .andExpect(status().is2xxSuccessful());
+        assertThat(slowQueryLog.entries()).isEmpty();
+    }
+}
@@ -0,0 +1,69 @@
+package com.jbs.rocklms.jdbc;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The most SQL one request to an operation may cost: statements executed, rows read from their
+ * result sets and, for reads, no writes at all. Checked by {@link StatementBudgetFilter} for every
+ * request a MockMvc test makes, so an extra query or an N+1 fails the test that caused it.
+ * <p>
+ * Row budgets are sized for test fixtures, which stay below a few dozen courses.
+ */
+public record StatementBudget(int maxStatements, int maxRowsRead, boolean readOnly) {
+
+    /**
+     * Budgets of the {@code CoursesApiDelegate} operations, by operation id. An operation without
+     * a budget fails its tests until it gets one.
+     */
+    public static final Map<String, StatementBudget> COURSES_API = Map.of(
+            "findAllCourses", read(1, 50),
+            "findCourseById", read(1, 1),
+            "findPopularCourses", read(1, 50),
+            "findSimilarCourses", read(2, 51),
+            "batchGetCourses", read(1, 50),
+            "createCourse", write(1, 0),
+            "updateCourse", write(2, 1),
+            "removeCourse", write(2, 1),
+            "publishCourse", write(2, 1),
+            "archiveCourse", write(2, 1));
+
+    public static StatementBudget read(int maxStatements, int maxRowsRead) {
+        return new StatementBudget(maxStatements, maxRowsRead, true);
+    }
+
+    public static StatementBudget write(int maxStatements, int maxRowsRead) {
+        return new StatementBudget(maxStatements, maxRowsRead, false);
+    }
+
+    /**
+     * @throws AssertionError listing every statement of the request if it went over budget
+     */
+    public void check(String operation, List<CountingDataSource.Execution> executions) {
+        int rowsRead = executions.stream().mapToInt(CountingDataSource.Execution::rowsRead).sum();
+        List<CountingDataSource.Execution> writes = executions.stream()
+                .filter(CountingDataSource.Execution::isWrite)
+                .toList();
+        StringBuilder violations = new StringBuilder();
+        if (executions.size() > maxStatements) {
+            violations.append(String.format("%d statements, budget %d; ", executions.size(), maxStatements));
+        }
+        if (rowsRead > maxRowsRead) {
+            violations.append(String.format("%d rows read, budget %d; ", rowsRead, maxRowsRead));
+        }
+        if (readOnly && !writes.isEmpty()) {
+            violations.append(String.format("%d writes in a read-only operation; ", writes.size()));
+        }
+        if (violations.isEmpty()) {
+            return;
+        }
+        StringBuilder message = new StringBuilder(operation).append(" went over its SQL budget: ")
+                .append(violations, 0, violations.length() - 2);
+        for (int i = 0; i < executions.size(); i++) {
+            CountingDataSource.Execution execution = executions.get(i);
+            message.append(String.format("%n  %s%2d. %s", readOnly && execution.isWrite() ? "!" : " ",
+                    i + 1, execution));
+        }
+        throw new AssertionError(message.toString());
+    }
+}
@@ -0,0 +1,41 @@
+package com.jbs.rocklms.jdbc;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcBuilderCustomizer;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Imported by MockMvc tests to enforce {@link StatementBudget#COURSES_API} on every request they make.
+ * The {@link CountingDataSource} may end up inside or outside the {@link InstrumentedDataSource};
+ * either way it sees every statement.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class StatementBudgetConfiguration {
+
+    @Bean
+    public static BeanPostProcessor countingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof CountingDataSource)) {
+                    return new CountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MockMvcBuilderCustomizer statementBudgetCustomizer(DataSource dataSource,
+                                                              EntityManagerFactory entityManagerFactory)
+            throws SQLException {
+        StatementBudgetFilter filter = new StatementBudgetFilter(dataSource.unwrap(CountingDataSource.class),
+                entityManagerFactory, StatementBudget.COURSES_API);
+        return builder -> builder.addFilters(filter);
+    }
+}
@@ -0,0 +1,68 @@
+package com.jbs.rocklms.jdbc;
+
+import com.jbs.rocklms.api.CoursesApi;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records the statements of each MockMvc request and checks them against the {@link StatementBudget}
+ * of the API operation that handled it. Requests to other handlers, and requests that failed with an
+ * exception, are not checked.
+ * <p>
+ * When the test runs in a transaction, the request joins it and its writes would only reach the
+ * database at the rollback. Pending writes are therefore flushed before the request, so that the
+ * test's own preparations are not charged to it, and again after it, so that the request's are.
+ */
+public class StatementBudgetFilter implements Filter {
+
+    private final CountingDataSource countingDataSource;
+    private final EntityManagerFactory entityManagerFactory;
+    private final Map<String, StatementBudget> budgets;
+
+    public StatementBudgetFilter(CountingDataSource countingDataSource, EntityManagerFactory entityManagerFactory,
+                                 Map<String, StatementBudget> budgets) {
+        this.countingDataSource = countingDataSource;
+        this.entityManagerFactory = entityManagerFactory;
+        this.budgets = budgets;
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        EntityManager testEntityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+        if (testEntityManager != null) {
+            testEntityManager.flush();
+        }
+        List<CountingDataSource.Execution> executions;
+        countingDataSource.start();
+        try {
+            chain.doFilter(request, response);
+            if (testEntityManager != null) {
+                testEntityManager.flush();
+            }
+        } finally {
+            executions = countingDataSource.stop();
+        }
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler
+                && CoursesApi.class.isAssignableFrom(handler.getBeanType())) {
+            String operation = handler.getMethod().getName();
+            StatementBudget budget = budgets.get(operation);
+            if (budget == null) {
+                throw new AssertionError("No statement budget for " + operation + ", declare one in StatementBudget");
+            }
+            budget.check(operation, executions);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.jbs.rocklms.jdbc;
+
+import com.jbs.rocklms.api.CoursesApiDelegate;
+import com.jbs.rocklms.entity.Course;
+import com.jbs.rocklms.repository.CourseFilter;
+import com.jbs.rocklms.repository.CourseRepository;
+import com.jbs.rocklms.service.CourseService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(StatementBudgetConfiguration.class)
+class StatementBudgetTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    private CountingDataSource countingDataSource;
+    private Course course;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        countingDataSource = dataSource.unwrap(CountingDataSource.class);
+        courseRepository.deleteAll();
+        course = courseService.createCourse("Budget Course", "Description", 30);
+        courseService.createCourse("Second Course", "Description", 45);
+        courseService.createCourse("Third Course", "Description", 60);
+    }
+
+    @AfterEach
+    void tearDown() {
+        courseRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should count the statements and rows read on the recording thread")
+    void shouldCountStatementsAndRows() {
+        countingDataSource.start();
+        courseService.findCourses(CourseFilter.byStatus(null), Sort.unsorted());
+        List<CountingDataSource.Execution> executions = countingDataSource.stop();
+
+        assertThat(executions).hasSize(1);
+        assertThat(executions.get(0).sql()).containsIgnoringCase("select");
+        assertThat(executions.get(0).rowsRead()).isEqualTo(3);
+        assertThat(executions.get(0).isWrite()).isFalse();
+        StatementBudget.read(1, 3).check("findCourses", executions);
+
+        assertThatThrownBy(() -> StatementBudget.read(1, 2).check("findCourses", executions))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("findCourses went over its SQL budget: 3 rows read, budget 2")
+                .hasMessageContaining(executions.get(0).sql());
+    }
+
+    @Test
+    @DisplayName("Should flag writes in a read-only operation")
+    void shouldFlagWritesInReads() {
+        countingDataSource.start();
+        courseService.publishCourse(course.getId());
+        List<CountingDataSource.Execution> executions = countingDataSource.stop();
+
+        assertThat(executions).anyMatch(CountingDataSource.Execution::isWrite);
+        assertThatThrownBy(() -> StatementBudget.read(10, 10).check("publishCourse", executions))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("1 writes in a read-only operation")
+                .hasMessageMatching("(?s).*\\n  ! ?\\d+\\. update courses .*");
+    }
+
+    @Test
+    @DisplayName("Should fail a request that goes over the budget of its operation")
+    void shouldFailRequestOverBudget() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .addFilters(new StatementBudgetFilter(countingDataSource, entityManagerFactory,
+                        Map.of("findCourseById", StatementBudget.read(0, 0))))
+                .build();
+
+        assertThatThrownBy(() -> mockMvc.perform(get("/api/courses/{id}", course.getId())))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("findCourseById went over its SQL budget: 1 statements, budget 0")
+                .hasMessageContaining("from courses");
+        assertThatThrownBy(() -> mockMvc.perform(post("/api/courses/{id}/publish", course.getId())))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("No statement budget for publishCourse");
+    }
+
+    @Test
+    @DisplayName("Should keep a request within budget passing")
+    void shouldPassRequestWithinBudget() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .addFilters(new StatementBudgetFilter(countingDataSource, entityManagerFactory,
+                        StatementBudget.COURSES_API))
+                .build();
+
+        mockMvc.perform(get("/api/courses/{id}", course.getId())).andExpect(status().isOk());
+        mockMvc.perform(post("/api/courses/{id}/publish", course.getId())).andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should declare a budget for every API operation")
+    void shouldDeclareBudgetForEveryOperation() {
+        List<String> operations = Arrays.stream(CoursesApiDelegate.class.getMethods())
+                .filter(method -> method.getReturnType() == ResponseEntity.class)
+                .map(Method::getName)
+                .toList();
+
+        assertThat(operations).isNotEmpty();
+        assertThat(StatementBudget.COURSES_API).containsOnlyKeys(operations);
+    }
+}
@@ -0,0 +1,52 @@
+package com.jbs.rocklms.jfr;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks the {@link CourseApiEvent}s the API commits, through a recording of real requests.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CourseApiEventTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CourseRecorder courseRecorder;
+
+    @AfterEach
+    void tearDown() {
+        courseRecorder.close();
+    }
+
+    @Test
+    @DisplayName("Should record list requests that are rejected as well as those that succeed")
+    void shouldRecordRejectedListRequests() throws Exception {
+        courseRecorder.start(null);
+        mockMvc.perform(get("/api/courses").param("sort", "description"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/courses").param("sort", "title"))
+                .andExpect(status().isOk());
+        courseRecorder.stop();
+
+        assertThat(CourseRecordingAnalyzer.summarize(courseRecorder.dump()))
+                .filteredOn(summary -> summary.layer().equals("api"))
+                .extracting(CourseRecordingAnalyzer.OperationSummary::operation,
+                        CourseRecordingAnalyzer.OperationSummary::count)
+                .containsExactly(tuple("findAllCourses", 2L));
+    }
+}
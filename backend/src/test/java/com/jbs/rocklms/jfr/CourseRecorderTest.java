@@ -0,0 +1,111 @@
+package com.jbs.rocklms.jfr;
+
+import com.jbs.rocklms.entity.Course;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class CourseRecorderTest {
+
+    @TempDir
+    private Path directory;
+
+    private CourseRecorder courseRecorder;
+
+    @BeforeEach
+    void setUp() {
+        courseRecorder = new CourseRecorder("profile", Duration.ofMinutes(1), DataSize.ofMegabytes(10),
+                directory.resolve("recording.jfr"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        courseRecorder.close();
+    }
+
+    @Test
+    @DisplayName("Should record course events and summarize them per layer and operation")
+    void shouldRecordAndSummarizeCourseEvents() throws IOException {
+        assertThat(courseRecorder.status().state()).isEqualTo("NONE");
+        assertThatThrownBy(() -> courseRecorder.dump()).isInstanceOf(IllegalStateException.class);
+
+        assertThat(courseRecorder.start(Duration.ofHours(1)).state()).isEqualTo("RUNNING");
+        assertThat(courseRecorder.status().duration()).isEqualTo(Duration.ofMinutes(1));
+        for (int i = 0; i < 3; i++) {
+            CourseEvent api = CourseApiEvent.start("findAllCourses").status(Course.CourseStatus.PUBLISHED);
+            CourseEvent service = CourseServiceEvent.start("streamCourses").status(Course.CourseStatus.PUBLISHED);
+            int rows = work();
+            service.rows(rows).commit();
+            api.rows(rows).commit();
+        }
+        CourseApiEvent.start("findCourseById").courseId(42).rows(1).commit();
+        assertThat(courseRecorder.stop().state()).isEqualTo("STOPPED");
+
+        Path dump = courseRecorder.dump();
+        assertThat(Files.size(dump)).isPositive();
+        List<CourseRecordingAnalyzer.OperationSummary> summaries = CourseRecordingAnalyzer.summarize(dump);
+
+        assertThat(summaries)
+                .extracting(CourseRecordingAnalyzer.OperationSummary::layer,
+                        CourseRecordingAnalyzer.OperationSummary::operation,
+                        CourseRecordingAnalyzer.OperationSummary::count,
+                        CourseRecordingAnalyzer.OperationSummary::rows)
+                .containsExactly(
+                        tuple("api", "findAllCourses", 3L, 3000L),
+                        tuple("api", "findCourseById", 1L, 1L),
+                        tuple("service", "streamCourses", 3L, 3000L));
+        CourseRecordingAnalyzer.OperationSummary list = summaries.get(0);
+        assertThat(list.totalMillis()).isGreaterThanOrEqualTo(list.maxMillis()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should discard the previous recording when a new one starts")
+    void shouldReplacePreviousRecording() throws IOException {
+        courseRecorder.start(null);
+        CourseApiEvent.start("createCourse").courseId(1).rows(1).commit();
+        courseRecorder.start(null);
+        CourseApiEvent.start("removeCourse").courseId(1).commit();
+        courseRecorder.stop();
+
+        assertThat(CourseRecordingAnalyzer.summarize(courseRecorder.dump()))
+                .extracting(CourseRecordingAnalyzer.OperationSummary::operation)
+                .containsExactly("removeCourse");
+    }
+
+    @Test
+    @DisplayName("Should leave out the events that may carry credentials")
+    void shouldNotRecordSensitiveEvents() throws IOException {
+        courseRecorder.start(null);
+        CourseApiEvent.start("findCourseById").courseId(1).rows(1).commit();
+        courseRecorder.stop();
+
+        assertThat(RecordingFile.readAllEvents(courseRecorder.dump()))
+                .extracting(event -> event.getEventType().getName())
+                .contains("com.jbs.rocklms.CourseApi")
+                .doesNotContainAnyElementsOf(CourseRecorder.SENSITIVE_EVENTS);
+    }
+
+    // Something for the events to span; returns a row count.
+    private static int work() {
+        List<String> rows = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            rows.add("course-" + i + "-" + "x".repeat(1000));
+        }
+        return rows.size();
+    }
+}
@@ -0,0 +1,75 @@
+package com.jbs.rocklms.mapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jbs.rocklms.entity.Course;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@JsonTest
+class CourseJsonWriterTest {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final CourseMapper courseMapper = new CourseMapper();
+    private CourseJsonWriter courseJsonWriter;
+
+    @BeforeEach
+    void setUp() {
+        courseJsonWriter = new CourseJsonWriter(objectMapper);
+    }
+
+    @Test
+    @DisplayName("Should produce the same bytes as serializing mapped CourseDtos")
+    void shouldMatchDtoSerialization() throws Exception {
+        List<Course> courses = List.of(
+                course(1L, "Electric Guitar Essentials", "Learn the fundamentals.", 30,
+                        Course.CourseStatus.PUBLISHED, LocalDateTime.of(2024, 3, 1, 12, 0)),
+                course(2L, "Punk \"Attitude\" & Ethos", "Line one\nline two — with \\ and é", 14,
+                        Course.CourseStatus.DRAFT, null),
+                course(3L, "No description", null, null,
+                        Course.CourseStatus.ARCHIVED, LocalDateTime.of(2023, 1, 10, 14, 0, 5, 123_456_000)),
+                course(4L, "Nanos", "", 1,
+                        Course.CourseStatus.PUBLISHED, LocalDateTime.of(2025, 12, 31, 23, 59, 59, 1))
+        );
+
+        ByteArrayOutputStream written = new ByteArrayOutputStream();
+        try (CourseJsonWriter.ListWriter list = courseJsonWriter.open(written)) {
+            for (Course course : courses) {
+                list.write(course.getId(), course.getTitle(), course.getDescription(), course.getDuration(),
+                        course.getStatus(), course.getPublishedAt());
+            }
+        }
+
+        byte[] expected = objectMapper.writeValueAsBytes(courses.stream().map(courseMapper::toDto).toList());
+        assertThat(written.toString()).isEqualTo(new String(expected));
+        assertThat(written.toByteArray()).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("Should write an empty array when there are no courses")
+    void shouldWriteEmptyArray() throws Exception {
+        ByteArrayOutputStream written = new ByteArrayOutputStream();
+        courseJsonWriter.open(written).close();
+
+        assertThat(written.toString()).isEqualTo("[]");
+    }
+
+    private Course course(Long id, String title, String description, Integer duration,
+                          Course.CourseStatus status, LocalDateTime publishedAt) {
+        Course course = new Course(title, description, duration);
+        course.setId(id);
+        course.setStatus(status);
+        course.setPublishedAt(publishedAt);
+        return course;
+    }
+}
@@ -0,0 +1,73 @@
+package com.jbs.rocklms.repository;
+
+import com.jbs.rocklms.entity.Course;
+import com.jbs.rocklms.service.CourseService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks on PostgreSQL that a course id stays unique although the partitioned table's primary key
+ * is {@code (id, status)}; see migration V1007.
+ */
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.flyway.locations=classpath:db/migration",
+        "spring.flyway.postgresql.transactional-lock=false",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class CourseIdUniquenessTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17");
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM courses");
+    }
+
+    @Test
+    @DisplayName("Should reject a second active course with the same id under another status")
+    void shouldRejectDuplicateActiveId() {
+        Course course = courseService.createCourse("Rock Guitar Basics", "Chords and riffs", 30);
+        courseService.publishCourse(course.getId());
+
+        assertThatThrownBy(() -> jdbcTemplate.update(
+                "INSERT INTO courses (id, title, status) VALUES (?, 'Copy', 'DRAFT')", course.getId()))
+                .isInstanceOf(DuplicateKeyException.class);
+    }
+
+    @Test
+    @DisplayName("Should move a course between partitions with its id")
+    void shouldKeepIdAcrossPartitions() {
+        Course course = courseService.createCourse("Rock Guitar Basics", "Chords and riffs", 30);
+        courseService.publishCourse(course.getId());
+        courseService.archiveCourse(course.getId());
+
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM courses_active WHERE id = ?",
+                Integer.class, course.getId())).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM courses_archived WHERE id = ?",
+                Integer.class, course.getId())).isEqualTo(1);
+    }
+}
@@ -0,0 +1,198 @@
+package com.jbs.rocklms.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jbs.rocklms.entity.Course;
+import com.jbs.rocklms.jdbc.InstrumentedDataSource;
+import com.jbs.rocklms.jdbc.SlowQueryLog;
+import com.jbs.rocklms.mapper.CourseMapper;
+import com.jbs.rocklms.service.CourseService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks on PostgreSQL, with the default planner settings and a catalog of realistic size and
+ * skew, that a selective filter of the course list is answered from the index built for it
+ * (migration V1002), whatever the sort. Sorting a large unfiltered list is left to the planner.
+ */
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.flyway.locations=classpath:db/migration",
+        "spring.flyway.postgresql.transactional-lock=false",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CourseListPlanTest {
+
+    private static final int COURSE_COUNT = 200_000;
+
+    // Title words; each starts about 5% of the titles.
+    private static final String TITLE_WORDS = "'Rock','Jazz','Blues','Funk','Soul','Metal','Punk','Folk','Pop','Reggae',"
+            + "'Country','Gospel','Disco','Swing','Techno','House','Latin','Opera','Ska','Grunge'";
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17");
+
+    private record CapturedStatement(String sql, List<Object> parameters) {
+    }
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseMapper courseMapper;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SlowQueryLog slowQueryLog;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Map<String, String> parentIndexes;
+
+    // Mostly archived courses; durations spread over 5..180 minutes and publication dates over ten
+    // years, so a one-minute duration range or a one-month window selects about 1% of the rows.
+    @BeforeAll
+    void seedCourses() {
+        jdbcTemplate.update("""
+                INSERT INTO courses (title, description, duration, status, published_at)
+                SELECT (ARRAY[%s])[1 + (i / 7) %% 20] || ' Lesson ' || i,
+                       'Description of course number ' || i || ', long enough to look like a real one',
+                       5 + (i * 7919) %% 176,
+                       CASE WHEN i %% 20 = 0 THEN 'DRAFT' WHEN i %% 20 < 3 THEN 'PUBLISHED' ELSE 'ARCHIVED' END,
+                       CASE WHEN i %% 20 = 0 THEN NULL
+                            ELSE TIMESTAMP '2015-01-01' + ((i * 7907) %% 3650) * INTERVAL '1 day' END
+                FROM generate_series(1, ?) i
+                """.formatted(TITLE_WORDS), COURSE_COUNT);
+        jdbcTemplate.execute("ANALYZE courses");
+        // EXPLAIN names the partitions' indexes; the assertions use the ones the migration created.
+        parentIndexes = new HashMap<>();
+        jdbcTemplate.query("""
+                SELECT child.relname, parent.relname
+                FROM pg_inherits
+                JOIN pg_class child ON child.oid = pg_inherits.inhrelid
+                JOIN pg_class parent ON parent.oid = pg_inherits.inhparent
+                WHERE parent.relkind = 'I'
+                """, (RowCallbackHandler) row -> parentIndexes.put(row.getString(1), row.getString(2)));
+    }
+
+    @AfterAll
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM courses");
+    }
+
+    static Stream<Arguments> selectiveFilters() {
+        List<Arguments> cases = new ArrayList<>();
+        for (Course.CourseStatus status : new Course.CourseStatus[] {null, Course.CourseStatus.PUBLISHED,
+                Course.CourseStatus.ARCHIVED}) {
+            for (String sort : new String[] {null, "title", "-duration", "-publishedAt"}) {
+                cases.add(Arguments.of(new CourseFilter(status, null, null, null, null, "Rock"), sort,
+                        "idx_courses_title_prefix"));
+                cases.add(Arguments.of(new CourseFilter(status, 10, 11, null, null, null), sort,
+                        "idx_courses_duration_status"));
+                cases.add(Arguments.of(new CourseFilter(status, null, null,
+                        LocalDateTime.of(2020, 1, 1, 0, 0), LocalDateTime.of(2020, 2, 1, 0, 0), null), sort,
+                        "idx_courses_published_at_status"));
+            }
+        }
+        return cases.stream();
+    }
+
+    @ParameterizedTest(name = "{0} sorted by {1}")
+    @MethodSource("selectiveFilters")
+    void shouldUseIndexOfSelectiveFilter(CourseFilter filter, String sort, String index) throws Exception {
+        CapturedStatement statement = capture(filter, sort);
+
+        JsonNode plan = explain(statement);
+        Set<String> nodeTypes = new HashSet<>();
+        Set<String> relations = new HashSet<>();
+        Set<String> indexes = new HashSet<>();
+        collect(plan, nodeTypes, relations, indexes);
+
+        assertThat(nodeTypes).as("plan %s", plan).doesNotContain("Seq Scan");
+        assertThat(indexes).as("plan %s", plan).contains(index);
+        if (filter.status() == Course.CourseStatus.PUBLISHED) {
+            assertThat(relations).containsExactly("courses_active");
+        } else if (filter.status() == Course.CourseStatus.ARCHIVED) {
+            assertThat(relations).containsExactly("courses_archived");
+        }
+    }
+
+    private CapturedStatement capture(CourseFilter filter, String sort) throws Exception {
+        InstrumentedDataSource instrumented = dataSource.unwrap(InstrumentedDataSource.class);
+        List<CapturedStatement> statements = new ArrayList<>();
+        instrumented.setStatementObserver((sql, parameters, caller, elapsedNanos) ->
+                statements.add(new CapturedStatement(sql, parameters)));
+        try {
+            courseService.findCourses(filter, courseMapper.toSort(sort));
+        } finally {
+            instrumented.setStatementObserver(slowQueryLog);
+        }
+        assertThat(statements).hasSize(1);
+        return statements.get(0);
+    }
+
+    private JsonNode explain(CapturedStatement statement) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement explain = connection.prepareStatement("EXPLAIN (FORMAT JSON) " + statement.sql())) {
+            for (int i = 0; i < statement.parameters().size(); i++) {
+                explain.setObject(i + 1, statement.parameters().get(i));
+            }
+            try (ResultSet rows = explain.executeQuery()) {
+                rows.next();
+                return objectMapper.readTree(rows.getString(1)).get(0).get("Plan");
+            }
+        }
+    }
+
+    private void collect(JsonNode node, Set<String> nodeTypes, Set<String> relations, Set<String> indexes) {
+        nodeTypes.add(node.get("Node Type").asText());
+        if (node.has("Relation Name")) {
+            relations.add(node.get("Relation Name").asText());
+        }
+        if (node.has("Index Name")) {
+            String index = node.get("Index Name").asText();
+            indexes.add(parentIndexes.getOrDefault(index, index));
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collect(child, nodeTypes, relations, indexes);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.jbs.rocklms.repository;
+
+import com.jbs.rocklms.entity.Course;
+import com.jbs.rocklms.service.CourseService;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Starts the application on a PostgreSQL database that already holds V1 and the dev seed V999, as
+ * every database created before the later migrations does, and checks it is migrated in place.
+ */
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.flyway.locations=classpath:db/migration,classpath:db/dev_migration",
+        "spring.flyway.postgresql.transactional-lock=false",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class MigrationUpgradeTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17");
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Runs before the application context, and with it Flyway, starts.
+    @BeforeAll
+    static void migrateToSeed() {
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .locations("classpath:db/migration", "classpath:db/dev_migration")
+                .target("999")
+                .load()
+                .migrate();
+    }
+
+    @Test
+    @DisplayName("Should apply the newer migrations to a database with V1 and V999 applied")
+    void shouldUpgradeSeededDatabase() {
+        assertThat(flyway.info().pending()).isEmpty();
+        assertThat(Arrays.stream(flyway.info().applied()).map(MigrationInfo::getVersion).map(Object::toString))
+                .startsWith("1", "999");
+
+        int seeded = jdbcTemplate.queryForObject("SELECT count(*) FROM courses WHERE id BETWEEN 1001 AND 1018",
+                Integer.class);
+        assertThat(seeded).isEqualTo(18);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM courses_archived", Integer.class))
+                .isEqualTo(jdbcTemplate.queryForObject(
+                        "SELECT count(*) FROM courses WHERE status = 'ARCHIVED'", Integer.class));
+
+        Course created = courseService.createCourse("Rock Guitar Basics", "Chords and riffs", 30);
+        assertThat(created.getId()).isGreaterThan(1018);
+    }
+}
@@ -0,0 +1,112 @@
+package com.jbs.rocklms.similar;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class MinHashIndexTest {
+
+    private static final int HASHES = 64;
+
+    private final MinHashSigner signer = new MinHashSigner(HASHES, 42);
+
+    @Test
+    @DisplayName("Should estimate the Jaccard similarity of the shingle sets")
+    void shouldEstimateSimilarity() {
+        byte[] guitar = sign("Rock Guitar Basics", "Learn the basic chords and riffs of rock guitar.");
+        byte[] sameText = sign("ROCK guitar basics!", "Learn the basic chords, and riffs of rock guitar");
+        byte[] advanced = sign("Rock Guitar Advanced", "Learn the basic chords and riffs of rock guitar.");
+        byte[] drums = sign("Jazz Drumming", "Brushes, swing feel and comping on the snare.");
+
+        assertThat(MinHashSigner.similarity(guitar, 0, sameText, 0, HASHES)).isEqualTo(1.0);
+        assertThat(MinHashSigner.similarity(guitar, 0, advanced, 0, HASHES)).isCloseTo(0.8, within(0.2));
+        assertThat(MinHashSigner.similarity(guitar, 0, drums, 0, HASHES)).isLessThan(0.1);
+        assertThat(signer.sign(" - ", null, new byte[HASHES], 0)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should find similar courses, most similar first, without the course itself")
+    void shouldFindSimilarCourses() {
+        MinHashIndex index = new MinHashIndex(HASHES, 16, 100, 0);
+        index.put(1, sign("Rock Guitar Basics", "Learn the basic chords and riffs of rock guitar."), 0);
+        index.put(2, sign("Rock Guitar Advanced", "Learn the basic chords and riffs of rock guitar."), 0);
+        index.put(3, sign("Rock Guitar Basics", "Learn the basic chords and riffs of rock guitar!"), 0);
+        index.put(4, sign("Jazz Drumming", "Brushes, swing feel and comping on the snare."), 0);
+
+        List<MinHashIndex.Match> matches = index.findSimilar(1, 10, 0.2).orElseThrow();
+
+        assertThat(matches).extracting(MinHashIndex.Match::courseId).containsExactly(3L, 2L);
+        assertThat(matches.get(0).similarity()).isEqualTo(1.0);
+        assertThat(index.findSimilar(1, 1, 0.2).orElseThrow()).hasSize(1);
+        assertThat(index.findSimilar(99, 10, 0.2)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should replace, remove and reuse slots as courses change")
+    void shouldApplyChanges() {
+        MinHashIndex index = new MinHashIndex(HASHES, 16, 100, 0);
+        byte[] guitar = sign("Rock Guitar Basics", "Learn the basic chords and riffs of rock guitar.");
+        byte[] drums = sign("Jazz Drumming", "Brushes, swing feel and comping on the snare.");
+        index.put(1, guitar, 0);
+        index.put(2, guitar, 0);
+        index.put(3, drums, 0);
+
+        index.put(2, drums, 0);
+        assertThat(index.findSimilar(1, 10, 0.2).orElseThrow()).isEmpty();
+        assertThat(index.findSimilar(3, 10, 0.2).orElseThrow())
+                .extracting(MinHashIndex.Match::courseId).containsExactly(2L);
+
+        assertThat(index.remove(2)).isTrue();
+        assertThat(index.remove(2)).isFalse();
+        assertThat(index.contains(2)).isFalse();
+        assertThat(index.findSimilar(3, 10, 0.2).orElseThrow()).isEmpty();
+
+        index.put(4, guitar, 0);
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.findSimilar(guitar, 0, 0, 10, 0.2))
+                .extracting(MinHashIndex.Match::courseId).containsExactly(1L, 4L);
+    }
+
+    @Test
+    @DisplayName("Should keep every course reachable when the arrays grow")
+    void shouldGrow() {
+        MinHashIndex index = new MinHashIndex(HASHES, 16, 100, 0);
+        for (int i = 1; i <= 200; i++) {
+            index.put(i, sign("Course " + i, "Topic " + (i % 10) + " in depth"), 0);
+        }
+        for (int i = 1; i <= 200; i += 2) {
+            index.remove(i);
+        }
+
+        assertThat(index.size()).isEqualTo(100);
+        for (int i = 2; i <= 200; i += 2) {
+            assertThat(index.contains(i)).isTrue();
+            assertThat(index.findSimilar(i, 100, 0.2).orElseThrow())
+                    .extracting(MinHashIndex.Match::courseId)
+                    .allMatch(id -> id % 2 == 0 && id != 0);
+        }
+        assertThat(index.memoryBytes()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should stop collecting candidates at the limit")
+    void shouldCapCandidates() {
+        MinHashIndex index = new MinHashIndex(HASHES, 16, 5, 0);
+        byte[] same = sign("Rock Guitar Basics", "Learn the basic chords and riffs of rock guitar.");
+        for (int i = 1; i <= 50; i++) {
+            index.put(i, same, 0);
+        }
+
+        assertThat(index.findSimilar(1, 50, 0.2).orElseThrow()).hasSizeLessThanOrEqualTo(5).isNotEmpty();
+    }
+
+    private byte[] sign(String title, String description) {
+        byte[] signature = new byte[HASHES];
+        assertThat(signer.sign(title, description, signature, 0)).isTrue();
+        return signature;
+    }
+}
@@ -0,0 +1,71 @@
+package com.jbs.rocklms.stats;
+
+import com.jbs.rocklms.event.CourseChangedEvent;
+import com.jbs.rocklms.service.CourseStatsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CourseViewCounterTest {
+
+    @Mock
+    private CourseStatsService courseStatsService;
+
+    private CourseViewCounter courseViewCounter;
+
+    @BeforeEach
+    void setUp() {
+        courseViewCounter = new CourseViewCounter(courseStatsService, new SimpleMeterRegistry(), true, 100);
+    }
+
+    @Test
+    @DisplayName("Should delete the stats of a course only after a flush that read its views is written")
+    void shouldDeleteStatsAfterRunningFlush() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            writing.countDown();
+            release.await();
+            return null;
+        }).when(courseStatsService).addViews(Map.of(1L, 1L));
+        when(courseStatsService.getMostViewed(anyInt())).thenReturn(List.of());
+        courseViewCounter.recordView(1L);
+
+        Thread flush = new Thread(courseViewCounter::flush);
+        flush.start();
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread delete = new Thread(() -> courseViewCounter.onCourseChanged(
+                new CourseChangedEvent(1L, CourseChangedEvent.Change.DELETED)));
+        delete.start();
+
+        verify(courseStatsService, after(200).never()).deleteStats(1L);
+        release.countDown();
+        flush.join(5000);
+        delete.join(5000);
+
+        verify(courseStatsService, timeout(5000)).deleteStats(1L);
+        InOrder order = inOrder(courseStatsService);
+        order.verify(courseStatsService).addViews(Map.of(1L, 1L));
+        order.verify(courseStatsService).deleteStats(1L);
+    }
+}
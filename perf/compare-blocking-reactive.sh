@@ -0,0 +1,52 @@
+#!/usr/bin/env bash
+#
+# Compares the read operations of the servlet backend (JDBC) with the reactive-read module (R2DBC)
+# at high concurrency: throughput and latency per operation, and the thread count each process
+# needs to serve the load.
+#
+# Prerequisites (database up via docker-compose and filled with perf/generate-courses.sh):
+#   (cd backend && ./mvnw -DskipTests package)                -> backend/target/rocklms-0.0.1-SNAPSHOT.jar
+#   (cd reactive-read && ../backend/mvnw -DskipTests package) -> reactive-read/target/rocklms-reactive-read-0.0.1-SNAPSHOT.jar
+#
+# Usage:
+#   perf/compare-blocking-reactive.sh
+#
+# Environment: DURATION (default 1m), VUS (default 400), ID_MIN/ID_MAX forwarded to the k6 script.
+# Lists are filtered (FILTERED_LISTS=1) so both sides read them from the database, and admission
+# control is switched off on the backend so it measures capacity rather than shedding.
+#
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+DURATION="${DURATION:-1m}"
+VUS="${VUS:-400}"
+BLOCKING_CMD=(java -jar backend/target/rocklms-0.0.1-SNAPSHOT.jar --rocklms.admission.enabled=false
+    --spring.jpa.show-sql=false)
+REACTIVE_CMD=(java -jar reactive-read/target/rocklms-reactive-read-0.0.1-SNAPSHOT.jar)
+
+run() {
+    local build="$1" base_url="$2"; shift 2
+    "$@" > "/tmp/rocklms-$build.log" 2>&1 &
+    local pid=$!
+    until curl -fsS -o /dev/null "$base_url/courses/${ID_MIN:-1001}"; do sleep 0.1; done
+
+    k6 run --quiet -e BUILD="$build" -e BASE_URL="$base_url" -e VUS="$VUS" -e DURATION="$DURATION" \
+        -e READ_ONLY=1 -e FILTERED_LISTS=1 -e ID_MIN="${ID_MIN:-1001}" -e ID_MAX="${ID_MAX:-1018}" \
+        perf/courses-load.js &
+    local k6_pid=$!
+    # Sampled halfway through, while the load is on.
+    sleep "$(( $(sed -E 's/^([0-9]+)m$/\1*60/; s/s$//' <<< "$DURATION") / 2 ))"
+    echo "$build: $(ps -o nlwp= -p "$pid" | tr -d ' ') threads under load" >&2
+    wait "$k6_pid"
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+}
+
+echo "== Blocking (servlet + JDBC)"
+run blocking http://localhost:8080/api "${BLOCKING_CMD[@]}"
+echo "== Reactive (WebFlux + R2DBC)"
+run reactive http://localhost:8081/api "${REACTIVE_CMD[@]}"
+
+echo "== Throughput and latency (blocking vs reactive)"
+perf/compare-results.sh perf/results/blocking.json perf/results/reactive.json
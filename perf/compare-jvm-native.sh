@@ -0,0 +1,48 @@
+#!/usr/bin/env bash
+#
+# Compares the JVM and native builds of the backend: time-to-first-request, RSS at startup,
+# steady-state throughput and RSS after load.
+#
+# Prerequisites (run from the backend directory, database up via docker-compose):
+#   ./mvnw -DskipTests package                 -> target/rocklms-0.0.1-SNAPSHOT.jar
+#   ./mvnw -Pnative -DskipTests native:compile -> target/rocklms
+#
+# Usage:
+#   perf/compare-jvm-native.sh
+#
+# Environment: DURATION (default 1m), VUS (default 50), ID_MIN/ID_MAX forwarded to the k6 script.
+#
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+DURATION="${DURATION:-1m}"
+VUS="${VUS:-50}"
+JVM_CMD=(java -jar backend/target/rocklms-0.0.1-SNAPSHOT.jar)
+NATIVE_CMD=(backend/target/rocklms)
+
+steady_state() {
+    local build="$1"; shift
+    "$@" > "/tmp/rocklms-$build.log" 2>&1 &
+    local pid=$!
+    until curl -fsS -o /dev/null http://localhost:8080/api/courses/1001; do sleep 0.1; done
+
+    k6 run --quiet -e BUILD="$build" -e VUS="$VUS" -e DURATION="$DURATION" \
+        -e ID_MIN="${ID_MIN:-1001}" -e ID_MAX="${ID_MAX:-1018}" perf/courses-load.js
+    echo "$build: rss after load $(( $(ps -o rss= -p "$pid" | tr -d ' ') / 1024 )) MB"
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+}
+
+echo "== JVM startup"
+perf/startup-time.sh -- "${JVM_CMD[@]}"
+echo "== Native startup"
+perf/startup-time.sh -- "${NATIVE_CMD[@]}"
+
+echo "== JVM steady state"
+steady_state jvm "${JVM_CMD[@]}"
+echo "== Native steady state"
+steady_state native "${NATIVE_CMD[@]}"
+
+echo "== Throughput and latency (jvm vs native)"
+perf/compare-results.sh perf/results/jvm.json perf/results/native.json
@@ -0,0 +1,30 @@
+#!/usr/bin/env bash
+#
+# Compares two summaries written by perf/courses-load.js.
+#
+# Usage:
+#   perf/compare-results.sh perf/results/<baseline>.json perf/results/<candidate>.json
+#
+set -euo pipefail
+
+if [[ $# -ne 2 ]]; then
+    echo "usage: $0 <baseline.json> <candidate.json>" >&2
+    exit 1
+fi
+
+jq -r -n --slurpfile base "$1" --slurpfile cand "$2" '
+def pad(n): tostring as $s | $s + ([range(0; n - ($s | length))] | map(" ") | join(""));
+def row: to_entries | map(.key as $i | .value // "-" | pad(if $i == 0 then 18 else 10 end)) | join("");
+def delta(a; b): if a == null or b == null or a == 0 then "n/a"
+                 else (((b - a) / a * 100) * 10 | round / 10 | tostring) + "%" end;
+(["operation", "rps", "", "", "p95 ms", "", "", "p99 ms", "", ""]
+ | row),
+(["", $base[0].build, $cand[0].build, "delta", $base[0].build, $cand[0].build, "delta",
+ $base[0].build, $cand[0].build, "delta"]
+ | row),
+(($base[0].operations + $cand[0].operations) | keys[]) as $op
+| $base[0].operations[$op] as $a | $cand[0].operations[$op] as $b
+| [$op, $a.rps, $b.rps, delta($a.rps; $b.rps),
+   $a.p95, $b.p95, delta($a.p95; $b.p95),
+   $a.p99, $b.p99, delta($a.p99; $b.p99)]
+| row'
@@ -0,0 +1,198 @@
+// Load test for the course API described in openapi.yaml.
+//
+//   k6 run perf/courses-load.js
+//   docker run --rm -i --network host -v "$PWD/perf:/perf" grafana/k6 run /perf/courses-load.js
+//
+// Environment:
+//   BASE_URL      API base url (default: http://localhost:8080/api)
+//   ID_MIN/ID_MAX id range of existing courses, as printed by generate-courses.sh (default: 1001..1018)
+//   VUS           virtual users per read scenario (default: 20)
+//   DURATION      duration of each scenario (default: 1m)
+//   BUILD         label written into the summary file name (default: local)
+//   READ_ONLY     set to 1 to run only findCourseById and findAllCourses, e.g. against reactive-read
+//   BATCH_SIZE    ids per batchGetCourses request (default: 20)
+//   FILTERED_LISTS set to 1 to list with title prefix, duration and sort instead of status only, so
+//                 every list reaches the database instead of the backend's list cache
+//
+// Every openapi.yaml operation is exercised: lookups mix in similar-course, popular-course and
+// batch requests, lists run on their own, and a lifecycle scenario creates, changes and removes
+// courses. Every request is tagged with its operationId, so the summary reports latency
+// percentiles and throughput per operation. The JSON written to perf/results/<BUILD>.json can be compared between
+// builds with perf/compare-results.sh.
+
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080/api';
+const ID_MIN = parseInt(__ENV.ID_MIN || '1001', 10);
+const ID_MAX = parseInt(__ENV.ID_MAX || '1018', 10);
+const VUS = parseInt(__ENV.VUS || '20', 10);
+const DURATION = __ENV.DURATION || '1m';
+const BUILD = __ENV.BUILD || 'local';
+const READ_ONLY = __ENV.READ_ONLY === '1';
+const BATCH_SIZE = parseInt(__ENV.BATCH_SIZE || '20', 10);
+const FILTERED_LISTS = __ENV.FILTERED_LISTS === '1';
+
+const OPERATIONS = [
+    'findAllCourses',
+    'findCourseById',
+    'findSimilarCourses',
+    'findPopularCourses',
+    'batchGetCourses',
+    'createCourse',
+    'updateCourse',
+    'publishCourse',
+    'archiveCourse',
+    'removeCourse',
+];
+
+const STATUSES = ['PUBLISHED', 'PUBLISHED', 'PUBLISHED', 'DRAFT', 'ARCHIVED'];
+// Title prefixes as produced by generate-courses.sh: genre and skill.
+const GENRES = ['Rock', 'Punk', 'Grunge', 'Metal', 'Blues Rock', 'Prog', 'Glam', 'Garage', 'Indie', 'Alternative'];
+const SKILLS = ['Guitar', 'Bass', 'Drum', 'Vocal', 'Keyboard', 'Songwriting', 'Production', 'Mixing', 'Stage'];
+const JSON_HEADERS = { headers: { 'Content-Type': 'application/json' } };
+
+// Thresholds on tagged sub-metrics make k6 keep per-operation statistics in the summary.
+const thresholds = { http_req_failed: ['rate<0.01'] };
+for (const operation of OPERATIONS) {
+    thresholds[`http_req_duration{name:${operation}}`] = ['max>=0'];
+    thresholds[`http_reqs{name:${operation}}`] = ['count>=0'];
+}
+
+export const options = {
+    summaryTrendStats: ['avg', 'med', 'p(90)', 'p(95)', 'p(99)', 'max'],
+    thresholds,
+    scenarios: {
+        lookups: {
+            executor: 'constant-vus',
+            exec: 'lookup',
+            vus: VUS,
+            duration: DURATION,
+        },
+        lists: {
+            executor: 'constant-vus',
+            exec: 'list',
+            vus: Math.max(1, Math.floor(VUS / 4)),
+            duration: DURATION,
+        },
+        ...(READ_ONLY ? {} : {
+            lifecycle: {
+                executor: 'constant-vus',
+                exec: 'lifecycle',
+                vus: Math.max(1, Math.floor(VUS / 4)),
+                duration: DURATION,
+            },
+        }),
+    },
+};
+
+function randomId() {
+    return ID_MIN + Math.floor(Math.random() * (ID_MAX - ID_MIN + 1));
+}
+
+function pick(values) {
+    return values[Math.floor(Math.random() * values.length)];
+}
+
+function tagged(name) {
+    return { ...JSON_HEADERS, tags: { name } };
+}
+
+export function lookup() {
+    const response = http.get(`${BASE_URL}/courses/${randomId()}`, tagged('findCourseById'));
+    check(response, { 'findCourseById 200/404': (r) => r.status === 200 || r.status === 404 });
+    if (READ_ONLY) {
+        return;
+    }
+    const dice = Math.random();
+    if (dice < 0.2) {
+        const similar = http.get(`${BASE_URL}/courses/${randomId()}/similar`, tagged('findSimilarCourses'));
+        check(similar, { 'findSimilarCourses 200/404': (r) => r.status === 200 || r.status === 404 });
+    } else if (dice < 0.3) {
+        const popular = http.get(`${BASE_URL}/courses/popular?limit=10`, tagged('findPopularCourses'));
+        check(popular, { 'findPopularCourses 200': (r) => r.status === 200 });
+    } else if (dice < 0.4) {
+        const ids = Array.from({ length: BATCH_SIZE }, randomId);
+        const batch = http.post(`${BASE_URL}/courses:batchGet`, JSON.stringify({ ids }), tagged('batchGetCourses'));
+        check(batch, { 'batchGetCourses 200': (r) => r.status === 200 });
+    }
+}
+
+export function list() {
+    let query = `status=${pick(STATUSES)}`;
+    if (FILTERED_LISTS) {
+        // A two-minute duration window within one genre and skill: a few dozen rows per million courses.
+        const duration = 1 + Math.floor(Math.random() * 120);
+        query += `&titlePrefix=${encodeURIComponent(`${pick(GENRES)} ${pick(SKILLS)}`)}`
+            + `&minDuration=${duration}&maxDuration=${duration + 1}&sort=title`;
+    }
+    const response = http.get(`${BASE_URL}/courses?${query}`, tagged('findAllCourses'));
+    check(response, { 'findAllCourses 200': (r) => r.status === 200 });
+}
+
+export function lifecycle() {
+    const created = http.post(`${BASE_URL}/courses`, JSON.stringify({
+        title: `Load Test Course ${__VU}-${__ITER}`,
+        description: 'Created by perf/courses-load.js',
+        duration: 1 + Math.floor(Math.random() * 120),
+    }), tagged('createCourse'));
+    if (!check(created, { 'createCourse 201': (r) => r.status === 201 })) {
+        return;
+    }
+    const id = created.json('id');
+
+    const updated = http.put(`${BASE_URL}/courses/${id}`, JSON.stringify({
+        description: 'Updated by perf/courses-load.js',
+    }), tagged('updateCourse'));
+    check(updated, { 'updateCourse 200': (r) => r.status === 200 });
+
+    const published = http.post(`${BASE_URL}/courses/${id}/publish`, null, tagged('publishCourse'));
+    check(published, { 'publishCourse 200': (r) => r.status === 200 });
+
+    const archived = http.post(`${BASE_URL}/courses/${id}/archive`, null, tagged('archiveCourse'));
+    check(archived, { 'archiveCourse 200': (r) => r.status === 200 });
+
+    const removed = http.del(`${BASE_URL}/courses/${id}`, null, tagged('removeCourse'));
+    check(removed, { 'removeCourse 204': (r) => r.status === 204 });
+}
+
+export function handleSummary(data) {
+    const seconds = data.state.testRunDurationMs / 1000;
+    const operations = {};
+    for (const operation of OPERATIONS) {
+        const duration = data.metrics[`http_req_duration{name:${operation}}`];
+        const requests = data.metrics[`http_reqs{name:${operation}}`];
+        if (!duration || !requests || requests.values.count === 0) {
+            continue;
+        }
+        operations[operation] = {
+            requests: requests.values.count,
+            rps: +(requests.values.count / seconds).toFixed(1),
+            avg: +duration.values.avg.toFixed(2),
+            p50: +duration.values.med.toFixed(2),
+            p95: +duration.values['p(95)'].toFixed(2),
+            p99: +duration.values['p(99)'].toFixed(2),
+            max: +duration.values.max.toFixed(2),
+        };
+    }
+
+    const report = {
+        build: BUILD,
+        timestamp: new Date().toISOString(),
+        durationSeconds: seconds,
+        failedRate: data.metrics.http_req_failed.values.rate,
+        operations,
+    };
+
+    const lines = [`build ${BUILD}, ${seconds.toFixed(0)}s`,
+        'operation            requests      rps   p50 ms   p95 ms   p99 ms'];
+    for (const [operation, stats] of Object.entries(operations)) {
+        lines.push(`${operation.padEnd(20)} ${String(stats.requests).padStart(9)} ${String(stats.rps).padStart(8)}`
+            + ` ${String(stats.p50).padStart(8)} ${String(stats.p95).padStart(8)} ${String(stats.p99).padStart(8)}`);
+    }
+
+    return {
+        stdout: lines.join('\n') + '\n',
+        [`perf/results/${BUILD}.json`]: JSON.stringify(report, null, 2),
+    };
+}
@@ -0,0 +1,89 @@
+#!/usr/bin/env bash
+#
+# Fills the courses table with synthetic, realistic-looking rows using Postgres COPY.
+#
+# Usage:
+#   perf/generate-courses.sh [count]
+#
+# Environment:
+#   PSQL         command used to reach the database
+#                (default: docker compose exec -T postgres psql -U rocklms-user -d rocklms)
+#   SEED         random seed, keeps generated data reproducible between runs (default: 42)
+#   DRAFT_PCT    share of DRAFT courses in percent (default: 25)
+#   ARCHIVED_PCT share of ARCHIVED courses in percent (default: 15), the rest is PUBLISHED
+#   TRUNCATE     set to 1 to empty the courses table before loading
+#
+set -euo pipefail
+
+COUNT="${1:-1000000}"
+SEED="${SEED:-42}"
+DRAFT_PCT="${DRAFT_PCT:-25}"
+ARCHIVED_PCT="${ARCHIVED_PCT:-15}"
+PSQL="${PSQL:-docker compose exec -T postgres psql -U rocklms-user -d rocklms}"
+
+if [[ "${TRUNCATE:-0}" == "1" ]]; then
+    $PSQL -v ON_ERROR_STOP=1 -c "TRUNCATE courses RESTART IDENTITY"
+fi
+
+echo "Generating ${COUNT} courses (draft ${DRAFT_PCT}%, archived ${ARCHIVED_PCT}%, seed ${SEED})" >&2
+START=$(date +%s)
+
+awk -v count="$COUNT" -v seed="$SEED" -v draftPct="$DRAFT_PCT" -v archivedPct="$ARCHIVED_PCT" \
+    -v now="$START" '
+function pick(arr, n) { return arr[int(rand() * n) + 1] }
+
+# Epoch seconds to "YYYY-MM-DD HH:MM:SS" (UTC) without relying on gawk extensions.
+function timestamp(epoch,    days, secs, z, era, doe, yoe, doy, mp, d, m, y) {
+    days = int(epoch / 86400); secs = epoch - days * 86400
+    z = days + 719468; era = int(z / 146097); doe = z - era * 146097
+    yoe = int((doe - int(doe / 1460) + int(doe / 36524) - int(doe / 146096)) / 365)
+    y = yoe + era * 400; doy = doe - (365 * yoe + int(yoe / 4) - int(yoe / 100))
+    mp = int((5 * doy + 2) / 153); d = doy - int((153 * mp + 2) / 5) + 1
+    m = mp < 10 ? mp + 3 : mp - 9; if (m <= 2) y++
+    return sprintf("%04d-%02d-%02d %02d:%02d:%02d", y, m, d,
+                   int(secs / 3600), int(secs % 3600 / 60), secs % 60)
+}
+
+function description(    words, text) {
+    # Mix of empty, short and long descriptions, roughly like a real catalog.
+    words = rand() < 0.05 ? 0 : (rand() < 0.7 ? 8 + int(rand() * 25) : 60 + int(rand() * 300))
+    if (words == 0) return ""
+    text = pick(openers, nOpeners)
+    while (words-- > 0) text = text " " pick(vocabulary, nVocabulary)
+    return text "."
+}
+
+BEGIN {
+    srand(seed)
+    nSkills = split("Guitar Bass Drum Vocal Keyboard Songwriting Production Mixing Stage Riff Solo Rhythm", skills, " ")
+    nGenres = split("Rock Punk Grunge Metal Blues-Rock Prog Glam Garage Indie Alternative Hard-Rock Post-Rock", genres, " ")
+    nLevels = split("Essentials Fundamentals Masterclass Workshop Bootcamp Deep-Dive Crash-Course Intensive", levels, " ")
+    nOpeners = split("Learn Master Explore Discover Practice Understand Build", openers, " ")
+    nVocabulary = split("riffs chords scales tone amps pedals groove tempo timing dynamics phrasing bends vibrato harmony melody lyrics arrangement recording studio live audience band rehearsal technique history legends albums tracks sound distortion feedback power iconic classic modern", vocabulary, " ")
+
+    fiveYears = 5 * 365 * 86400
+    for (i = 1; i <= count; i++) {
+        title = pick(genres, nGenres) " " pick(skills, nSkills) " " pick(levels, nLevels) " #" i
+        gsub(/-/, " ", title)
+        duration = rand() < 0.03 ? "" : 1 + int(rand() * 120)
+
+        roll = rand() * 100
+        if (roll < draftPct) {
+            status = "DRAFT"; publishedAt = ""
+        } else if (roll < draftPct + archivedPct) {
+            status = "ARCHIVED"
+            publishedAt = rand() < 0.7 ? timestamp(now - int(rand() * fiveYears)) : ""
+        } else {
+            status = "PUBLISHED"; publishedAt = timestamp(now - int(rand() * fiveYears))
+        }
+
+        # Unquoted empty CSV fields load as NULL.
+        text = description()
+        printf "\"%s\",%s,%s,%s,%s\n", title, text == "" ? "" : "\"" text "\"", duration, status, publishedAt
+    }
+}' | $PSQL -v ON_ERROR_STOP=1 \
+    -c "\copy courses (title, description, duration, status, published_at) FROM pstdin WITH (FORMAT csv)"
+
+$PSQL -v ON_ERROR_STOP=1 -c "ANALYZE courses"
+$PSQL -v ON_ERROR_STOP=1 -At -c \
+    "SELECT 'Loaded in $(( $(date +%s) - START ))s; courses: ' || count(*) || ', id range: ' || min(id) || '..' || max(id) FROM courses" >&2
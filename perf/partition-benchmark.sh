@@ -0,0 +1,81 @@
+#!/usr/bin/env bash
+#
+# Compares course list latency on the plain courses table (V1) and on the table partitioned by
+# status (V1 + V1001), with the same synthetic data: many archived rows and a smaller active catalog.
+#
+# Works in a scratch database that is dropped and recreated for each layout.
+#
+# Usage:
+#   perf/partition-benchmark.sh [archived-count] [active-count]
+#
+# Environment:
+#   PSQL      psql command without a database
+#             (default: docker compose exec -T postgres psql -U rocklms-user)
+#   PGBENCH   pgbench command without a database
+#             (default: docker compose exec -T postgres pgbench -U rocklms-user)
+#   DB        scratch database name (default: rocklms_partition_bench)
+#   CLIENTS   concurrent pgbench clients (default: 8)
+#   DURATION  seconds per measured query (default: 30)
+#
+set -euo pipefail
+
+ARCHIVED="${1:-5000000}"
+ACTIVE="${2:-200000}"
+PSQL="${PSQL:-docker compose exec -T postgres psql -U rocklms-user}"
+PGBENCH="${PGBENCH:-docker compose exec -T postgres pgbench -U rocklms-user}"
+DB="${DB:-rocklms_partition_bench}"
+CLIENTS="${CLIENTS:-8}"
+DURATION="${DURATION:-30}"
+
+# A quarter of the active courses are drafts, as in generate-courses.sh.
+ARCHIVED_PCT=$(awk -v a="$ARCHIVED" -v b="$ACTIVE" 'BEGIN { printf "%.4f", 100 * a / (a + b) }')
+DRAFT_PCT=$(awk -v a="$ARCHIVED" -v b="$ACTIVE" 'BEGIN { printf "%.4f", 25 * b / (a + b) }')
+
+PERF_DIR="$(cd "$(dirname "$0")" && pwd)"
+MIGRATIONS="$PERF_DIR/../backend/src/main/resources/db/migration"
+
+# The status-filtered list query issued by CourseRowStreamingImpl, plus a count for an index-only view.
+COLUMNS="id, title, description, duration, status, published_at"
+declare -A QUERIES=(
+    [list-published]="SELECT $COLUMNS FROM courses WHERE status = 'PUBLISHED';"
+    [list-draft]="SELECT $COLUMNS FROM courses WHERE status = 'DRAFT';"
+    [count-published]="SELECT count(*) FROM courses WHERE status = 'PUBLISHED';"
+)
+
+prepare() {
+    local layout="$1"
+    $PSQL -d postgres -v ON_ERROR_STOP=1 -q -c "DROP DATABASE IF EXISTS $DB" -c "CREATE DATABASE $DB"
+    $PSQL -d "$DB" -v ON_ERROR_STOP=1 -q < "$MIGRATIONS/V1__Create_courses_table.sql"
+
+    # One load with mixed statuses, so active rows are spread across the heap as in a catalog that
+    # grew over years. Loaded before partitioning, so the partitioned run also times the migration.
+    PSQL="$PSQL -d $DB" ARCHIVED_PCT="$ARCHIVED_PCT" DRAFT_PCT="$DRAFT_PCT" \
+        "$PERF_DIR/generate-courses.sh" $(( ARCHIVED + ACTIVE ))
+
+    if [[ "$layout" == "partitioned" ]]; then
+        local start
+        start=$(date +%s)
+        $PSQL -d "$DB" -v ON_ERROR_STOP=1 -q -1 -f - < "$MIGRATIONS/V1001__Partition_courses_by_status.sql"
+        echo "V1001 migration took $(( $(date +%s) - start ))s" >&2
+    fi
+    $PSQL -d "$DB" -v ON_ERROR_STOP=1 -q -c "VACUUM ANALYZE"
+}
+
+measure() {
+    local layout="$1" name output
+    for name in "${!QUERIES[@]}"; do
+        output=$(echo "${QUERIES[$name]}" | $PGBENCH -n -M prepared -c "$CLIENTS" -j "$CLIENTS" \
+            -T "$DURATION" -f /dev/stdin "$DB")
+        printf '%-12s %-16s %10s ms %10s tps\n' "$layout" "$name" \
+            "$(awk '/latency average/ { print $4 }' <<< "$output")" \
+            "$(awk '/^tps/ { printf "%.1f", $3 }' <<< "$output")"
+    done
+}
+
+for layout in plain partitioned; do
+    echo "Preparing $layout layout: $ARCHIVED archived, $ACTIVE active courses" >&2
+    prepare "$layout"
+    measure "$layout"
+done
+
+$PSQL -d postgres -v ON_ERROR_STOP=1 -q -c "DROP DATABASE $DB"
@@ -0,0 +1,59 @@
+#!/usr/bin/env bash
+#
+# Measures time-to-first-request: from process launch until the first successful API response.
+#
+# Usage:
+#   perf/startup-time.sh [-n runs] [-u url] -- <command to start the backend...>
+#
+# Examples:
+#   perf/startup-time.sh -- java -jar backend/target/rocklms-0.0.1-SNAPSHOT.jar
+#   perf/startup-time.sh -n 10 -- backend/scripts/run-prod.sh
+#
+# Each run starts the command, polls the url until it answers 2xx, records the elapsed time and
+# the resident set size of the process, then stops it. Prints every run and the median.
+#
+set -euo pipefail
+
+RUNS=5
+URL="http://localhost:8080/api/courses/1001"
+
+while [[ $# -gt 0 && "$1" != "--" ]]; do
+    case "$1" in
+        -n) RUNS="$2"; shift 2 ;;
+        -u) URL="$2"; shift 2 ;;
+        *) echo "unknown option: $1" >&2; exit 1 ;;
+    esac
+done
+shift
+if [[ $# -eq 0 ]]; then
+    echo "usage: $0 [-n runs] [-u url] -- <command...>" >&2
+    exit 1
+fi
+
+now_ms() { date +%s%3N; }
+
+results=()
+for run in $(seq 1 "$RUNS"); do
+    start=$(now_ms)
+    "$@" > "/tmp/rocklms-startup-$run.log" 2>&1 &
+    pid=$!
+
+    until curl -fsS -o /dev/null "$URL" 2>/dev/null; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "run $run: process exited before serving, see /tmp/rocklms-startup-$run.log" >&2
+            exit 1
+        fi
+        sleep 0.01
+    done
+    elapsed=$(( $(now_ms) - start ))
+    rss_kb=$(ps -o rss= -p "$pid" | tr -d ' ')
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+
+    echo "run $run: first request after ${elapsed} ms, rss $(( rss_kb / 1024 )) MB"
+    results+=("$elapsed")
+done
+
+median=$(printf '%s\n' "${results[@]}" | sort -n | awk '{ v[NR] = $1 } END { print v[int((NR + 1) / 2)] }')
+echo "median time-to-first-request over $RUNS runs: ${median} ms"
@@ -0,0 +1,21 @@
+package com.jbs.rocklms.reactive;
+
+import com.jbs.rocklms.model.CourseDto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Criteria and order of a course list, with the same meaning as the backend's {@code CourseFilter}:
+ * every component is optional, {@code publishedBefore} is exclusive and {@code titlePrefix} is
+ * matched literally.
+ *
+ * @param orderBy an {@code ORDER BY} clause from {@link CourseRowMapper#toOrderBy}, or empty
+ */
+public record CourseListQuery(CourseDto.StatusEnum status,
+                              Integer minDuration,
+                              Integer maxDuration,
+                              LocalDateTime publishedAfter,
+                              LocalDateTime publishedBefore,
+                              String titlePrefix,
+                              String orderBy) {
+}
@@ -0,0 +1,96 @@
+package com.jbs.rocklms.reactive;
+
+import com.jbs.rocklms.model.CourseDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reads courses over R2DBC. Lists are fetched through a cursor in chunks of {@code fetch-size} rows,
+ * and the next chunk is only requested once the subscriber, ultimately the HTTP response, has
+ * taken the previous one; a slow client therefore holds neither a thread nor the whole result.
+ * <p>
+ * Queries are built like the backend's {@code CourseSpecifications}, so they hit the same indexes
+ * and the status stays a plain equality for partition pruning.
+ */
+@Component
+public class CourseReader {
+
+    private static final String SELECT = "SELECT " + CourseRowMapper.COLUMNS + " FROM courses";
+    private static final char LIKE_ESCAPE = '\\';
+
+    private final DatabaseClient databaseClient;
+    private final CourseRowMapper courseRowMapper;
+    private final int fetchSize;
+
+    @Autowired
+    public CourseReader(DatabaseClient databaseClient, CourseRowMapper courseRowMapper,
+                        @Value("${rocklms.reactive.fetch-size:500}") int fetchSize) {
+        this.databaseClient = databaseClient;
+        this.courseRowMapper = courseRowMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    public Mono<CourseDto> findById(long id) {
+        return databaseClient.sql(SELECT + " WHERE id = :id")
+                .bind("id", id)
+                .map((row, metadata) -> courseRowMapper.toDto(row))
+                .one();
+    }
+
+    public Flux<CourseDto> findAll(CourseListQuery query) {
+        StringBuilder where = new StringBuilder();
+        Map<String, Object> bindings = new LinkedHashMap<>();
+        if (query.status() != null) {
+            condition(where, bindings, "status = :status", "status", query.status().getValue());
+        }
+        if (query.minDuration() != null) {
+            condition(where, bindings, "duration >= :minDuration", "minDuration", query.minDuration());
+        }
+        if (query.maxDuration() != null) {
+            condition(where, bindings, "duration <= :maxDuration", "maxDuration", query.maxDuration());
+        }
+        if (query.publishedAfter() != null) {
+            condition(where, bindings, "published_at >= :publishedAfter", "publishedAfter", query.publishedAfter());
+        }
+        if (query.publishedBefore() != null) {
+            condition(where, bindings, "published_at < :publishedBefore", "publishedBefore", query.publishedBefore());
+        }
+        if (query.titlePrefix() != null) {
+            condition(where, bindings, "title LIKE :titlePattern ESCAPE '" + LIKE_ESCAPE + "'", "titlePattern",
+                    escapeLike(query.titlePrefix()) + "%");
+        }
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(SELECT + where + query.orderBy());
+        for (Map.Entry<String, Object> binding : bindings.entrySet()) {
+            spec = spec.bind(binding.getKey(), binding.getValue());
+        }
+        return spec.filter(statement -> statement.fetchSize(fetchSize))
+                .map((row, metadata) -> courseRowMapper.toDto(row))
+                .all();
+    }
+
+    private static void condition(StringBuilder where, Map<String, Object> bindings, String condition,
+                                  String name, Object value) {
+        where.append(where.isEmpty() ? " WHERE " : " AND ").append(condition);
+        bindings.put(name, value);
+    }
+
+    static String escapeLike(String text) {
+        StringBuilder escaped = new StringBuilder(text.length() + 8);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == LIKE_ESCAPE || c == '%' || c == '_') {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
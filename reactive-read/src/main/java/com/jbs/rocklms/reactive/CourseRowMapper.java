@@ -0,0 +1,67 @@
+package com.jbs.rocklms.reactive;
+
+import com.jbs.rocklms.model.CourseDto;
+import io.r2dbc.spi.Readable;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+/**
+ * Maps course rows to the API model exactly as the backend's {@code CourseMapper} maps entities:
+ * timestamps are stored as UTC wall-clock time and exposed with a {@code Z} offset.
+ */
+@Component
+public class CourseRowMapper {
+
+    static final String COLUMNS = "id, title, description, duration, status, published_at";
+
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "title", "title",
+            "duration", "duration",
+            "publishedAt", "published_at");
+
+    public CourseDto toDto(Readable row) {
+        CourseDto dto = new CourseDto();
+        dto.setId(row.get("id", Long.class).intValue());
+        dto.setTitle(row.get("title", String.class));
+        dto.setDescription(row.get("description", String.class));
+        dto.setDuration(row.get("duration", Integer.class));
+        dto.setStatus(CourseDto.StatusEnum.valueOf(row.get("status", String.class)));
+
+        LocalDateTime publishedAt = row.get("published_at", LocalDateTime.class);
+        if (publishedAt != null) {
+            dto.setPublishedAt(publishedAt.atOffset(ZoneOffset.UTC));
+        }
+
+        return dto;
+    }
+
+    public CourseDto.StatusEnum toStatus(String status) {
+        if (status == null) return null;
+        return CourseDto.StatusEnum.valueOf(status);
+    }
+
+    public LocalDateTime toTimestamp(OffsetDateTime timestamp) {
+        if (timestamp == null) return null;
+        return timestamp.withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime();
+    }
+
+    /**
+     * Maps the {@code sort} query parameter, a field name optionally prefixed with {@code -} for
+     * descending order, to an {@code ORDER BY} clause.
+     *
+     * @throws IllegalArgumentException if the field cannot be sorted on
+     */
+    public String toOrderBy(String sort) {
+        if (sort == null) return "";
+        boolean descending = sort.startsWith("-");
+        String column = SORT_COLUMNS.get(descending ? sort.substring(1) : sort);
+        if (column == null) {
+            throw new IllegalArgumentException("Cannot sort courses by " + sort);
+        }
+        return " ORDER BY " + column + (descending ? " DESC" : "");
+    }
+}
@@ -0,0 +1,56 @@
+package com.jbs.rocklms.reactive;
+
+import com.jbs.rocklms.api.CoursesApiDelegate;
+import com.jbs.rocklms.model.CourseDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Serves the read operations of {@code openapi.yaml}; the other operations are not generated into
+ * this module and stay with the backend.
+ * <p>
+ * Lists are returned as a {@link Flux}, which WebFlux writes as a JSON array element by element, so
+ * rows are encoded as they arrive rather than collected first.
+ */
+@Component
+public class ReactiveCoursesApiDelegate implements CoursesApiDelegate {
+
+    private final CourseReader courseReader;
+    private final CourseRowMapper courseRowMapper;
+
+    @Autowired
+    public ReactiveCoursesApiDelegate(CourseReader courseReader, CourseRowMapper courseRowMapper) {
+        this.courseReader = courseReader;
+        this.courseRowMapper = courseRowMapper;
+    }
+
+    @Override
+    public Mono<ResponseEntity<Flux<CourseDto>>> findAllCourses(String status, Integer minDuration,
+                                                                Integer maxDuration, OffsetDateTime publishedAfter,
+                                                                OffsetDateTime publishedBefore, String titlePrefix,
+                                                                String sort, ServerWebExchange exchange) {
+        String orderBy;
+        try {
+            orderBy = courseRowMapper.toOrderBy(sort);
+        } catch (IllegalArgumentException e) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        CourseListQuery query = new CourseListQuery(courseRowMapper.toStatus(status), minDuration, maxDuration,
+                courseRowMapper.toTimestamp(publishedAfter), courseRowMapper.toTimestamp(publishedBefore),
+                titlePrefix, orderBy);
+        return Mono.just(ResponseEntity.ok(courseReader.findAll(query)));
+    }
+
+    @Override
+    public Mono<ResponseEntity<CourseDto>> findCourseById(Integer id, ServerWebExchange exchange) {
+        return courseReader.findById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,121 @@
+package com.jbs.rocklms.reactive;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the course list cases the backend's {@code CourseListContractTest} runs, from the same
+ * {@code contract/course-list-cases.json}, so this copy of the list query and row mapping cannot
+ * drift from the backend's.
+ */
+@SpringBootTest
+@AutoConfigureWebTestClient
+class CourseListContractTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private JsonNode fixture;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        databaseClient.sql("DELETE FROM courses").then().block();
+        try (InputStream in = new ClassPathResource("contract/course-list-cases.json").getInputStream()) {
+            fixture = objectMapper.readTree(in);
+        }
+        for (JsonNode course : fixture.get("courses")) {
+            DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(
+                            "INSERT INTO courses (id, title, description, duration, status, published_at)"
+                                    + " VALUES (:id, :title, :description, :duration, :status, :publishedAt)")
+                    .bind("id", course.get("id").asLong())
+                    .bind("title", course.get("title").asText())
+                    .bind("duration", course.get("duration").asInt())
+                    .bind("status", course.get("status").asText());
+            spec = course.get("description").isNull() ? spec.bindNull("description", String.class)
+                    : spec.bind("description", course.get("description").asText());
+            spec = course.get("publishedAt").isNull() ? spec.bindNull("publishedAt", LocalDateTime.class)
+                    : spec.bind("publishedAt", OffsetDateTime.parse(course.get("publishedAt").asText())
+                    .withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime());
+            spec.then().block();
+        }
+    }
+
+    @Test
+    @DisplayName("Should answer every shared list case")
+    void shouldAnswerSharedCases() throws IOException {
+        Map<Integer, JsonNode> courses = new HashMap<>();
+        for (JsonNode course : fixture.get("courses")) {
+            courses.put(course.get("id").asInt(), withoutNulls(course));
+        }
+        for (JsonNode testCase : fixture.get("cases")) {
+            Map<String, String> params = new HashMap<>();
+            testCase.get("params").properties().forEach(param -> params.put(param.getKey(), param.getValue().asText()));
+
+            EntityExchangeResult<byte[]> result = webTestClient.get()
+                    .uri(builder -> {
+                        builder.path("/api/courses");
+                        params.keySet().forEach(name -> builder.queryParam(name, "{" + name + "}"));
+                        return builder.build(params);
+                    })
+                    .exchange()
+                    .expectBody()
+                    .returnResult();
+
+            assertThat(result.getStatus().value()).as("status of %s", testCase)
+                    .isEqualTo(testCase.path("status").asInt(200));
+            if (!testCase.has("ids")) {
+                continue;
+            }
+            List<JsonNode> expected = new ArrayList<>();
+            testCase.get("ids").forEach(id -> expected.add(courses.get(id.asInt())));
+            List<JsonNode> actual = new ArrayList<>();
+            objectMapper.readTree(result.getResponseBody()).forEach(course -> actual.add(withoutNulls(course)));
+            if (testCase.path("ordered").asBoolean(true)) {
+                assertThat(actual).as("courses of %s", testCase).containsExactlyElementsOf(expected);
+            } else {
+                assertThat(actual).as("courses of %s", testCase).containsExactlyInAnyOrderElementsOf(expected);
+            }
+        }
+    }
+
+    // APIs may leave out or write null fields; the cases only compare the values that are set.
+    private static JsonNode withoutNulls(JsonNode course) {
+        ObjectNode copy = ((ObjectNode) course).deepCopy();
+        List<String> nulls = new ArrayList<>();
+        copy.properties().forEach(field -> {
+            if (field.getValue().isNull()) {
+                nulls.add(field.getKey());
+            }
+        });
+        copy.remove(nulls);
+        return copy;
+    }
+}
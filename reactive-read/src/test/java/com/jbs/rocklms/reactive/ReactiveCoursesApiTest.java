@@ -0,0 +1,116 @@
+package com.jbs.rocklms.reactive;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.contains;
+
+@SpringBootTest
+@AutoConfigureWebTestClient
+class ReactiveCoursesApiTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @BeforeEach
+    void setUp() {
+        databaseClient.sql("DELETE FROM courses").then().block();
+        insert(1, "Rock Guitar Basics", 30, "PUBLISHED", LocalDateTime.of(2025, 3, 1, 10, 0));
+        insert(2, "Rock Drum Solos", 90, "DRAFT", null);
+        insert(3, "Rock Vocals", 45, "ARCHIVED", LocalDateTime.of(2023, 5, 1, 9, 30));
+        insert(4, "100% Blues", 40, "PUBLISHED", LocalDateTime.of(2025, 1, 1, 0, 0));
+    }
+
+    @Test
+    @DisplayName("Should stream every course as a JSON array")
+    void shouldListAllCourses() {
+        webTestClient.get().uri("/api/courses")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should filter and sort like the servlet API")
+    void shouldFilterAndSort() {
+        webTestClient.get().uri("/api/courses?titlePrefix=Rock&minDuration=30&maxDuration=60&sort=-duration")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[*].title").value(contains("Rock Vocals", "Rock Guitar Basics"));
+
+        webTestClient.get().uri("/api/courses?status=PUBLISHED&publishedAfter=2025-01-01T00:00:00Z&sort=publishedAt")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[*].title").value(contains("100% Blues", "Rock Guitar Basics"))
+                .jsonPath("$[0].publishedAt").isEqualTo("2025-01-01T00:00:00Z");
+    }
+
+    @Test
+    @DisplayName("Should match LIKE wildcards in the title prefix literally")
+    void shouldMatchTitlePrefixLiterally() {
+        webTestClient.get().uri("/api/courses?titlePrefix={prefix}", "100%")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[*].title").value(contains("100% Blues"));
+    }
+
+    @Test
+    @DisplayName("Should reject an unsupported sort field")
+    void shouldRejectUnsupportedSort() {
+        webTestClient.get().uri("/api/courses?sort=description")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("Should return a course by id and 404 for unknown ids")
+    void shouldFindCourseById() {
+        webTestClient.get().uri("/api/courses/2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("Rock Drum Solos")
+                .jsonPath("$.status").isEqualTo("DRAFT")
+                .jsonPath("$.publishedAt").doesNotExist();
+
+        webTestClient.get().uri("/api/courses/99")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("Should not serve write operations")
+    void shouldNotServeWrites() {
+        webTestClient.post().uri("/api/courses/1/archive")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    private void insert(long id, String title, int duration, String status, LocalDateTime publishedAt) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(
+                        "INSERT INTO courses (id, title, duration, status, published_at)"
+                                + " VALUES (:id, :title, :duration, :status, :publishedAt)")
+                .bind("id", id)
+                .bind("title", title)
+                .bind("duration", duration)
+                .bind("status", status);
+        spec = publishedAt == null ? spec.bindNull("publishedAt", LocalDateTime.class)
+                : spec.bind("publishedAt", publishedAt);
+        spec.then().block();
+    }
+}
@@ -0,0 +1,9 @@
+-- Mirrors the columns of backend/src/main/resources/db/migration; the test database has no Flyway.
+CREATE TABLE IF NOT EXISTS courses (
+    id BIGINT PRIMARY KEY,
+    title VARCHAR(255) NOT NULL,
+    description TEXT,
+    duration INTEGER,
+    status VARCHAR(20) NOT NULL DEFAULT 'DRAFT',
+    published_at TIMESTAMP
+);